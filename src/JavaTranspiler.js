@@ -10,8 +10,6 @@
 function __transpileToJavaCommon(code) {
   return code
     .replace(/CSS_UNDEFINED/g, 'CSSConstants.UNDEFINED')
-    .replace(/css_flex_direction_t/g, 'CSSFlexDirection')
-    .replace(/CSS_FLEX_DIRECTION_/g, 'CSSFlexDirection.')
     .replace(/css_align_t/g, 'CSSAlign')
     .replace(/CSS_ALIGN_/g, 'CSSAlign.')
     .replace(/CSS_WRAP/g, 'CSSWrap.WRAP')
@@ -21,44 +19,28 @@ function __transpileToJavaCommon(code) {
     .replace(/css_dim_t/g, 'MeasureOutput')
     .replace(/bool/g, 'boolean')
     .replace(/^(\s+)([^\s]+)\s+\+=/gm, '$1$2 = $2 +') // Expand +=
-    .replace(/leading\[([^\]]+)\]/g, 'getLeading($1)')
-    .replace(/trailing\[([^\]]+)\]/g, 'getTrailing($1)')
-    .replace(/pos\[([^\]]+)\]/g, 'getPos($1)')
-    .replace(/dim\[([^\]]+)\]/g, 'getDim($1)')
     .replace(/isUndefined/g, 'CSSConstants.isUndefined')
 
-    // Since Java doesn't store its attributes in arrays, we need to use setters/getters to access
-    // the appropriate layout/style fields
-    .replace(
-        /(\w+)\.layout\[((?:getLeading|getPos)\([^\)]+\))\]\s+=\s+([^;]+);/gm,
-        'setLayoutPosition($1, $2, $3);')
-    .replace(/(\w+)\.layout\[((?:getLeading|getPos)\([^\]]+\))\]/g, 'getLayoutPosition($1, $2)')
-    .replace(
-        /(\w+)\.layout\[(getDim\([^\)]+\))\]\s+=\s+([^;]+);/gm,
-        'setLayoutDimension($1, $2, $3);')
-    .replace(/(\w+)\.layout\[(getDim\([^\]]+\))\]/g, 'getLayoutDimension($1, $2)')
-    .replace(/(\w+)\.style\[((?:getLeading|getPos)\([^\]]+\))\]/g, 'getStylePosition($1, $2)')
-    .replace(/(\w+)\.style\[(getDim\([^\]]+\))\]/g, 'getStyleDimension($1, $2)');
+    // Positions and dimensions are stored in arrays indexed by the POSITION_* and DIMENSION_*
+    // constants of CSSLayout, the leading/trailing/pos/dim tables map an axis to those indices
+    .replace(/(\w+)\.(layout|style)\[((?:leading|trailing|pos)\[)/g, '$1.$2.position[$3')
+    .replace(/(\w+)\.(layout|style)\[(dim\[)/g, '$1.$2.dimensions[$3')
+    .replace(/(\w+)\.(layout|style)\.(width|height)/g, function(str, match1, match2, match3) {
+      return match1 + '.' + match2 + '.dimensions[DIMENSION_' + match3.toUpperCase() + ']';
+    });
 }
 
 function __transpileSingleTestToJava(code) {
   return __transpileToJavaCommon(code)
+    .replace(/css_flex_direction_t/g, 'CSSFlexDirection')
+    .replace(/CSS_FLEX_DIRECTION_/g, 'CSSFlexDirection.')
     .replace(/new_test_css_node/g, 'new TestCSSNode')
-    .replace( // style.dimensions[CSS_WIDTH] => style.width
+    .replace( // style.dimensions[CSS_WIDTH] => style.dimensions[DIMENSION_WIDTH]
         /(style|layout)\.dimensions\[CSS_(WIDTH|HEIGHT)\]/g,
-        function (str, match1, match2) {
-            return match1 + '.' + match2.toLowerCase();
-        })
-    .replace( // layout.position[CSS_TOP] => layout.y
-        /layout\.position\[CSS_(TOP|LEFT)\]/g,
-        function (str, match1) {
-            return 'layout.' + (match1 === 'TOP' ? 'y' : 'x');
-        })
-    .replace( // style.position[CSS_TOP] => style.positionTop
-        /style\.(position)\[CSS_(TOP|BOTTOM|LEFT|RIGHT)\]/g,
-        function (str, match1, match2) {
-            return 'style.' + match1 + match2[0] + match2.substring(1).toLowerCase();
-        })
+        '$1.dimensions[DIMENSION_$2]')
+    .replace( // layout.position[CSS_TOP] => layout.position[POSITION_TOP]
+        /(style|layout)\.position\[CSS_(TOP|BOTTOM|LEFT|RIGHT)\]/g,
+        '$1.position[POSITION_$2]')
     .replace( // style.margin[CSS_TOP] => style.margin[Spacing.TOP]
         /style\.(margin|border|padding)\[CSS_(TOP|BOTTOM|LEFT|RIGHT)\]/g,
         function (str, match1, match2) {
@@ -74,7 +56,36 @@ function __transpileSingleTestToJava(code) {
         function (str, match1, match2, match3) {
             return 'style.' + match1 + match2.toUpperCase() + match3;
         })
-    .replace(/(\w+)\.measure\s+=\s+.+/, '$1.setMeasureFunction(sTestMeasureFunction);');
+    .replace(/(\w+)\.measure\s+=\s+.+/, '$1.setMeasureFunction(sTestMeasureFunction);')
+    .replace( // style.alignSelf = x => style.setAlignSelf(x), enums are packed in CSSStyle
+        /style\.(flexDirection|justifyContent|alignItems|alignSelf|positionType|flexWrap) = ([^;]+);/g,
+        function (str, match1, match2) {
+          return 'style.set' + match1.charAt(0).toUpperCase() + match1.slice(1) + '(' + match2 + ');';
+        })
+    .replace( // style.margin[Spacing.TOP] = x => style.setMargin(Spacing.TOP, x)
+        /style\.(margin|border|padding)\[([^\]]+)\] = ([^;]+);/g,
+        function (str, match1, match2, match3) {
+          return 'style.set' + match1.charAt(0).toUpperCase() + match1.slice(1) +
+              '(' + match2 + ', ' + match3 + ');';
+        })
+    .replace( // style.dimensions[DIMENSION_WIDTH] = x => style.setDimension(DIMENSION_WIDTH, x)
+        /style\.(position|dimensions)\[([^\]]+)\] = ([^;]+);/g,
+        function (str, match1, match2, match3) {
+          return 'style.set' + (match1 === 'position' ? 'Position' : 'Dimension') +
+              '(' + match2 + ', ' + match3 + ');';
+        })
+    .replace(/style\.flex = ([^;]+);/g, 'style.setFlex($1);');
+}
+
+// The arrays of CSSStyle are hidden behind accessors, so styles shared between nodes can't change
+function __useStyleAccessors(code) {
+  return code
+    .replace(/style\.(position|dimensions)\[((?:[^\[\]]|\[[^\[\]]*\])+)\]/g,
+        function (str, match1, match2) {
+          return 'style.get' + (match1 === 'position' ? 'Position' : 'Dimension') +
+              '(' + match2 + ')';
+        })
+    .replace(/style\.flex\b(?!\w|\()/g, 'style.getFlex()');
 }
 
 function indent(code) {
@@ -86,13 +97,20 @@ function indent(code) {
 
 var JavaTranspiler = {
   transpileLayoutEngine: function(code) {
+    return __useStyleAccessors(JavaTranspiler.transpileLayoutEngineCode(code));
+  },
+
+  transpileLayoutEngineCode: function(code) {
     return indent(
       __transpileToJavaCommon(code)
+        // Flex directions are ints so they can index the leading/trailing/pos/dim tables
+        .replace(/css_flex_direction_t/g, 'int')
         .replace(/function\s+layoutNode.*/, '')
         .replace('node.style.measure', 'node.measure')
         .replace(/\.children\.length/g, '.getChildCount()')
-        .replace(/node.children\[i\]/g, 'node.getChildAt(i)')
+        .replace(/node.children\[i\]/g, 'getChildAt(node, i)')
         .replace(/fmaxf/g, 'Math.max')
+        .replace(/\/\*\(java\)!([^*]+)\*\//g, '$1')
         .replace(/\/\*\([^\/]+\*\/\n/g, '') // remove comments for other languages
         .replace(/var\/\*([^\/]+)\*\//g, '$1')
         .replace(/ === /g, ' == ')
@@ -102,6 +120,24 @@ var JavaTranspiler = {
         .replace(/css_node_t\*/g, 'CSSNode'));
   },
 
+  transpileLayoutTree: function(code) {
+    return JavaTranspiler.transpileLayoutEngineCode(code)
+      // Nodes are int handles into the flat arrays of LayoutTree, node.layout.dimensions[x]
+      // becomes mLayoutDimensions[node * 2 + x] and the same for positions and style
+      .replace(/(\w+)\.(layout|style)\.(position|dimensions)\[/g, function(str, node, field, array) {
+        return 'm' + field.charAt(0).toUpperCase() + field.slice(1) +
+            array.charAt(0).toUpperCase() + array.slice(1) +
+            '[' + node + ' * ' + (array === 'position' ? 'POSITION_STRIDE' : 'DIMENSION_STRIDE') + ' + ';
+      })
+      .replace(/CSSNode (\w+)/g, 'int $1')
+      .replace(/node\.getChildCount\(\)/g, 'getChildCount(node)')
+      .replace(/node\.measure\(/g, 'measure(node,')
+      // Subtrees of a LayoutTree are always laid out sequentially
+      .replace(/\n *layoutChildrenInParallel\(.*\n/g, '')
+      // and don't have viewports
+      .replace(/ && !estimateOutsideViewport\([^)]*\)/g, '');
+  },
+
   transpileCConstDefs: function(cConstDefs) {
     return indent(
       cConstDefs
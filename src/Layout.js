@@ -336,6 +336,8 @@ var computeLayout = (function() {
       }
     }
 
+    /*(java)!layoutChildrenInParallel(node, parentMaxWidth, mainAxis);*/
+
     var/*float*/ definedMainDim = CSS_UNDEFINED;
     if (!isUndefined(node.layout[dim[mainAxis]])) {
       definedMainDim = node.layout[dim[mainAxis]] -
@@ -396,7 +398,7 @@ var computeLayout = (function() {
           }
 
           // This is the main recursive call. We layout non flexible children.
-          if (alreadyComputedNextLayout === 0) {
+          if (alreadyComputedNextLayout === 0/*(java)! && !estimateOutsideViewport(node, child, mainAxis, maxWidth, mainContentDim)*/) {
             layoutNode(child, maxWidth);
           }
 
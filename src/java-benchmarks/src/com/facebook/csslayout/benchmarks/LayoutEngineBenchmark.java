@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.facebook.csslayout.CSSNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link CSSNode#calculateLayout()} for the shapes in {@link TreeFactory}.
+ *
+ * {@link #coldLayout} lays out a tree in which every node is dirty, so every node goes through
+ * {@code layoutNodeImpl}. {@link #warmRelayout} changes the height of a single leaf and
+ * lays out again, so only the path to the root is recomputed and all the other subtrees are served
+ * from the {@code layoutCache}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutEngineBenchmark {
+
+  @State(Scope.Thread)
+  public static class ColdTree {
+
+    @Param({"DEEP_COLUMN", "WIDE_ROW", "WRAP", "MEASURE"})
+    public TreeFactory.Shape shape;
+
+    @Param({"1000"})
+    public int size;
+
+    public CSSNode root;
+
+    @Setup(Level.Trial)
+    public void createTree() {
+      root = TreeFactory.create(shape, size);
+    }
+
+    // The trees are big enough for the per invocation setup overhead not to matter
+    @Setup(Level.Invocation)
+    public void dirtyTree() {
+      TreeFactory.dirtyTree(root);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class WarmTree {
+
+    @Param({"DEEP_COLUMN", "WIDE_ROW", "WRAP", "MEASURE"})
+    public TreeFactory.Shape shape;
+
+    @Param({"1000"})
+    public int size;
+
+    public CSSNode root;
+    public CSSNode leaf;
+    public boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      root = TreeFactory.create(shape, size);
+      leaf = TreeFactory.firstLeaf(root);
+      root.calculateLayout();
+    }
+  }
+
+  @Benchmark
+  public CSSNode coldLayout(ColdTree tree) {
+    tree.root.calculateLayout();
+    return tree.root;
+  }
+
+  @Benchmark
+  public CSSNode warmRelayout(WarmTree tree) {
+    // Only the nodes on the path from the leaf to the root have to be marked as seen before the
+    // leaf can be dirtied again.
+    for (CSSNode node = tree.leaf; node != null; node = node.getParent()) {
+      if (node.hasNewLayout()) {
+        node.markLayoutSeen();
+      }
+    }
+    tree.toggle = !tree.toggle;
+    tree.leaf.setStyleHeight(tree.toggle ? 10 : 12);
+    tree.root.calculateLayout();
+    return tree.root;
+  }
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout.benchmarks;
+
+import com.facebook.csslayout.CSSAlign;
+import com.facebook.csslayout.CSSConstants;
+import com.facebook.csslayout.CSSFlexDirection;
+import com.facebook.csslayout.CSSJustify;
+import com.facebook.csslayout.CSSNode;
+import com.facebook.csslayout.CSSWrap;
+import com.facebook.csslayout.MeasureOutput;
+import com.facebook.csslayout.Spacing;
+
+/**
+ * Builds the {@link CSSNode} trees used by the benchmarks. Every shape stresses a different part of
+ * {@code LayoutEngine.layoutNodeImpl}.
+ */
+public class TreeFactory {
+
+  private static final int MAX_DEPTH = 100;
+
+  public enum Shape {
+    /**
+     * Chains of nested column containers, stresses the recursion and the parentMaxWidth plumbing.
+     */
+    DEEP_COLUMN,
+
+    /**
+     * A row with many flexible children per level, stresses Loop A and Loop B.
+     */
+    WIDE_ROW,
+
+    /**
+     * Rows that wrap their fixed size children over many lines, stresses the per line loops.
+     */
+    WRAP,
+
+    /**
+     * Columns of text-like leaves with a measure function, stresses the measure path.
+     */
+    MEASURE,
+
+    /**
+     * A feed of cards where only the cards have spacing, the rows, images and texts inside them have
+     * none, like most nodes of real trees. Shows the memory saved on nodes without spacing.
+     */
+    FEED,
+  }
+
+  /**
+   * Simulates text shaping: the height grows with the number of lines needed at the given width.
+   */
+  private static final CSSNode.MeasureFunction TEXT_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      float textWidth = 7f * node.getName().length();
+      if (CSSConstants.isUndefined(width) || width >= textWidth) {
+        measureOutput.width = textWidth;
+        measureOutput.height = 16;
+      } else {
+        float lines = (float) Math.ceil(textWidth / Math.max(width, 1));
+        measureOutput.width = width;
+        measureOutput.height = 16 * lines;
+      }
+    }
+  };
+
+  /**
+   * @return a new tree of the given shape with roughly {@code size} nodes. The root has a fixed
+   * width and height like a slide.
+   */
+  public static CSSNode create(Shape shape, int size) {
+    CSSNode root = new Node("root");
+    root.setStyleWidth(1000).setStyleHeight(750);
+    switch (shape) {
+      case DEEP_COLUMN:
+        addDeepColumn(root, size);
+        break;
+      case WIDE_ROW:
+        addWideRows(root, size);
+        break;
+      case WRAP:
+        addWrappingRows(root, size);
+        break;
+      case MEASURE:
+        addMeasuredColumns(root, size);
+        break;
+      case FEED:
+        addFeed(root, size);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown shape " + shape);
+    }
+    return root;
+  }
+
+  /**
+   * @return the node at the end of the first-child chain, the node the warm benchmarks mutate.
+   */
+  public static CSSNode firstLeaf(CSSNode root) {
+    CSSNode node = root;
+    while (node.getChildCount() > 0) {
+      node = node.getChildAt(0);
+    }
+    return node;
+  }
+
+  private static void addDeepColumn(CSSNode root, int size) {
+    // The layout is recursive, keep every chain shallow enough for the default thread stack size
+    root.setFlexDirection(CSSFlexDirection.ROW);
+    for (int chain = 0; chain < Math.max(1, size / MAX_DEPTH); chain++) {
+      CSSNode parent = root;
+      for (int i = 0; i < Math.min(size, MAX_DEPTH); i++) {
+        CSSNode child = new Node("column" + i);
+        child.setFlexDirection(CSSFlexDirection.COLUMN);
+        child.setPadding(Spacing.LEFT, 1);
+        child.setMargin(Spacing.TOP, 1);
+        if (i % 2 == 0) {
+          child.setAlignItems(CSSAlign.CENTER);
+        }
+        parent.appendChild(child);
+        parent = child;
+      }
+    }
+  }
+
+  private static void addWideRows(CSSNode root, int size) {
+    int rows = Math.max(1, (int) Math.sqrt(size));
+    int columns = Math.max(1, size / rows);
+    for (int i = 0; i < rows; i++) {
+      CSSNode row = new Node("row" + i);
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setFlex(1);
+      for (int j = 0; j < columns; j++) {
+        CSSNode cell = new Node("cell" + j);
+        if (j % 3 == 0) {
+          cell.setStyleWidth(20);
+        } else {
+          cell.setFlex(j % 3);
+        }
+        cell.setMargin(Spacing.HORIZONTAL, 1);
+        row.appendChild(cell);
+      }
+      root.appendChild(row);
+    }
+  }
+
+  private static void addWrappingRows(CSSNode root, int size) {
+    int rows = Math.max(1, size / 100);
+    for (int i = 0; i < rows; i++) {
+      CSSNode row = new Node("wrap" + i);
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setWrap(CSSWrap.WRAP);
+      row.setStyleWidth(1000);
+      row.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+      for (int j = 0; j < size / rows; j++) {
+        CSSNode item = new Node("item" + j);
+        item.setStyleWidth(40 + (j % 5) * 10);
+        item.setStyleHeight(20);
+        item.setMargin(Spacing.ALL, 2);
+        row.appendChild(item);
+      }
+      root.appendChild(row);
+    }
+  }
+
+  private static void addMeasuredColumns(CSSNode root, int size) {
+    root.setFlexDirection(CSSFlexDirection.ROW);
+    int columns = 3;
+    for (int i = 0; i < columns; i++) {
+      CSSNode column = new Node("col" + i);
+      column.setFlex(1);
+      column.setPadding(Spacing.ALL, 4);
+      for (int j = 0; j < size / columns; j++) {
+        CSSNode text = new Node(j % 2 == 0 ? "short text" : "a considerably longer paragraph of text");
+        text.setMeasureFunction(TEXT_MEASURE_FUNCTION);
+        column.appendChild(text);
+      }
+      root.appendChild(column);
+    }
+  }
+
+  private static void addFeed(CSSNode root, int size) {
+    // A card, a row, an image and a column of three texts
+    int cards = Math.max(1, size / 7);
+    for (int i = 0; i < cards; i++) {
+      CSSNode card = new Node("card" + i);
+      card.setPadding(Spacing.ALL, 8);
+      card.setMargin(Spacing.BOTTOM, 4);
+      CSSNode row = new Node("row");
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      CSSNode image = new Node("image");
+      image.setStyleWidth(48).setStyleHeight(48);
+      row.appendChild(image);
+      CSSNode texts = new Node("texts");
+      texts.setFlex(1);
+      for (int j = 0; j < 3; j++) {
+        CSSNode text = new Node(j == 0 ? "author" : "a line of text in a card of the feed");
+        text.setMeasureFunction(TEXT_MEASURE_FUNCTION);
+        texts.appendChild(text);
+      }
+      row.appendChild(texts);
+      card.appendChild(row);
+      root.appendChild(card);
+    }
+  }
+
+  /**
+   * Marks every node of the tree created by {@link #create} as dirty without allocating, so the
+   * next {@link CSSNode#calculateLayout()} is a full layout again.
+   */
+  public static void dirtyTree(CSSNode root) {
+    markLayoutSeen(root);
+    dirtySubtree(root);
+  }
+
+  private static void markLayoutSeen(CSSNode node) {
+    if (node.hasNewLayout()) {
+      node.markLayoutSeen();
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeen(node.getChildAt(i));
+    }
+  }
+
+  private static void dirtySubtree(CSSNode node) {
+    for (int i = 0; i < node.getChildCount(); i++) {
+      dirtySubtree(node.getChildAt(i));
+    }
+    ((Node) node).dirty();
+  }
+
+  /**
+   * Only exists to get access to {@link CSSNode#dirty()}.
+   */
+  private static class Node extends CSSNode {
+
+    public Node(String name) {
+      super(name);
+    }
+
+    @Override
+    protected void dirty() {
+      super.dirty();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.facebook.csslayout.CSSNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap taken by the trees of {@link TreeFactory}. Building a tree allocates little besides the tree
+ * itself, so gc.alloc.rate.norm of {@link #createTree} is about the size of a tree of
+ * {@code size} nodes, and divided by {@code size} the cost of a node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeMemoryBenchmark {
+
+  @Param({"DEEP_COLUMN", "WIDE_ROW", "WRAP", "MEASURE", "FEED"})
+  public TreeFactory.Shape shape;
+
+  @Param({"100000"})
+  public int size;
+
+  @Benchmark
+  public CSSNode createTree() {
+    return TreeFactory.create(shape, size);
+  }
+}
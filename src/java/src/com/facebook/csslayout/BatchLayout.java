@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lays out a list of independent roots on a few workers, see
+ * {@link LayoutEngine#layoutBatch(List, Executor, LayoutEngine.BatchCallback)}. Each worker takes
+ * the next root that hasn't been laid out yet until there are none left, so workers that get small
+ * trees simply lay out more of them.
+ */
+/* package */ class BatchLayout implements Runnable {
+
+  private final List<CSSNode> mRoots;
+  private final @Nullable LayoutEngine.BatchCallback mCallback;
+  private final AtomicInteger mNextRoot = new AtomicInteger();
+  private final AtomicReference<Throwable> mFailure = new AtomicReference<Throwable>();
+  // Counted down once per root, whether it was laid out or skipped after a failure. Workers that
+  // the executor never gets to start aren't waited for.
+  private final CountDownLatch mRemainingRoots;
+  private final int mWorkerCount;
+
+  /* package */ BatchLayout(
+      List<CSSNode> roots,
+      @Nullable LayoutEngine.BatchCallback callback,
+      int workerCount) {
+    mRoots = roots;
+    mCallback = callback;
+    mWorkerCount = Math.max(1, Math.min(workerCount, roots.size()));
+    mRemainingRoots = new CountDownLatch(roots.size());
+  }
+
+  /**
+   * Starts all the workers but one on executor, runs the last one on the calling thread, and waits
+   * for all the roots to be laid out. The calling thread keeps taking roots until there are none
+   * left, so the batch completes even if the executor is busy and never starts its workers, for
+   * instance when called from a task of a single thread executor. Workers the executor rejects are
+   * dropped. The first exception thrown while laying out a root stops the workers and is rethrown
+   * here.
+   */
+  /* package */ void execute(Executor executor) {
+    if (mRoots.isEmpty()) {
+      return;
+    }
+
+    for (int i = 1; i < mWorkerCount; i++) {
+      try {
+        executor.execute(this);
+      } catch (RejectedExecutionException e) {
+        // The calling thread lays out the roots this worker would have
+        break;
+      }
+    }
+    run();
+
+    try {
+      mRemainingRoots.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for the batch layout to finish", e);
+    }
+
+    Throwable failure = mFailure.get();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
+  @Override
+  public void run() {
+    int size = mRoots.size();
+    for (int i = mNextRoot.getAndIncrement(); i < size; i = mNextRoot.getAndIncrement()) {
+      try {
+        CSSNode root = mRoots.get(i);
+        root.calculateLayout();
+        if (mCallback != null) {
+          mCallback.onLayoutComplete(root);
+        }
+      } catch (Throwable t) {
+        mFailure.compareAndSet(null, t);
+        // Stop the other workers after their current root, the roots no worker took are done
+        int next = mNextRoot.getAndSet(size);
+        for (int j = next; j < size; j++) {
+          mRemainingRoots.countDown();
+        }
+      } finally {
+        mRemainingRoots.countDown();
+      }
+    }
+  }
+}
@@ -13,35 +13,56 @@ package com.facebook.csslayout;
  */
 public class CSSLayout {
 
-  public float x;
-  public float y;
-  public float width = CSSConstants.UNDEFINED;
-  public float height = CSSConstants.UNDEFINED;
+  // Indices into position, same values as the matching constants in Spacing
+  public static final int POSITION_LEFT = 0;
+  public static final int POSITION_TOP = 1;
+  public static final int POSITION_RIGHT = 2;
+  public static final int POSITION_BOTTOM = 3;
+
+  // Indices into dimensions
+  public static final int DIMENSION_WIDTH = 0;
+  public static final int DIMENSION_HEIGHT = 1;
+
+  /**
+   * Only {@link #POSITION_LEFT} (x) and {@link #POSITION_TOP} (y) are computed by the layout.
+   */
+  public float[] position = new float[4];
+  public float[] dimensions = {
+      CSSConstants.UNDEFINED,
+      CSSConstants.UNDEFINED,
+  };
+
+  /**
+   * Position relative to the parent of the root of the tree instead of to the parent of the node,
+   * only filled by {@link CSSNode#calculateAbsolutePositions()}.
+   */
+  public float absoluteLeft;
+  public float absoluteTop;
 
   /**
    * This should always get called before calling {@link LayoutEngine#layoutNode(CSSNode, float)}
    */
   public void resetResult() {
-    x = 0;
-    y = 0;
-    width = CSSConstants.UNDEFINED;
-    height = CSSConstants.UNDEFINED;
+    position[POSITION_LEFT] = 0;
+    position[POSITION_TOP] = 0;
+    dimensions[DIMENSION_WIDTH] = CSSConstants.UNDEFINED;
+    dimensions[DIMENSION_HEIGHT] = CSSConstants.UNDEFINED;
   }
 
   public void copy(CSSLayout layout) {
-    x = layout.x;
-    y = layout.y;
-    width = layout.width;
-    height = layout.height;
+    position[POSITION_LEFT] = layout.position[POSITION_LEFT];
+    position[POSITION_TOP] = layout.position[POSITION_TOP];
+    dimensions[DIMENSION_WIDTH] = layout.dimensions[DIMENSION_WIDTH];
+    dimensions[DIMENSION_HEIGHT] = layout.dimensions[DIMENSION_HEIGHT];
   }
 
   @Override
   public String toString() {
     return "layout: {" +
-        "x: " + x + ", " +
-        "y: " + y + ", " +
-        "width: " + width + ", " +
-        "height: " + height +
+        "x: " + position[POSITION_LEFT] + ", " +
+        "y: " + position[POSITION_TOP] + ", " +
+        "width: " + dimensions[DIMENSION_WIDTH] + ", " +
+        "height: " + dimensions[DIMENSION_HEIGHT] +
         "}";
   }
 }
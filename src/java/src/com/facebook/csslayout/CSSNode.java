@@ -9,6 +9,7 @@
 package com.facebook.csslayout;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nullable;
 
@@ -26,6 +27,18 @@ public class CSSNode {
 		 */
 		DIRTY,
 
+		/**
+		 * The position of this node or of its children has changed, but not their size, or this node is a relayout boundary and something
+		 * inside it has changed (see {@link #isRelayoutBoundary()}). The node must be laid out again, but its size stays the same, so its
+		 * parent only needs to be laid out again if it is itself dirty.
+		 */
+		POSITION_DIRTY,
+
+		/**
+		 * {@link #layout} is valid, but some descendants of this node are {@link #POSITION_DIRTY}.
+		 */
+		HAS_DIRTY_DESCENDANT,
+
 		/**
 		 * This node has a new layout relative to the last time {@link #markLayoutSeen()} was called.
 		 */
@@ -52,21 +65,53 @@ public class CSSNode {
 		public void measure(CSSNode node, float width, MeasureOutput measureOutput);
 	}
 
-	private final float[] mMargin = Spacing.newFullSpacingArray();
-	private final float[] mPadding = Spacing.newFullSpacingArray();
-	private final float[] mBorder = Spacing.newFullSpacingArray();
+	/**
+	 * Creates the children of a node on demand, see {@link #setChildProvider(ChildProvider, int)}.
+	 */
+	public static interface ChildProvider {
+
+		public int getChildCount();
+
+		/**
+		 * Should return a new node, without a parent, for the child at the given index. It may be called again for the same index once
+		 * the previous child was evicted, the new child must then have the same style.
+		 */
+		public CSSNode createChildAt(int index);
+	}
 
 	// VisibleForTesting
-	/* package */final CSSStyle style = new CSSStyle();
+	// An interned style is shared with other nodes and copied before this node changes it, see #getWritableStyle()
+	/* package */CSSStyle style = new CSSStyle();
 	/* package */final CSSLayout layout = new CSSLayout();
-	/* package */final CachedCSSLayout lastLayout = new CachedCSSLayout();
+	/* package */final LayoutCache layoutCache = new LayoutCache();
 
 	// 4 is kinda arbitrary, but the default of 10 seems really high for an average View.
+	// With a ChildProvider, children that haven't been created or have been evicted are null.
 	private final ArrayList<CSSNode> mChildren = new ArrayList<CSSNode>(4);
+	private @Nullable ChildProvider mChildProvider = null;
+	private int mMaterializedChildCount;
+	private int mMaxMaterializedChildCount;
+	// Stands for the children that don't exist during layout, see #getPlaceholderChild()
+	private @Nullable CSSNode mPlaceholderChild = null;
 
 	private @Nullable CSSNode mParent;
 	private @Nullable MeasureFunction mMeasureFunction = null;
+	private @Nullable MeasureCache mMeasureCache = null;
+	private @Nullable Viewport mViewport = null;
 	private LayoutState mLayoutState = LayoutState.DIRTY;
+	// Set during a layout that records its changes, see #calculateLayout(LayoutChangeList)
+	private @Nullable LayoutChangeList mChangeList = null;
+	// The layout when it was last seen, see #markLayoutSeen()
+	private float mSeenX = 0;
+	private float mSeenY = 0;
+	private float mSeenWidth = CSSConstants.UNDEFINED;
+	private float mSeenHeight = CSSConstants.UNDEFINED;
+	// Records the nodes visited by calculateLayout(), see #setOnlyMarkChangedLayouts(boolean)
+	private @Nullable LayoutChangeList mVisitedNodes = null;
+	// Set once the layout is over on nodes with a child that kept its new layout
+	private boolean mChildHasNewLayout;
+	// Set while the node is released to a CSSNodePool, see CSSNodePool#release(CSSNode)
+	/* package */boolean mIsReleased;
 
 	private String name;
 
@@ -82,31 +127,154 @@ public class CSSNode {
 		return name;
 	}
 
+	/* package */void setName(final String name) {
+		this.name = name;
+	}
+
 	public int getChildCount() {
 		return mChildren.size();
 	}
 
+	/**
+	 * With a {@link ChildProvider}, creates the child if it doesn't exist yet.
+	 */
 	public CSSNode getChildAt(final int i) {
+		final CSSNode child = mChildren.get(i);
+		if (child != null || mChildProvider == null) {
+			return child;
+		}
+		return materializeChildAt(i);
+	}
+
+	/**
+	 * @return the child at the given index, or null if the {@link ChildProvider} of this node hasn't created it yet or it was evicted.
+	 */
+	/* package */@Nullable CSSNode getMaterializedChildAt(final int i) {
 		return mChildren.get(i);
 	}
 
+	/* package */boolean hasChildProvider() {
+		return mChildProvider != null;
+	}
+
+	/**
+	 * Backs the children of this node with the given provider instead of {@link #addChildAt(CSSNode, int)}, for lists too long to have a
+	 * node per item. Children are created when {@link #getChildAt(int)} is called or when the layout needs them, which with a
+	 * {@link #setViewport(float, float, float)} is only for the children near the viewport. Before each layout of this node, children far
+	 * from the viewport are evicted once more than {@code maxMaterializedChildCount} exist, and will be created again when needed. The
+	 * child count is read from the provider here, call this again when it changes. Pass null to go back to regular children.
+	 *
+	 * NB: a child costs a reference until it is created, and then a node until it is evicted.
+	 */
+	public void setChildProvider(@Nullable final ChildProvider childProvider, final int maxMaterializedChildCount) {
+		if (mChildProvider == null && !mChildren.isEmpty()) {
+			throw new IllegalStateException("Node already has children, they must be removed first.");
+		}
+		for (int i = 0; i < mChildren.size(); i++) {
+			if (mChildren.get(i) != null) {
+				mChildren.get(i).mParent = null;
+			}
+		}
+		mChildren.clear();
+		mMaterializedChildCount = 0;
+		mChildProvider = childProvider;
+		mMaxMaterializedChildCount = maxMaterializedChildCount;
+		if (childProvider != null) {
+			final int childCount = childProvider.getChildCount();
+			mChildren.ensureCapacity(childCount);
+			for (int i = 0; i < childCount; i++) {
+				mChildren.add(null);
+			}
+		}
+		dirty();
+	}
+
+	private CSSNode materializeChildAt(final int i) {
+		final CSSNode child = Assertions.assertNotNull(mChildProvider).createChildAt(i);
+		if (child.mParent != null) {
+			throw new IllegalStateException("Child already has a parent, it must be removed first.");
+		}
+		mChildren.set(i, child);
+		child.mParent = this;
+		mMaterializedChildCount++;
+		return child;
+	}
+
+	/**
+	 * Creates the child at the given index for the layout, see {@link #setChildProvider(ChildProvider, int)}. Unlike adding a child,
+	 * this doesn't dirty this node, the layout already accounted for the child.
+	 */
+	/* package */CSSNode materializeChildForLayout(final int i) {
+		final CSSNode child = mChildren.get(i);
+		return child != null ? child : materializeChildAt(i);
+	}
+
+	/**
+	 * Drops the child at the given index if it exists and more than the maximum number of materialized children do.
+	 */
+	/* package */void evictChildIfFull(final int i) {
+		final CSSNode child = mChildren.get(i);
+		if (child != null && mMaterializedChildCount > mMaxMaterializedChildCount) {
+			child.mParent = null;
+			mChildren.set(i, null);
+			mMaterializedChildCount--;
+		}
+	}
+
+	/**
+	 * @return the node the layout uses for children that don't exist, it has the default style and is given the estimated child size of
+	 * the viewport, see {@link LayoutEngine}.
+	 */
+	/* package */CSSNode getPlaceholderChild() {
+		if (mPlaceholderChild == null) {
+			mPlaceholderChild = new CSSNode();
+		}
+		return mPlaceholderChild;
+	}
+
+	/**
+	 * @return how many children currently exist, which is the child count unless this node has a {@link ChildProvider}.
+	 */
+	public int getMaterializedChildCount() {
+		return mChildProvider == null ? mChildren.size() : mMaterializedChildCount;
+	}
+
+	/* package */int getMaxMaterializedChildCount() {
+		return mMaxMaterializedChildCount;
+	}
+
 	public void appendChild(final CSSNode child) {
 		addChildAt(child, mChildren.size());
 	}
 
 	public void addChildAt(final CSSNode child, final int i) {
+		if (mChildProvider != null) {
+			throw new IllegalStateException("Children of a node with a ChildProvider can't be added or removed.");
+		}
 		if (child.mParent != null) {
 			throw new IllegalStateException("Child already has a parent, it must be removed first.");
 		}
 
 		mChildren.add(i, child);
 		child.mParent = this;
-		dirty();
+		dirtyFromChild();
 	}
 
 	public void removeChildAt(final int i) {
+		if (mChildProvider != null) {
+			throw new IllegalStateException("Children of a node with a ChildProvider can't be added or removed.");
+		}
 		mChildren.remove(i).mParent = null;
-		dirty();
+		dirtyFromChild();
+	}
+
+	/**
+	 * Removes the child at i without dirtying this node, for a child that doesn't take part in the layout anymore once this node has been
+	 * laid out, see {@link StreamingLayoutBuilder}. The layout cache is cleared, since its entries were computed with the child.
+	 */
+	/* package */void detachChildAt(final int i) {
+		mChildren.remove(i).mParent = null;
+		layoutCache.clear();
 	}
 
 	public @Nullable CSSNode getParent() {
@@ -123,10 +291,80 @@ public class CSSNode {
 	public void setMeasureFunction(final MeasureFunction measureFunction) {
 		if (!valuesEqual(mMeasureFunction, measureFunction)) {
 			mMeasureFunction = measureFunction;
+			if (mMeasureCache != null) {
+				mMeasureCache.clear();
+			}
 			dirty();
 		}
 	}
 
+	/**
+	 * Enables caching of the results of the {@link MeasureFunction} of this node. The last {@code capacity} results are kept, keyed by the
+	 * width the function was called with, so laying this node out again with a width it has already been measured with doesn't call the
+	 * function. The cache is cleared whenever the measure function changes or the node is dirtied, subclasses whose measured content
+	 * changes must call {@link #dirty()}. Pass 0 to disable the cache.
+	 */
+	public void setMeasureCacheCapacity(final int capacity) {
+		if (capacity == 0) {
+			mMeasureCache = null;
+		} else if (mMeasureCache == null || mMeasureCache.getCapacity() != capacity) {
+			mMeasureCache = new MeasureCache(capacity);
+		}
+	}
+
+	/**
+	 * Virtualizes the layout of the children of this node for long scrolling lists. Only the children within {@code start} and {@code end},
+	 * offsets along the main axis from the leading edge of this node, and the ones less than {@code end - start} away from them are laid
+	 * out. The others take the size they were last laid out with if it still holds, or {@code estimatedChildSize} along the main axis, and
+	 * their subtree is left as it is. The children after them are placed accordingly, so a child is only at its exact offset once all the
+	 * children before it have been laid out with their actual size.
+	 *
+	 * Only applies to relative, non flexible children of a node that doesn't wrap. Offsets assume justifyContent flex-start.
+	 */
+	public void setViewport(final float start, final float end, final float estimatedChildSize) {
+		if (mViewport != null &&
+				valuesEqual(mViewport.start, start) &&
+				valuesEqual(mViewport.end, end) &&
+				valuesEqual(mViewport.estimatedChildSize, estimatedChildSize)) {
+			return;
+		}
+		if (mViewport == null) {
+			mViewport = new Viewport();
+		}
+		mViewport.start = start;
+		mViewport.end = end;
+		mViewport.estimatedChildSize = estimatedChildSize;
+		dirty();
+	}
+
+	/**
+	 * Lays out all the children again, see {@link #setViewport(float, float, float)}.
+	 */
+	public void clearViewport() {
+		if (mViewport != null) {
+			mViewport = null;
+			dirty();
+		}
+	}
+
+	/* package */@Nullable Viewport getViewport() {
+		return mViewport;
+	}
+
+	/**
+	 * @return how many times {@link #measure(float)} was answered from the measure cache, see {@link #setMeasureCacheCapacity(int)}.
+	 */
+	public long getMeasureCacheHitCount() {
+		return mMeasureCache == null ? 0 : mMeasureCache.getHitCount();
+	}
+
+	/**
+	 * @return how many times {@link #measure(float)} had to call the {@link MeasureFunction} while the measure cache was enabled.
+	 */
+	public long getMeasureCacheMissCount() {
+		return mMeasureCache == null ? 0 : mMeasureCache.getMissCount();
+	}
+
 	public boolean isMeasureDefined() {
 		return mMeasureFunction != null;
 	}
@@ -135,25 +373,123 @@ public class CSSNode {
 		if (!isMeasureDefined()) {
 			throw new RuntimeException("Measure function isn't defined!");
 		}
+		if (mMeasureCache != null && mMeasureCache.get(width, MEASURE_OUTPUT)) {
+			return MEASURE_OUTPUT;
+		}
 		MEASURE_OUTPUT.height = CSSConstants.UNDEFINED;
 		MEASURE_OUTPUT.width = CSSConstants.UNDEFINED;
 		Assertions.assertNotNull(mMeasureFunction).measure(this, width, MEASURE_OUTPUT);
+		if (mMeasureCache != null) {
+			mMeasureCache.put(width, MEASURE_OUTPUT);
+		}
 		return MEASURE_OUTPUT;
 	}
 
 	/**
-	 * Performs the actual layout and saves the results in {@link #layout}
+	 * Performs the actual layout and saves the results in {@link #layout}. Once the tree has been laid out, laying it out again doesn't
+	 * allocate, whether the layout is restored from the cache or computed again, see {@code LayoutAllocationTest}.
 	 */
 	public void calculateLayout() {
+		if (mVisitedNodes != null) {
+			calculateLayoutVisiting(mVisitedNodes);
+		} else {
+			layOut();
+		}
+	}
+
+	private void layOut() {
 		layout.resetResult();
 		LayoutEngine.layoutNode(this, CSSConstants.UNDEFINED);
 	}
 
 	/**
-	 * See {@link LayoutState#DIRTY}.
+	 * Same as {@link #calculateLayout()}, and fills changes with the nodes whose position or size differs from the last time their layout
+	 * was seen, as the layout visits them. Every node given a new layout is then marked as seen, so there is no need to walk the tree
+	 * looking for {@link #hasNewLayout()} afterwards, and a layout that changes nothing costs nothing more than the layout itself.
+	 */
+	public void calculateLayout(final LayoutChangeList changes) {
+		changes.clear();
+		calculateLayoutVisiting(changes);
+	}
+
+	private void calculateLayoutVisiting(final LayoutChangeList visitedNodes) {
+		mChangeList = visitedNodes;
+		visitedNodes.add(this);
+		try {
+			layOut();
+		} finally {
+			visitedNodes.finish();
+		}
+	}
+
+	/**
+	 * Makes {@link #calculateLayout()} on this node only give a new layout to the nodes whose position or size differs from the last time
+	 * their layout was seen, and to their ancestors so that walks looking for {@link #hasNewLayout()} can still skip the subtrees without
+	 * one. Nodes laid out again with the same result, or whose cached layout is reused, are then left as they were seen. Applies to this
+	 * node as the root of a layout, the setting of its descendants doesn't matter, and has no effect on the other calculateLayout methods.
+	 */
+	public void setOnlyMarkChangedLayouts(final boolean onlyMarkChangedLayouts) {
+		if (!onlyMarkChangedLayouts) {
+			mVisitedNodes = null;
+		} else if (mVisitedNodes == null) {
+			mVisitedNodes = new LayoutChangeList(false);
+		}
+	}
+
+	/**
+	 * Same as {@link #calculateLayout()}, but lays out independent subtrees in parallel in the given pool. Children whose size is already
+	 * known before their siblings are laid out, such as children with a fixed size or stretched children, are laid out concurrently if
+	 * their subtree has at least 64 nodes. The results are identical to the ones of {@link #calculateLayout()}.
+	 *
+	 * NB: {@link MeasureFunction}s of different nodes may be called concurrently!
+	 */
+	public void calculateLayout(final ForkJoinPool pool) {
+		calculateLayout(pool, ParallelLayoutTask.DEFAULT_MIN_SUBTREE_SIZE);
+	}
+
+	/**
+	 * Same as {@link #calculateLayout(ForkJoinPool)}, with the number of nodes a subtree needs to have to be laid out in parallel
+	 * with its siblings. Smaller subtrees are laid out sequentially, as the cost of handing them to another thread would outweigh the
+	 * gain.
+	 */
+	public void calculateLayout(final ForkJoinPool pool, final int minParallelSubtreeSize) {
+		layout.resetResult();
+		pool.invoke(new ParallelLayoutTask(this, CSSConstants.UNDEFINED, minParallelSubtreeSize));
+	}
+
+	/**
+	 * Fills {@link #getAbsoluteLayoutX()} and {@link #getAbsoluteLayoutY()} of this node and its descendants from the result of the last
+	 * layout, in a single pass over the tree. The positions are relative to the parent of this node, so for a root they are the position
+	 * of each node in the whole tree. Should be called again after each layout, including the ones that only changed part of the tree,
+	 * since moving a node moves its whole subtree.
+	 */
+	public void calculateAbsolutePositions() {
+		calculateAbsolutePositions(0, 0);
+	}
+
+	private void calculateAbsolutePositions(final float parentLeft, final float parentTop) {
+		layout.absoluteLeft = parentLeft + layout.position[CSSLayout.POSITION_LEFT];
+		layout.absoluteTop = parentTop + layout.position[CSSLayout.POSITION_TOP];
+		for (int i = 0; i < mChildren.size(); i++) {
+			final CSSNode child = mChildren.get(i);
+			if (child != null) {
+				child.calculateAbsolutePositions(layout.absoluteLeft, layout.absoluteTop);
+			}
+		}
+	}
+
+	/**
+	 * See {@link LayoutState#DIRTY} and {@link LayoutState#POSITION_DIRTY}.
 	 */
 	/* package */boolean isDirty() {
-		return mLayoutState == LayoutState.DIRTY;
+		return mLayoutState == LayoutState.DIRTY || mLayoutState == LayoutState.POSITION_DIRTY;
+	}
+
+	/**
+	 * See {@link LayoutState#HAS_DIRTY_DESCENDANT}.
+	 */
+	/* package */boolean hasDirtyDescendant() {
+		return mLayoutState == LayoutState.HAS_DIRTY_DESCENDANT;
 	}
 
 	/**
@@ -164,6 +500,11 @@ public class CSSNode {
 	}
 
 	protected void dirty() {
+		layoutCache.clear();
+		if (mMeasureCache != null) {
+			mMeasureCache.clear();
+		}
+
 		if (mLayoutState == LayoutState.DIRTY) {
 			return;
 		} else if (mLayoutState == LayoutState.HAS_NEW_LAYOUT) {
@@ -173,7 +514,77 @@ public class CSSNode {
 		mLayoutState = LayoutState.DIRTY;
 
 		if (mParent != null) {
-			mParent.dirty();
+			mParent.dirtyFromChild();
+		}
+	}
+
+	/**
+	 * A node is a relayout boundary when both its width and height are set and its parent can't flex it, so that nothing inside it can
+	 * change its size. Changes to its children or their descendants then don't need to dirty its ancestors.
+	 */
+	/* package */boolean isRelayoutBoundary() {
+		return !CSSConstants.isUndefined(style.getDimension(CSSLayout.DIMENSION_WIDTH)) &&
+				!CSSConstants.isUndefined(style.getDimension(CSSLayout.DIMENSION_HEIGHT)) &&
+				(style.isPositionAbsolute() || style.getFlex() <= 0);
+	}
+
+	/**
+	 * Like {@link #dirty()} for a change to the children of this node, which can't change its size if it is a relayout boundary.
+	 */
+	private void dirtyFromChild() {
+		if (isRelayoutBoundary()) {
+			dirtyKeepingSize();
+		} else {
+			dirty();
+		}
+	}
+
+	/**
+	 * Like {@link #dirty()} for a change that moves this node without changing its size, see {@link LayoutState#POSITION_DIRTY}.
+	 */
+	private void dirtyPosition() {
+		if (mLayoutState == LayoutState.DIRTY) {
+			return;
+		} else if (mLayoutState == LayoutState.HAS_NEW_LAYOUT) {
+			throw new IllegalStateException("Previous layout was ignored! markLayoutSeen() never called");
+		}
+
+		mLayoutState = LayoutState.POSITION_DIRTY;
+
+		if (mParent != null) {
+			mParent.dirtyKeepingSize();
+		}
+	}
+
+	/**
+	 * Marks this node as {@link LayoutState#POSITION_DIRTY} for a change inside it that leaves its size alone.
+	 */
+	private void dirtyKeepingSize() {
+		if (mLayoutState == LayoutState.DIRTY || mLayoutState == LayoutState.POSITION_DIRTY) {
+			return;
+		} else if (mLayoutState == LayoutState.HAS_NEW_LAYOUT) {
+			throw new IllegalStateException("Previous layout was ignored! markLayoutSeen() never called");
+		}
+
+		mLayoutState = LayoutState.POSITION_DIRTY;
+
+		if (mParent != null) {
+			mParent.dirtyDescendant();
+		}
+	}
+
+	private void dirtyDescendant() {
+		if (mLayoutState != LayoutState.UP_TO_DATE) {
+			if (mLayoutState == LayoutState.HAS_NEW_LAYOUT) {
+				throw new IllegalStateException("Previous layout was ignored! markLayoutSeen() never called");
+			}
+			return;
+		}
+
+		mLayoutState = LayoutState.HAS_DIRTY_DESCENDANT;
+
+		if (mParent != null) {
+			mParent.dirtyDescendant();
 		}
 	}
 
@@ -181,6 +592,82 @@ public class CSSNode {
 		mLayoutState = LayoutState.HAS_NEW_LAYOUT;
 	}
 
+	/**
+	 * Called once the layout is over on a node given a new layout that is the same as the one last seen, puts it back in the state it had
+	 * once seen.
+	 */
+	/* package */void markLayoutUnchanged() {
+		mLayoutState = LayoutState.UP_TO_DATE;
+	}
+
+	/* package */void setChildHasNewLayout() {
+		mChildHasNewLayout = true;
+	}
+
+	/**
+	 * @return whether {@link #setChildHasNewLayout()} was called since the last call to this method.
+	 */
+	/* package */boolean takeChildHasNewLayout() {
+		final boolean childHasNewLayout = mChildHasNewLayout;
+		mChildHasNewLayout = false;
+		return childHasNewLayout;
+	}
+
+	/**
+	 * Called by the layout as it visits this node, adds it to the {@link LayoutChangeList} of its parent if the layout records its
+	 * changes.
+	 */
+	/* package */void inheritChangeList() {
+		if (mParent != null && mParent.mChangeList != null) {
+			mChangeList = mParent.mChangeList;
+			mChangeList.add(this);
+		}
+	}
+
+	/* package */@Nullable LayoutChangeList getChangeList() {
+		return mChangeList;
+	}
+
+	/* package */void clearChangeList() {
+		mChangeList = null;
+	}
+
+	/* package */float getSeenLayoutX() {
+		return mSeenX;
+	}
+
+	/* package */float getSeenLayoutY() {
+		return mSeenY;
+	}
+
+	/* package */float getSeenLayoutWidth() {
+		return mSeenWidth;
+	}
+
+	/* package */float getSeenLayoutHeight() {
+		return mSeenHeight;
+	}
+
+	/**
+	 * @return whether the position or size of this node differs from the last time its layout was seen.
+	 */
+	/* package */boolean hasLayoutChangedSinceSeen() {
+		return !FloatUtil.floatsEqual(mSeenX, layout.position[CSSLayout.POSITION_LEFT]) ||
+				!FloatUtil.floatsEqual(mSeenY, layout.position[CSSLayout.POSITION_TOP]) ||
+				!FloatUtil.floatsEqual(mSeenWidth, layout.dimensions[CSSLayout.DIMENSION_WIDTH]) ||
+				!FloatUtil.floatsEqual(mSeenHeight, layout.dimensions[CSSLayout.DIMENSION_HEIGHT]);
+	}
+
+	/**
+	 * Remembers the current layout as the one last seen, without changing the layout state.
+	 */
+	/* package */void updateSeenLayout() {
+		mSeenX = layout.position[CSSLayout.POSITION_LEFT];
+		mSeenY = layout.position[CSSLayout.POSITION_TOP];
+		mSeenWidth = layout.dimensions[CSSLayout.DIMENSION_WIDTH];
+		mSeenHeight = layout.dimensions[CSSLayout.DIMENSION_HEIGHT];
+	}
+
 	/**
 	 * Tells the node that the current values in {@link #layout} have been seen. Subsequent calls to {@link #hasNewLayout()} will return
 	 * false until this node is laid out with new parameters. You must call this each time the layout is generated if the node has a new
@@ -192,6 +679,47 @@ public class CSSNode {
 		}
 
 		mLayoutState = LayoutState.UP_TO_DATE;
+		updateSeenLayout();
+	}
+
+	/**
+	 * Puts this node back in the state of a new node, see {@link CSSNodePool#release(CSSNode)}. The children are detached without being
+	 * reset and the parent isn't told, both are up to the caller.
+	 */
+	/* package */void reset() {
+		for (int i = 0; i < mChildren.size(); i++) {
+			if (mChildren.get(i) != null) {
+				mChildren.get(i).mParent = null;
+			}
+		}
+		mChildren.clear();
+		mChildProvider = null;
+		mMaterializedChildCount = 0;
+		mMaxMaterializedChildCount = 0;
+		mPlaceholderChild = null;
+		mParent = null;
+
+		if (style.isInterned()) {
+			style = new CSSStyle();
+		} else {
+			style.reset();
+		}
+		layout.resetResult();
+		layout.absoluteLeft = 0;
+		layout.absoluteTop = 0;
+		layoutCache.clear();
+		mMeasureFunction = null;
+		mMeasureCache = null;
+		mViewport = null;
+		mLayoutState = LayoutState.DIRTY;
+		mChangeList = null;
+		mVisitedNodes = null;
+		mChildHasNewLayout = false;
+		mSeenX = 0;
+		mSeenY = 0;
+		mSeenWidth = CSSConstants.UNDEFINED;
+		mSeenHeight = CSSConstants.UNDEFINED;
+		name = null;
 	}
 
 	private void toStringWithIndentation(final StringBuilder result, final int level) {
@@ -239,146 +767,185 @@ public class CSSNode {
 		return o1.equals(o2);
 	}
 
+	/**
+	 * Makes this node share the given style, which must have been built by a {@link CSSStyle.Builder}. Nodes with the same style
+	 * then use a single instance. Calling any style setter on this node afterwards gives it its own copy of the style first.
+	 */
+	public CSSNode setStyle(final CSSStyle style) {
+		if (!style.isInterned()) {
+			throw new IllegalArgumentException("Only styles built by a CSSStyle.Builder can be shared");
+		}
+		if (this.style != style) {
+			this.style = style;
+			dirty();
+		}
+		return this;
+	}
+
+	/**
+	 * @return {@link #style}, after copying it if it is shared with other nodes.
+	 */
+	private CSSStyle getWritableStyle() {
+		if (style.isInterned()) {
+			style = style.copy();
+		}
+		return style;
+	}
+
 	public CSSNode setFlexDirection(final CSSFlexDirection flexDirection) {
-		if (!valuesEqual(style.flexDirection, flexDirection)) {
-			style.flexDirection = flexDirection;
+		if (!valuesEqual(style.getFlexDirection(), flexDirection)) {
+			getWritableStyle().setFlexDirection(flexDirection);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setJustifyContent(final CSSJustify justifyContent) {
-		if (!valuesEqual(style.justifyContent, justifyContent)) {
-			style.justifyContent = justifyContent;
+		if (!valuesEqual(style.getJustifyContent(), justifyContent)) {
+			getWritableStyle().setJustifyContent(justifyContent);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setAlignItems(final CSSAlign alignItems) {
-		if (!valuesEqual(style.alignItems, alignItems)) {
-			style.alignItems = alignItems;
+		if (!valuesEqual(style.getAlignItems(), alignItems)) {
+			getWritableStyle().setAlignItems(alignItems);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setAlignSelf(final CSSAlign alignSelf) {
-		if (!valuesEqual(style.alignSelf, alignSelf)) {
-			style.alignSelf = alignSelf;
+		if (!valuesEqual(style.getAlignSelf(), alignSelf)) {
+			getWritableStyle().setAlignSelf(alignSelf);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setPositionType(final CSSPositionType positionType) {
-		if (!valuesEqual(style.positionType, positionType)) {
-			style.positionType = positionType;
+		if (!valuesEqual(style.getPositionType(), positionType)) {
+			getWritableStyle().setPositionType(positionType);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setWrap(final CSSWrap flexWrap) {
-		if (!valuesEqual(style.flexWrap, flexWrap)) {
-			style.flexWrap = flexWrap;
+		if (!valuesEqual(style.getFlexWrap(), flexWrap)) {
+			getWritableStyle().setFlexWrap(flexWrap);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setFlex(final float flex) {
-		if (!valuesEqual(style.flex, flex)) {
-			style.flex = flex;
+		if (!valuesEqual(style.getFlex(), flex)) {
+			getWritableStyle().setFlex(flex);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setMargin(final int spacingType, final float margin) {
-		setSpacing(mMargin, style.margin, spacingType, margin);
+		setSpacing(CSSStyle.MARGIN, spacingType, margin);
 		return this;
 	}
 
 	public CSSNode setPadding(final int spacingType, final float padding) {
-		setSpacing(mPadding, style.padding, spacingType, padding);
+		setSpacing(CSSStyle.PADDING, spacingType, padding);
 		return this;
 	}
 
 	public CSSNode setBorder(final int spacingType, final float border) {
-		setSpacing(mBorder, style.border, spacingType, border);
+		setSpacing(CSSStyle.BORDER, spacingType, border);
 		return this;
 	}
 
-	protected CSSNode setSpacing(final float[] spacingDef, final float[] cssStyle, final int spacingType, final float spacing) {
-		if (!valuesEqual(spacingDef[spacingType], spacing)) {
-			Spacing.updateSpacing(spacingDef, cssStyle, spacingType, spacing, 0);
+	protected CSSNode setSpacing(final int styleOffset, final int spacingType, final float spacing) {
+		if (!valuesEqual(style.getFullSpacing(styleOffset, spacingType), spacing)) {
+			getWritableStyle().setFullSpacing(styleOffset, spacingType, spacing);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setPositionTop(final float positionTop) {
-		if (!valuesEqual(style.positionTop, positionTop)) {
-			style.positionTop = positionTop;
-			dirty();
+		if (!valuesEqual(style.getPosition(CSSLayout.POSITION_TOP), positionTop)) {
+			getWritableStyle().setPosition(CSSLayout.POSITION_TOP, positionTop);
+			dirtyPosition();
 		}
 		return this;
 	}
 
 	public CSSNode setPositionBottom(final float positionBottom) {
-		if (!valuesEqual(style.positionBottom, positionBottom)) {
-			style.positionBottom = positionBottom;
-			dirty();
+		if (!valuesEqual(style.getPosition(CSSLayout.POSITION_BOTTOM), positionBottom)) {
+			getWritableStyle().setPosition(CSSLayout.POSITION_BOTTOM, positionBottom);
+			dirtyPosition();
 		}
 		return this;
 	}
 
 	public CSSNode setPositionLeft(final float positionLeft) {
-		if (!valuesEqual(style.positionLeft, positionLeft)) {
-			style.positionLeft = positionLeft;
-			dirty();
+		if (!valuesEqual(style.getPosition(CSSLayout.POSITION_LEFT), positionLeft)) {
+			getWritableStyle().setPosition(CSSLayout.POSITION_LEFT, positionLeft);
+			dirtyPosition();
 		}
 		return this;
 	}
 
 	public CSSNode setPositionRight(final float positionRight) {
-		if (!valuesEqual(style.positionRight, positionRight)) {
-			style.positionRight = positionRight;
-			dirty();
+		if (!valuesEqual(style.getPosition(CSSLayout.POSITION_RIGHT), positionRight)) {
+			getWritableStyle().setPosition(CSSLayout.POSITION_RIGHT, positionRight);
+			dirtyPosition();
 		}
 		return this;
 	}
 
 	public CSSNode setStyleWidth(final float width) {
-		if (!valuesEqual(style.width, width)) {
-			style.width = width;
+		if (!valuesEqual(style.getDimension(CSSLayout.DIMENSION_WIDTH), width)) {
+			getWritableStyle().setDimension(CSSLayout.DIMENSION_WIDTH, width);
 			dirty();
 		}
 		return this;
 	}
 
 	public CSSNode setStyleHeight(final float height) {
-		if (!valuesEqual(style.height, height)) {
-			style.height = height;
+		if (!valuesEqual(style.getDimension(CSSLayout.DIMENSION_HEIGHT), height)) {
+			getWritableStyle().setDimension(CSSLayout.DIMENSION_HEIGHT, height);
 			dirty();
 		}
 		return this;
 	}
 
 	public float getLayoutX() {
-		return layout.x;
+		return layout.position[CSSLayout.POSITION_LEFT];
 	}
 
 	public float getLayoutY() {
-		return layout.y;
+		return layout.position[CSSLayout.POSITION_TOP];
+	}
+
+	/**
+	 * See {@link #calculateAbsolutePositions()}.
+	 */
+	public float getAbsoluteLayoutX() {
+		return layout.absoluteLeft;
+	}
+
+	/**
+	 * See {@link #calculateAbsolutePositions()}.
+	 */
+	public float getAbsoluteLayoutY() {
+		return layout.absoluteTop;
 	}
 
 	public float getLayoutWidth() {
-		return layout.width;
+		return layout.dimensions[CSSLayout.DIMENSION_WIDTH];
 	}
 
 	public float getLayoutHeight() {
-		return layout.height;
+		return layout.dimensions[CSSLayout.DIMENSION_HEIGHT];
 	}
 }
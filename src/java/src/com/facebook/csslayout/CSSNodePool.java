@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+/**
+ * Recycles {@link CSSNode}s, so rebuilding a tree after throwing the previous one away reuses its
+ * nodes instead of allocating new ones. Keeps at most {@code capacity} free nodes, released nodes
+ * beyond that are left to the garbage collector.
+ *
+ * A pool is confined to the thread that created it, using it from another thread throws.
+ */
+public class CSSNodePool {
+
+  private final CSSNode[] mFreeNodes;
+  private final Thread mOwner;
+  private int mFreeCount;
+  private long mHitCount;
+  private long mMissCount;
+  private long mDiscardCount;
+
+  public CSSNodePool(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    mFreeNodes = new CSSNode[capacity];
+    mOwner = Thread.currentThread();
+  }
+
+  /**
+   * @return a node in the same state as a new {@link CSSNode}, reused from the pool if possible.
+   */
+  public CSSNode acquire() {
+    checkThread();
+    if (mFreeCount == 0) {
+      mMissCount++;
+      return new CSSNode();
+    }
+    mHitCount++;
+    mFreeCount--;
+    CSSNode node = mFreeNodes[mFreeCount];
+    mFreeNodes[mFreeCount] = null;
+    node.mIsReleased = false;
+    return node;
+  }
+
+  /**
+   * Same as {@link #acquire()} for a node with the given name.
+   */
+  public CSSNode acquire(String name) {
+    CSSNode node = acquire();
+    node.setName(name);
+    return node;
+  }
+
+  /**
+   * Removes node from its parent and puts it and its whole subtree back in the pool. Style, layout,
+   * cached layouts, measure function and children are reset to their defaults. None of these nodes
+   * must be used afterwards, except through {@link #acquire()}.
+   *
+   * @throws IllegalStateException if a node of the subtree was already released and not acquired
+   *     again since.
+   */
+  public void release(CSSNode node) {
+    checkThread();
+    checkNotReleased(node);
+    CSSNode parent = node.getParent();
+    if (parent != null) {
+      parent.removeChildAt(parent.indexOf(node));
+    }
+    releaseSubtree(node);
+  }
+
+  private void releaseSubtree(CSSNode node) {
+    checkNotReleased(node);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      // Children a ChildProvider didn't create don't need to be created only to be released
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child != null) {
+        releaseSubtree(child);
+      }
+    }
+    node.reset();
+    node.mIsReleased = true;
+    if (mFreeCount < mFreeNodes.length) {
+      mFreeNodes[mFreeCount++] = node;
+    } else {
+      mDiscardCount++;
+    }
+  }
+
+  private static void checkNotReleased(CSSNode node) {
+    if (node.mIsReleased) {
+      throw new IllegalStateException("Node was already released to a CSSNodePool");
+    }
+  }
+
+  private void checkThread() {
+    if (Thread.currentThread() != mOwner) {
+      throw new IllegalStateException("CSSNodePool used from " + Thread.currentThread() +
+          " but it is confined to " + mOwner);
+    }
+  }
+
+  public int getCapacity() {
+    return mFreeNodes.length;
+  }
+
+  /**
+   * @return how many nodes the pool currently holds.
+   */
+  public int getFreeCount() {
+    return mFreeCount;
+  }
+
+  /**
+   * @return how many times {@link #acquire()} reused a node.
+   */
+  public long getHitCount() {
+    return mHitCount;
+  }
+
+  /**
+   * @return how many times {@link #acquire()} had to allocate a new node.
+   */
+  public long getMissCount() {
+    return mMissCount;
+  }
+
+  /**
+   * @return how many released nodes were dropped because the pool was full.
+   */
+  public long getDiscardCount() {
+    return mDiscardCount;
+  }
+
+  /**
+   * @return the share of {@link #acquire()} calls that reused a node, 0 if there were none.
+   */
+  public float getReuseRate() {
+    long acquireCount = mHitCount + mMissCount;
+    return acquireCount == 0 ? 0 : (float) mHitCount / acquireCount;
+  }
+}
@@ -0,0 +1,472 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes trees of {@link CSSNode}s in a compact binary format and reads them back.
+ *
+ * After a header, nodes follow in pre-order. Each node starts with a varint whose bits say which
+ * of its properties differ from the defaults of {@link CSSStyle} and {@link CSSLayout}, then the
+ * values of those properties only, then a varint child count. A node with the default style takes
+ * two bytes. Enums are written as one byte ordinals, and margin, padding and border as a byte whose
+ * bits say which spacing types ({@link Spacing#LEFT}, etc) are set, followed by their values.
+ *
+ * The results of the last layout, and the content of the layout cache of each node, can be
+ * included too, see {@link #INCLUDE_LAYOUT} and {@link #INCLUDE_LAYOUT_CACHE}. A tree read with its
+ * layout cache is restored from the cache by the next {@link CSSNode#calculateLayout()}, as long as
+ * it is laid out under the same conditions, instead of being laid out from scratch. Such nodes are
+ * read as if their layout had been seen, see {@link CSSNode#markLayoutSeen()}, so they can be
+ * changed right away.
+ *
+ * Measure functions, viewports and child providers can't be written, they have to be set again on
+ * the nodes that are read, which makes the nodes with a measure function dirty again. Styles shared
+ * through {@link CSSNode#setStyle(CSSStyle)} are read back as a copy per node.
+ */
+public class CSSNodeSerializer {
+
+  /**
+   * Writes the position and size of each node computed by the last layout.
+   */
+  public static final int INCLUDE_LAYOUT = 1;
+
+  /**
+   * Writes the layout cache of each node, so the tree doesn't need to be laid out again once read.
+   * Implies {@link #INCLUDE_LAYOUT}.
+   */
+  public static final int INCLUDE_LAYOUT_CACHE = 2 | INCLUDE_LAYOUT;
+
+  private static final int MAGIC = 0x4353534e; // "CSSN"
+  private static final int VERSION = 1;
+
+  // Bits of the mask that starts each node, set for the properties that follow it
+  private static final int FLEX_DIRECTION = 1;
+  private static final int JUSTIFY_CONTENT = 1 << 1;
+  private static final int ALIGN_ITEMS = 1 << 2;
+  private static final int ALIGN_SELF = 1 << 3;
+  private static final int POSITION_TYPE = 1 << 4;
+  private static final int FLEX_WRAP = 1 << 5;
+  private static final int FLEX = 1 << 6;
+  // Followed by one bit per CSSLayout.POSITION_*
+  private static final int POSITION = 1 << 7;
+  // Followed by one bit per CSSLayout.DIMENSION_*
+  private static final int DIMENSIONS = 1 << 11;
+  // Followed by the bits for padding and border, in the order of CSSStyle.MARGIN, etc
+  private static final int MARGIN = 1 << 13;
+  private static final int NAME = 1 << 16;
+  private static final int LAYOUT_X = 1 << 17;
+  private static final int LAYOUT_Y = 1 << 18;
+  private static final int LAYOUT_WIDTH = 1 << 19;
+  private static final int LAYOUT_HEIGHT = 1 << 20;
+  private static final int LAYOUT_CACHE = 1 << 21;
+
+  private static final int[] SPACING_OFFSETS = {
+      CSSStyle.MARGIN,
+      CSSStyle.PADDING,
+      CSSStyle.BORDER,
+  };
+  private static final int SPACING_TYPE_COUNT = Spacing.ALL + 1;
+
+  private static final CSSFlexDirection[] FLEX_DIRECTIONS = CSSFlexDirection.values();
+  private static final CSSJustify[] JUSTIFY_CONTENTS = CSSJustify.values();
+  private static final CSSAlign[] ALIGNS = CSSAlign.values();
+  private static final CSSPositionType[] POSITION_TYPES = CSSPositionType.values();
+  private static final CSSWrap[] FLEX_WRAPS = CSSWrap.values();
+
+  private static final CSSStyle DEFAULT_STYLE = new CSSStyle();
+
+  private CSSNodeSerializer() {
+  }
+
+  /**
+   * Writes root and its descendants to output.
+   *
+   * @param flags a combination of {@link #INCLUDE_LAYOUT} and {@link #INCLUDE_LAYOUT_CACHE}, or 0
+   *     to only write the styles and the shape of the tree.
+   * @throws IllegalArgumentException if a node has a {@link CSSNode.ChildProvider}.
+   */
+  public static void write(CSSNode root, DataOutput output, int flags) throws IOException {
+    output.writeInt(MAGIC);
+    output.writeByte(VERSION);
+    writeNode(root, output, flags);
+  }
+
+  /**
+   * Reads a tree written by {@link #write(CSSNode, DataOutput, int)} from input.
+   *
+   * @return the root of the tree.
+   * @throws IOException if input doesn't hold a tree or ends before the end of it.
+   */
+  public static CSSNode read(DataInput input) throws IOException {
+    if (input.readInt() != MAGIC) {
+      throw new IOException("Not a CSSNode tree");
+    }
+    int version = input.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version " + version);
+    }
+    CSSNode root = new CSSNode();
+    readNode(root, input);
+    return root;
+  }
+
+  /**
+   * Same as {@link #read(DataInput)}, reading from the position of buffer, which is left right
+   * after the end of the tree.
+   */
+  public static CSSNode read(ByteBuffer buffer) throws IOException {
+    return read(new DataInputStream(new ByteBufferInputStream(buffer)));
+  }
+
+  private static void writeNode(CSSNode node, DataOutput output, int flags) throws IOException {
+    if (node.hasChildProvider()) {
+      throw new IllegalArgumentException("Nodes with a ChildProvider can't be written");
+    }
+    CSSStyle style = node.style;
+    CSSLayout layout = node.layout;
+    boolean includeLayout = (flags & INCLUDE_LAYOUT) != 0;
+    // The cache of a node that must be laid out again is of no use
+    boolean includeLayoutCache = (flags & INCLUDE_LAYOUT_CACHE) == INCLUDE_LAYOUT_CACHE &&
+        node.layoutCache.size() != 0 &&
+        !node.isDirty() &&
+        !node.hasDirtyDescendant();
+
+    int mask = 0;
+    mask |= style.getFlexDirection() != DEFAULT_STYLE.getFlexDirection() ? FLEX_DIRECTION : 0;
+    mask |= style.getJustifyContent() != DEFAULT_STYLE.getJustifyContent() ? JUSTIFY_CONTENT : 0;
+    mask |= style.getAlignItems() != DEFAULT_STYLE.getAlignItems() ? ALIGN_ITEMS : 0;
+    mask |= style.getAlignSelf() != DEFAULT_STYLE.getAlignSelf() ? ALIGN_SELF : 0;
+    mask |= style.getPositionType() != DEFAULT_STYLE.getPositionType() ? POSITION_TYPE : 0;
+    mask |= style.getFlexWrap() != DEFAULT_STYLE.getFlexWrap() ? FLEX_WRAP : 0;
+    mask |= style.getFlex() != 0 ? FLEX : 0;
+    for (int i = 0; i < CSSStyle.POSITION_COUNT; i++) {
+      mask |= !CSSConstants.isUndefined(style.getPosition(i)) ? POSITION << i : 0;
+    }
+    for (int i = 0; i < CSSStyle.DIMENSION_COUNT; i++) {
+      mask |= !CSSConstants.isUndefined(style.getDimension(i)) ? DIMENSIONS << i : 0;
+    }
+    for (int i = 0; i < SPACING_OFFSETS.length; i++) {
+      mask |= getSpacingMask(style, SPACING_OFFSETS[i]) != 0 ? MARGIN << i : 0;
+    }
+    mask |= node.getName() != null ? NAME : 0;
+    if (includeLayout) {
+      mask |= layout.position[CSSLayout.POSITION_LEFT] != 0 ? LAYOUT_X : 0;
+      mask |= layout.position[CSSLayout.POSITION_TOP] != 0 ? LAYOUT_Y : 0;
+      mask |= !CSSConstants.isUndefined(layout.dimensions[CSSLayout.DIMENSION_WIDTH]) ?
+          LAYOUT_WIDTH :
+          0;
+      mask |= !CSSConstants.isUndefined(layout.dimensions[CSSLayout.DIMENSION_HEIGHT]) ?
+          LAYOUT_HEIGHT :
+          0;
+    }
+    mask |= includeLayoutCache ? LAYOUT_CACHE : 0;
+    writeVarInt(output, mask);
+
+    if ((mask & FLEX_DIRECTION) != 0) {
+      output.writeByte(style.getFlexDirection().ordinal());
+    }
+    if ((mask & JUSTIFY_CONTENT) != 0) {
+      output.writeByte(style.getJustifyContent().ordinal());
+    }
+    if ((mask & ALIGN_ITEMS) != 0) {
+      output.writeByte(style.getAlignItems().ordinal());
+    }
+    if ((mask & ALIGN_SELF) != 0) {
+      output.writeByte(style.getAlignSelf().ordinal());
+    }
+    if ((mask & POSITION_TYPE) != 0) {
+      output.writeByte(style.getPositionType().ordinal());
+    }
+    if ((mask & FLEX_WRAP) != 0) {
+      output.writeByte(style.getFlexWrap().ordinal());
+    }
+    if ((mask & FLEX) != 0) {
+      output.writeFloat(style.getFlex());
+    }
+    for (int i = 0; i < CSSStyle.POSITION_COUNT; i++) {
+      if ((mask & (POSITION << i)) != 0) {
+        output.writeFloat(style.getPosition(i));
+      }
+    }
+    for (int i = 0; i < CSSStyle.DIMENSION_COUNT; i++) {
+      if ((mask & (DIMENSIONS << i)) != 0) {
+        output.writeFloat(style.getDimension(i));
+      }
+    }
+    for (int i = 0; i < SPACING_OFFSETS.length; i++) {
+      if ((mask & (MARGIN << i)) != 0) {
+        writeSpacing(style, SPACING_OFFSETS[i], output);
+      }
+    }
+    if ((mask & NAME) != 0) {
+      output.writeUTF(node.getName());
+    }
+    if ((mask & LAYOUT_X) != 0) {
+      output.writeFloat(layout.position[CSSLayout.POSITION_LEFT]);
+    }
+    if ((mask & LAYOUT_Y) != 0) {
+      output.writeFloat(layout.position[CSSLayout.POSITION_TOP]);
+    }
+    if ((mask & LAYOUT_WIDTH) != 0) {
+      output.writeFloat(layout.dimensions[CSSLayout.DIMENSION_WIDTH]);
+    }
+    if ((mask & LAYOUT_HEIGHT) != 0) {
+      output.writeFloat(layout.dimensions[CSSLayout.DIMENSION_HEIGHT]);
+    }
+    if ((mask & LAYOUT_CACHE) != 0) {
+      writeLayoutCache(node.layoutCache, output);
+    }
+
+    writeVarInt(output, node.getChildCount());
+    for (int i = 0; i < node.getChildCount(); i++) {
+      writeNode(node.getChildAt(i), output, flags);
+    }
+  }
+
+  /**
+   * @return a mask with a bit set for each spacing type set in the margin, padding or border at
+   *     styleOffset.
+   */
+  private static int getSpacingMask(CSSStyle style, int styleOffset) {
+    int mask = 0;
+    for (int i = 0; i < SPACING_TYPE_COUNT; i++) {
+      if (!CSSConstants.isUndefined(style.getFullSpacing(styleOffset, i))) {
+        mask |= 1 << i;
+      }
+    }
+    return mask;
+  }
+
+  private static void writeSpacing(CSSStyle style, int styleOffset, DataOutput output)
+      throws IOException {
+    int mask = getSpacingMask(style, styleOffset);
+    output.writeByte(mask);
+    for (int i = 0; i < SPACING_TYPE_COUNT; i++) {
+      if ((mask & (1 << i)) != 0) {
+        output.writeFloat(style.getFullSpacing(styleOffset, i));
+      }
+    }
+  }
+
+  private static void writeLayoutCache(LayoutCache layoutCache, DataOutput output)
+      throws IOException {
+    writeVarInt(output, layoutCache.size());
+    for (int i = 0; i < layoutCache.size(); i++) {
+      CachedCSSLayout entry = layoutCache.getAt(i);
+      output.writeFloat(entry.requestedWidth);
+      output.writeFloat(entry.requestedHeight);
+      output.writeFloat(entry.parentMaxWidth);
+      output.writeFloat(entry.position[CSSLayout.POSITION_LEFT]);
+      output.writeFloat(entry.position[CSSLayout.POSITION_TOP]);
+      output.writeFloat(entry.dimensions[CSSLayout.DIMENSION_WIDTH]);
+      output.writeFloat(entry.dimensions[CSSLayout.DIMENSION_HEIGHT]);
+      writeVarInt(output, entry.childCount);
+      int size = entry.childCount * CachedCSSLayout.CHILD_LAYOUT_SIZE;
+      for (int j = 0; j < size; j++) {
+        output.writeFloat(entry.childLayouts[j]);
+      }
+    }
+  }
+
+  /**
+   * Reads the properties and the subtree of node.
+   *
+   * @return whether node was read with a layout cache, and so were all its descendants.
+   */
+  private static boolean readNode(CSSNode node, DataInput input) throws IOException {
+    int mask = readVarInt(input);
+
+    if ((mask & FLEX_DIRECTION) != 0) {
+      node.setFlexDirection(FLEX_DIRECTIONS[readOrdinal(input, FLEX_DIRECTIONS.length)]);
+    }
+    if ((mask & JUSTIFY_CONTENT) != 0) {
+      node.setJustifyContent(JUSTIFY_CONTENTS[readOrdinal(input, JUSTIFY_CONTENTS.length)]);
+    }
+    if ((mask & ALIGN_ITEMS) != 0) {
+      node.setAlignItems(ALIGNS[readOrdinal(input, ALIGNS.length)]);
+    }
+    if ((mask & ALIGN_SELF) != 0) {
+      node.setAlignSelf(ALIGNS[readOrdinal(input, ALIGNS.length)]);
+    }
+    if ((mask & POSITION_TYPE) != 0) {
+      node.setPositionType(POSITION_TYPES[readOrdinal(input, POSITION_TYPES.length)]);
+    }
+    if ((mask & FLEX_WRAP) != 0) {
+      node.setWrap(FLEX_WRAPS[readOrdinal(input, FLEX_WRAPS.length)]);
+    }
+    if ((mask & FLEX) != 0) {
+      node.setFlex(input.readFloat());
+    }
+    if ((mask & (POSITION << CSSLayout.POSITION_LEFT)) != 0) {
+      node.setPositionLeft(input.readFloat());
+    }
+    if ((mask & (POSITION << CSSLayout.POSITION_TOP)) != 0) {
+      node.setPositionTop(input.readFloat());
+    }
+    if ((mask & (POSITION << CSSLayout.POSITION_RIGHT)) != 0) {
+      node.setPositionRight(input.readFloat());
+    }
+    if ((mask & (POSITION << CSSLayout.POSITION_BOTTOM)) != 0) {
+      node.setPositionBottom(input.readFloat());
+    }
+    if ((mask & (DIMENSIONS << CSSLayout.DIMENSION_WIDTH)) != 0) {
+      node.setStyleWidth(input.readFloat());
+    }
+    if ((mask & (DIMENSIONS << CSSLayout.DIMENSION_HEIGHT)) != 0) {
+      node.setStyleHeight(input.readFloat());
+    }
+    for (int i = 0; i < SPACING_OFFSETS.length; i++) {
+      if ((mask & (MARGIN << i)) != 0) {
+        readSpacing(node, SPACING_OFFSETS[i], input);
+      }
+    }
+    if ((mask & NAME) != 0) {
+      node.setName(input.readUTF());
+    }
+    CSSLayout layout = node.layout;
+    if ((mask & LAYOUT_X) != 0) {
+      layout.position[CSSLayout.POSITION_LEFT] = input.readFloat();
+    }
+    if ((mask & LAYOUT_Y) != 0) {
+      layout.position[CSSLayout.POSITION_TOP] = input.readFloat();
+    }
+    if ((mask & LAYOUT_WIDTH) != 0) {
+      layout.dimensions[CSSLayout.DIMENSION_WIDTH] = input.readFloat();
+    }
+    if ((mask & LAYOUT_HEIGHT) != 0) {
+      layout.dimensions[CSSLayout.DIMENSION_HEIGHT] = input.readFloat();
+    }
+    CachedCSSLayout[] cachedLayouts = null;
+    if ((mask & LAYOUT_CACHE) != 0) {
+      cachedLayouts = readLayoutCache(input);
+    }
+
+    int childCount = readVarInt(input);
+    boolean hasLayoutCache = cachedLayouts != null;
+    for (int i = 0; i < childCount; i++) {
+      CSSNode child = new CSSNode();
+      hasLayoutCache &= readNode(child, input);
+      node.addChildAt(child, i);
+    }
+
+    // Setting the style and adding children clear the cache, so it is filled last. It is only of
+    // use if the whole subtree has one, otherwise the node is left dirty and laid out again.
+    if (hasLayoutCache) {
+      for (int i = 0; i < cachedLayouts.length; i++) {
+        node.layoutCache.add(cachedLayouts[i]);
+      }
+      // As if the layout read had been seen, so the node can be changed before it is laid out
+      node.markHasNewLayout();
+      node.markLayoutSeen();
+    }
+    return hasLayoutCache;
+  }
+
+  private static int readOrdinal(DataInput input, int count) throws IOException {
+    int ordinal = input.readUnsignedByte();
+    if (ordinal >= count) {
+      throw new IOException("Invalid ordinal " + ordinal);
+    }
+    return ordinal;
+  }
+
+  private static void readSpacing(CSSNode node, int styleOffset, DataInput input)
+      throws IOException {
+    int mask = input.readUnsignedByte();
+    for (int i = 0; i < SPACING_TYPE_COUNT; i++) {
+      if ((mask & (1 << i)) != 0) {
+        node.setSpacing(styleOffset, i, input.readFloat());
+      }
+    }
+  }
+
+  private static CachedCSSLayout[] readLayoutCache(DataInput input) throws IOException {
+    CachedCSSLayout[] entries = new CachedCSSLayout[readVarInt(input)];
+    for (int i = 0; i < entries.length; i++) {
+      CachedCSSLayout entry = new CachedCSSLayout();
+      entry.requestedWidth = input.readFloat();
+      entry.requestedHeight = input.readFloat();
+      entry.parentMaxWidth = input.readFloat();
+      entry.position[CSSLayout.POSITION_LEFT] = input.readFloat();
+      entry.position[CSSLayout.POSITION_TOP] = input.readFloat();
+      entry.dimensions[CSSLayout.DIMENSION_WIDTH] = input.readFloat();
+      entry.dimensions[CSSLayout.DIMENSION_HEIGHT] = input.readFloat();
+      entry.childCount = readVarInt(input);
+      entry.childLayouts = new float[entry.childCount * CachedCSSLayout.CHILD_LAYOUT_SIZE];
+      for (int j = 0; j < entry.childLayouts.length; j++) {
+        entry.childLayouts[j] = input.readFloat();
+      }
+      entries[i] = entry;
+    }
+    return entries;
+  }
+
+  /**
+   * Writes value, which must not be negative, 7 bits per byte from the lowest ones, with the high
+   * bit of each byte set when more bytes follow.
+   */
+  private static void writeVarInt(DataOutput output, int value) throws IOException {
+    while ((value & ~0x7f) != 0) {
+      output.writeByte((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    output.writeByte(value);
+  }
+
+  private static int readVarInt(DataInput input) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = input.readUnsignedByte();
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        if (value < 0) {
+          throw new IOException("Invalid varint");
+        }
+        return value;
+      }
+    }
+    throw new IOException("Invalid varint");
+  }
+
+  /**
+   * Reads the remaining bytes of a buffer, so {@link DataInputStream} can read from it.
+   */
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer mBuffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      mBuffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return mBuffer.hasRemaining() ? mBuffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!mBuffer.hasRemaining()) {
+        return -1;
+      }
+      length = Math.min(length, mBuffer.remaining());
+      mBuffer.get(bytes, offset, length);
+      return length;
+    }
+  }
+}
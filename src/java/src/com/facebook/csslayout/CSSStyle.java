@@ -8,28 +8,500 @@
  */
 package com.facebook.csslayout;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
 /**
- * The CSS style definition for a {@link CSSNode}.
+ * The CSS style definition for a {@link CSSNode}. The enum properties are packed into a single int
+ * as their ordinals, and margin, padding and border share one array, so a style takes little memory
+ * and the layout engine tests properties with a mask and a compare.
+ *
+ * Styles built with a {@link Builder} are immutable and interned: building the same style twice
+ * returns the same instance, which any number of nodes can share through
+ * {@link CSSNode#setStyle(CSSStyle)}.
  */
 public class CSSStyle {
 
-  public CSSFlexDirection flexDirection = CSSFlexDirection.COLUMN;
-  public CSSJustify justifyContent = CSSJustify.FLEX_START;
-  public CSSAlign alignItems = CSSAlign.STRETCH;
-  public CSSAlign alignSelf = CSSAlign.AUTO;
-  public CSSPositionType positionType = CSSPositionType.RELATIVE;
-  public CSSWrap flexWrap = CSSWrap.NOWRAP;
-  public float flex;
-
-  public float[] margin = Spacing.newSpacingResultArray();
-  public float[] padding = Spacing.newSpacingResultArray();
-  public float[] border = Spacing.newSpacingResultArray();
-
-  public float positionTop = CSSConstants.UNDEFINED;
-  public float positionBottom = CSSConstants.UNDEFINED;
-  public float positionLeft = CSSConstants.UNDEFINED;
-  public float positionRight = CSSConstants.UNDEFINED;
-
-  public float width = CSSConstants.UNDEFINED;
-  public float height = CSSConstants.UNDEFINED;
+  /**
+   * Builds interned styles, the setters have the same meaning as the ones of {@link CSSNode}.
+   */
+  public static class Builder {
+
+    private final CSSStyle mStyle = new CSSStyle();
+
+    public Builder setFlexDirection(CSSFlexDirection flexDirection) {
+      mStyle.setFlexDirection(flexDirection);
+      return this;
+    }
+
+    public Builder setJustifyContent(CSSJustify justifyContent) {
+      mStyle.setJustifyContent(justifyContent);
+      return this;
+    }
+
+    public Builder setAlignItems(CSSAlign alignItems) {
+      mStyle.setAlignItems(alignItems);
+      return this;
+    }
+
+    public Builder setAlignSelf(CSSAlign alignSelf) {
+      mStyle.setAlignSelf(alignSelf);
+      return this;
+    }
+
+    public Builder setPositionType(CSSPositionType positionType) {
+      mStyle.setPositionType(positionType);
+      return this;
+    }
+
+    public Builder setWrap(CSSWrap flexWrap) {
+      mStyle.setFlexWrap(flexWrap);
+      return this;
+    }
+
+    public Builder setFlex(float flex) {
+      mStyle.setFlex(flex);
+      return this;
+    }
+
+    public Builder setMargin(int spacingType, float margin) {
+      mStyle.setFullSpacing(MARGIN, spacingType, margin);
+      return this;
+    }
+
+    public Builder setPadding(int spacingType, float padding) {
+      mStyle.setFullSpacing(PADDING, spacingType, padding);
+      return this;
+    }
+
+    public Builder setBorder(int spacingType, float border) {
+      mStyle.setFullSpacing(BORDER, spacingType, border);
+      return this;
+    }
+
+    public Builder setPositionTop(float positionTop) {
+      mStyle.setPosition(CSSLayout.POSITION_TOP, positionTop);
+      return this;
+    }
+
+    public Builder setPositionBottom(float positionBottom) {
+      mStyle.setPosition(CSSLayout.POSITION_BOTTOM, positionBottom);
+      return this;
+    }
+
+    public Builder setPositionLeft(float positionLeft) {
+      mStyle.setPosition(CSSLayout.POSITION_LEFT, positionLeft);
+      return this;
+    }
+
+    public Builder setPositionRight(float positionRight) {
+      mStyle.setPosition(CSSLayout.POSITION_RIGHT, positionRight);
+      return this;
+    }
+
+    public Builder setStyleWidth(float width) {
+      mStyle.setDimension(CSSLayout.DIMENSION_WIDTH, width);
+      return this;
+    }
+
+    public Builder setStyleHeight(float height) {
+      mStyle.setDimension(CSSLayout.DIMENSION_HEIGHT, height);
+      return this;
+    }
+
+    /**
+     * @return the interned style with the properties set so far. The builder can be used again
+     * afterwards, changing it doesn't affect the styles it built.
+     */
+    public CSSStyle build() {
+      return intern(mStyle);
+    }
+  }
+
+  // Number of values of getPosition() and getDimension()
+  /* package */ static final int POSITION_COUNT = 4;
+  /* package */ static final int DIMENSION_COUNT = 2;
+
+  // Offsets of margin, padding and border in spacing, each of them is indexed by Spacing.LEFT, etc
+  /* package */ static final int MARGIN = 0;
+  /* package */ static final int PADDING = 4;
+  /* package */ static final int BORDER = 8;
+  // Offsets of the sums of the margin and of the padding and border along each axis, indexed by
+  // the ordinal of CSSFlexDirection. They are derived from the values above whenever those change.
+  /* package */ static final int MARGIN_AXIS = 12;
+  /* package */ static final int PADDING_AND_BORDER_AXIS = 14;
+  private static final int SPACING_SIZE = 16;
+
+  // Shared by all the styles without margin, padding and border, must never be written to
+  private static final float[] EMPTY_SPACING = new float[SPACING_SIZE];
+
+  // Margin, padding and border, 8 values each, see Spacing.newFullSpacingArray()
+  private static final int FULL_SPACING_SIZE = 24;
+
+  // Weak on both sides, so a style is dropped from the table once no node or caller uses it
+  private static final Map<CSSStyle, WeakReference<CSSStyle>> sInternedStyles =
+      new WeakHashMap<CSSStyle, WeakReference<CSSStyle>>();
+
+  // Position and mask of the ordinal of each enum property in mFlags
+  private static final int FLEX_DIRECTION_SHIFT = 0;
+  private static final int FLEX_DIRECTION_MASK = 0x1;
+  private static final int JUSTIFY_CONTENT_SHIFT = 1;
+  private static final int JUSTIFY_CONTENT_MASK = 0x7;
+  private static final int ALIGN_ITEMS_SHIFT = 4;
+  private static final int ALIGN_SELF_SHIFT = 7;
+  private static final int ALIGN_MASK = 0x7;
+  private static final int POSITION_TYPE_SHIFT = 10;
+  private static final int POSITION_TYPE_MASK = 0x1;
+  private static final int FLEX_WRAP_SHIFT = 11;
+  private static final int FLEX_WRAP_MASK = 0x1;
+
+  private static final CSSFlexDirection[] FLEX_DIRECTIONS = CSSFlexDirection.values();
+  private static final CSSJustify[] JUSTIFY_CONTENTS = CSSJustify.values();
+  private static final CSSAlign[] ALIGNS = CSSAlign.values();
+  private static final CSSPositionType[] POSITION_TYPES = CSSPositionType.values();
+  private static final CSSWrap[] FLEX_WRAPS = CSSWrap.values();
+
+  private static final int DEFAULT_FLAGS =
+      CSSFlexDirection.COLUMN.ordinal() << FLEX_DIRECTION_SHIFT |
+      CSSJustify.FLEX_START.ordinal() << JUSTIFY_CONTENT_SHIFT |
+      CSSAlign.STRETCH.ordinal() << ALIGN_ITEMS_SHIFT |
+      CSSAlign.AUTO.ordinal() << ALIGN_SELF_SHIFT |
+      CSSPositionType.RELATIVE.ordinal() << POSITION_TYPE_SHIFT |
+      CSSWrap.NOWRAP.ordinal() << FLEX_WRAP_SHIFT;
+
+  private int mFlags = DEFAULT_FLAGS;
+  private boolean mInterned;
+
+  private float mFlex;
+
+  // Resolved margin, padding and border and their sums, see MARGIN, etc. Only read it, it is
+  // EMPTY_SPACING until getWritableSpacing() is called.
+  /* package */ float[] spacing = EMPTY_SPACING;
+
+  // The margin, padding and border that have been set as full spacing arrays (see Spacing), one
+  // after the other in the order of their offsets in spacing. Null until one is set.
+  private @Nullable float[] mFullSpacing;
+
+  // Indexed by CSSLayout.POSITION_*
+  private final float[] mPosition = {
+      CSSConstants.UNDEFINED,
+      CSSConstants.UNDEFINED,
+      CSSConstants.UNDEFINED,
+      CSSConstants.UNDEFINED,
+  };
+
+  // Indexed by CSSLayout.DIMENSION_*
+  private final float[] mDimensions = {
+      CSSConstants.UNDEFINED,
+      CSSConstants.UNDEFINED,
+  };
+
+  private int get(int shift, int mask) {
+    return (mFlags >> shift) & mask;
+  }
+
+  private static synchronized CSSStyle intern(CSSStyle style) {
+    WeakReference<CSSStyle> reference = sInternedStyles.get(style);
+    CSSStyle interned = reference == null ? null : reference.get();
+    if (interned == null) {
+      interned = style.copy();
+      interned.mInterned = true;
+      sInternedStyles.put(interned, new WeakReference<CSSStyle>(interned));
+    }
+    return interned;
+  }
+
+  /**
+   * @return whether this style was built by a {@link Builder}, it must then not be modified.
+   */
+  /* package */ boolean isInterned() {
+    return mInterned;
+  }
+
+  /**
+   * @return a style with the same properties that isn't interned and can be modified.
+   */
+  /* package */ CSSStyle copy() {
+    CSSStyle copy = new CSSStyle();
+    copy.mFlags = mFlags;
+    copy.mFlex = mFlex;
+    copy.spacing = spacing == EMPTY_SPACING ? EMPTY_SPACING : spacing.clone();
+    copy.mFullSpacing = mFullSpacing == null ? null : mFullSpacing.clone();
+    System.arraycopy(mPosition, 0, copy.mPosition, 0, POSITION_COUNT);
+    System.arraycopy(mDimensions, 0, copy.mDimensions, 0, DIMENSION_COUNT);
+    return copy;
+  }
+
+  /**
+   * Puts back the default value of every property, spacing goes back to the shared empty array.
+   */
+  /* package */ void reset() {
+    checkMutable();
+    mFlags = DEFAULT_FLAGS;
+    mFlex = 0;
+    spacing = EMPTY_SPACING;
+    mFullSpacing = null;
+    Arrays.fill(mPosition, CSSConstants.UNDEFINED);
+    Arrays.fill(mDimensions, CSSConstants.UNDEFINED);
+  }
+
+  private void checkMutable() {
+    if (mInterned) {
+      throw new IllegalStateException("Interned styles can't be modified");
+    }
+  }
+
+  private void set(int shift, int mask, int ordinal) {
+    checkMutable();
+    mFlags = (mFlags & ~(mask << shift)) | (ordinal << shift);
+  }
+
+  public CSSFlexDirection getFlexDirection() {
+    return FLEX_DIRECTIONS[getFlexDirectionOrdinal()];
+  }
+
+  public void setFlexDirection(CSSFlexDirection flexDirection) {
+    set(FLEX_DIRECTION_SHIFT, FLEX_DIRECTION_MASK, flexDirection.ordinal());
+  }
+
+  /**
+   * @return the ordinal of {@link #getFlexDirection()}, which the layout engine uses as an axis.
+   */
+  /* package */ int getFlexDirectionOrdinal() {
+    return get(FLEX_DIRECTION_SHIFT, FLEX_DIRECTION_MASK);
+  }
+
+  public CSSJustify getJustifyContent() {
+    return JUSTIFY_CONTENTS[get(JUSTIFY_CONTENT_SHIFT, JUSTIFY_CONTENT_MASK)];
+  }
+
+  public void setJustifyContent(CSSJustify justifyContent) {
+    set(JUSTIFY_CONTENT_SHIFT, JUSTIFY_CONTENT_MASK, justifyContent.ordinal());
+  }
+
+  public CSSAlign getAlignItems() {
+    return ALIGNS[get(ALIGN_ITEMS_SHIFT, ALIGN_MASK)];
+  }
+
+  public void setAlignItems(CSSAlign alignItems) {
+    set(ALIGN_ITEMS_SHIFT, ALIGN_MASK, alignItems.ordinal());
+  }
+
+  public CSSAlign getAlignSelf() {
+    return ALIGNS[get(ALIGN_SELF_SHIFT, ALIGN_MASK)];
+  }
+
+  public void setAlignSelf(CSSAlign alignSelf) {
+    set(ALIGN_SELF_SHIFT, ALIGN_MASK, alignSelf.ordinal());
+  }
+
+  /* package */ boolean isAlignSelfAuto() {
+    return get(ALIGN_SELF_SHIFT, ALIGN_MASK) == CSSAlign.AUTO.ordinal();
+  }
+
+  public CSSPositionType getPositionType() {
+    return POSITION_TYPES[get(POSITION_TYPE_SHIFT, POSITION_TYPE_MASK)];
+  }
+
+  public void setPositionType(CSSPositionType positionType) {
+    set(POSITION_TYPE_SHIFT, POSITION_TYPE_MASK, positionType.ordinal());
+  }
+
+  /* package */ boolean isPositionAbsolute() {
+    return get(POSITION_TYPE_SHIFT, POSITION_TYPE_MASK) == CSSPositionType.ABSOLUTE.ordinal();
+  }
+
+  public CSSWrap getFlexWrap() {
+    return FLEX_WRAPS[get(FLEX_WRAP_SHIFT, FLEX_WRAP_MASK)];
+  }
+
+  public void setFlexWrap(CSSWrap flexWrap) {
+    set(FLEX_WRAP_SHIFT, FLEX_WRAP_MASK, flexWrap.ordinal());
+  }
+
+  /* package */ boolean isFlexWrap() {
+    return get(FLEX_WRAP_SHIFT, FLEX_WRAP_MASK) == CSSWrap.WRAP.ordinal();
+  }
+
+  public float getFlex() {
+    return mFlex;
+  }
+
+  public void setFlex(float flex) {
+    checkMutable();
+    mFlex = flex;
+  }
+
+  /**
+   * @return the position at the given {@link CSSLayout#POSITION_LEFT}, etc, or undefined.
+   */
+  public float getPosition(int position) {
+    return mPosition[position];
+  }
+
+  public void setPosition(int position, float value) {
+    checkMutable();
+    mPosition[position] = value;
+  }
+
+  /**
+   * @return the size along the given {@link CSSLayout#DIMENSION_WIDTH} or
+   * {@link CSSLayout#DIMENSION_HEIGHT}, or undefined.
+   */
+  public float getDimension(int dimension) {
+    return mDimensions[dimension];
+  }
+
+  public void setDimension(int dimension, float value) {
+    checkMutable();
+    mDimensions[dimension] = value;
+  }
+
+  /**
+   * @return {@link #spacing}, after copying it if it was still the shared empty instance.
+   */
+  private float[] getWritableSpacing() {
+    checkMutable();
+    if (spacing == EMPTY_SPACING) {
+      spacing = new float[SPACING_SIZE];
+    }
+    return spacing;
+  }
+
+  private void updateAxisSums() {
+    int column = CSSFlexDirection.COLUMN.ordinal();
+    int row = CSSFlexDirection.ROW.ordinal();
+    spacing[MARGIN_AXIS + column] =
+        spacing[MARGIN + Spacing.TOP] + spacing[MARGIN + Spacing.BOTTOM];
+    spacing[MARGIN_AXIS + row] =
+        spacing[MARGIN + Spacing.LEFT] + spacing[MARGIN + Spacing.RIGHT];
+    spacing[PADDING_AND_BORDER_AXIS + column] =
+        (spacing[PADDING + Spacing.TOP] + spacing[BORDER + Spacing.TOP]) +
+        (spacing[PADDING + Spacing.BOTTOM] + spacing[BORDER + Spacing.BOTTOM]);
+    spacing[PADDING_AND_BORDER_AXIS + row] =
+        (spacing[PADDING + Spacing.LEFT] + spacing[BORDER + Spacing.LEFT]) +
+        (spacing[PADDING + Spacing.RIGHT] + spacing[BORDER + Spacing.RIGHT]);
+  }
+
+  /**
+   * @return the value set for the given spacingType ({@link Spacing#LEFT},
+   * {@link Spacing#HORIZONTAL}, etc) of the margin, padding or border at styleOffset, see
+   * {@link #MARGIN}, or undefined if it hasn't been set.
+   */
+  /* package */ float getFullSpacing(int styleOffset, int spacingType) {
+    // A full spacing array is twice as long as the resolved one
+    return mFullSpacing == null ?
+        CSSConstants.UNDEFINED :
+        mFullSpacing[styleOffset * 2 + spacingType];
+  }
+
+  /**
+   * Sets the value for the given spacingType of the margin, padding or border at styleOffset and
+   * resolves it into {@link #spacing}, see {@link Spacing#updateSpacing}.
+   */
+  /* package */ void setFullSpacing(int styleOffset, int spacingType, float value) {
+    checkMutable();
+    if (spacingType < Spacing.LEFT || spacingType > Spacing.ALL) {
+      throw new IllegalArgumentException("Invalid spacing type " + spacingType);
+    }
+    if (mFullSpacing == null) {
+      if (CSSConstants.isUndefined(value)) {
+        return;
+      }
+      mFullSpacing = new float[FULL_SPACING_SIZE];
+      Arrays.fill(mFullSpacing, CSSConstants.UNDEFINED);
+    }
+    if (spacing == EMPTY_SPACING) {
+      // The resolved values stay shared until one of them isn't zero
+      mFullSpacing[styleOffset * 2 + spacingType] = value;
+      if (Spacing.resolvesToDefault(mFullSpacing, styleOffset * 2, 0)) {
+        return;
+      }
+    }
+    Spacing.updateSpacing(
+        mFullSpacing,
+        styleOffset * 2,
+        getWritableSpacing(),
+        styleOffset,
+        spacingType,
+        value,
+        0);
+    updateAxisSums();
+  }
+
+  private static int checkPosition(int position) {
+    if (position < Spacing.LEFT || position > Spacing.BOTTOM) {
+      throw new IllegalArgumentException("Invalid position " + position);
+    }
+    return position;
+  }
+
+  /**
+   * @return the margin at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getMargin(int position) {
+    return spacing[MARGIN + checkPosition(position)];
+  }
+
+  public void setMargin(int spacingType, float margin) {
+    setFullSpacing(MARGIN, spacingType, margin);
+  }
+
+  /**
+   * @return the padding at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getPadding(int position) {
+    return spacing[PADDING + checkPosition(position)];
+  }
+
+  public void setPadding(int spacingType, float padding) {
+    setFullSpacing(PADDING, spacingType, padding);
+  }
+
+  /**
+   * @return the border at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getBorder(int position) {
+    return spacing[BORDER + checkPosition(position)];
+  }
+
+  public void setBorder(int spacingType, float border) {
+    setFullSpacing(BORDER, spacingType, border);
+  }
+
+  /**
+   * Two styles are equal if all their properties are, including which spacing values have been
+   * set. Only meant for interning, the hash of a style changes when it is modified.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CSSStyle)) {
+      return false;
+    }
+    CSSStyle other = (CSSStyle) o;
+    return mFlags == other.mFlags &&
+        Float.compare(mFlex, other.mFlex) == 0 &&
+        Arrays.equals(spacing, other.spacing) &&
+        Arrays.equals(mFullSpacing, other.mFullSpacing) &&
+        Arrays.equals(mPosition, other.mPosition) &&
+        Arrays.equals(mDimensions, other.mDimensions);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = mFlags;
+    result = 31 * result + Float.floatToIntBits(mFlex);
+    result = 31 * result + Arrays.hashCode(spacing);
+    result = 31 * result + Arrays.hashCode(mFullSpacing);
+    result = 31 * result + Arrays.hashCode(mPosition);
+    result = 31 * result + Arrays.hashCode(mDimensions);
+    return result;
+  }
 }
@@ -15,7 +15,17 @@ package com.facebook.csslayout;
  */
 public class CachedCSSLayout extends CSSLayout {
 
+  // Per child: requestedWidth, requestedHeight, parentMaxWidth, x, y, width, height
+  /* package */ static final int CHILD_LAYOUT_SIZE = 7;
+
   public float requestedWidth = CSSConstants.UNDEFINED;
   public float requestedHeight = CSSConstants.UNDEFINED;
   public float parentMaxWidth = CSSConstants.UNDEFINED;
+
+  /**
+   * The conditions each child was laid out under and its final layout, as left by this layout, so the
+   * subtree can be restored without running the layout again. See {@link LayoutCache}.
+   */
+  /* package */ float[] childLayouts = new float[0];
+  /* package */ int childCount;
 }
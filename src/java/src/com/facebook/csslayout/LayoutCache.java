@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import javax.annotation.Nullable;
+
+/**
+ * The last few layouts of a {@link CSSNode}, keyed by the requested width, requested height and
+ * parent max width they were computed for. Entries are ordered from the most to the least recently
+ * used, the first entry is always the one whose results are currently in the node's subtree. A node
+ * laid out alternately under a few different constraints finds each of them here, the other entries
+ * remember the layout of the children so the subtree can be put back without laying it out again.
+ */
+/* package */ class LayoutCache {
+
+  /* package */ static final int DEFAULT_CAPACITY = 4;
+
+  private final CachedCSSLayout[] mEntries;
+  private int mSize;
+
+  /* package */ LayoutCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /* package */ LayoutCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    mEntries = new CachedCSSLayout[capacity];
+  }
+
+  /**
+   * @return the entry computed under the given conditions, or null if there is none. The order of
+   * the entries is left as it is, see {@link #makeCurrent(CachedCSSLayout)}.
+   */
+  /* package */ @Nullable CachedCSSLayout find(
+      float requestedWidth,
+      float requestedHeight,
+      float parentMaxWidth) {
+    int index = indexOf(requestedWidth, requestedHeight, parentMaxWidth);
+    return index == -1 ? null : mEntries[index];
+  }
+
+  /**
+   * Moves entry to the front, once its results have been put back in the subtree.
+   */
+  /* package */ void makeCurrent(CachedCSSLayout entry) {
+    for (int i = 0; i < mSize; i++) {
+      if (mEntries[i] == entry) {
+        moveToFront(i, entry);
+        return;
+      }
+    }
+    throw new IllegalArgumentException("Entry isn't in the cache");
+  }
+
+  /**
+   * @return the entry whose results are currently in the subtree, or null if the cache is empty.
+   */
+  /* package */ @Nullable CachedCSSLayout getCurrent() {
+    return mSize == 0 ? null : mEntries[0];
+  }
+
+  /**
+   * @return whether the entry currently in the subtree was computed under the given conditions.
+   */
+  /* package */ boolean isCurrent(float requestedWidth, float requestedHeight, float parentMaxWidth) {
+    return mSize != 0 && indexOf(requestedWidth, requestedHeight, parentMaxWidth) == 0;
+  }
+
+  /**
+   * Stores the current layout of node and of its direct children as the most recently used entry,
+   * replacing the entry for the same conditions if there is one, or else the least recently used
+   * one if the cache is full.
+   */
+  /* package */ void put(
+      CSSNode node,
+      float requestedWidth,
+      float requestedHeight,
+      float parentMaxWidth) {
+    int last = indexOf(requestedWidth, requestedHeight, parentMaxWidth);
+    if (last == -1) {
+      last = mSize < mEntries.length ? mSize++ : mSize - 1;
+    }
+    CachedCSSLayout entry = mEntries[last];
+    if (entry == null) {
+      entry = new CachedCSSLayout();
+    }
+    moveToFront(last, entry);
+
+    entry.requestedWidth = requestedWidth;
+    entry.requestedHeight = requestedHeight;
+    entry.parentMaxWidth = parentMaxWidth;
+    entry.copy(node.layout);
+
+    // The children of a node with a ChildProvider can be evicted and there can be too many of them
+    // to remember, they are laid out again instead
+    int childCount = node.hasChildProvider() ? 0 : node.getChildCount();
+    int size = childCount * CachedCSSLayout.CHILD_LAYOUT_SIZE;
+    if (entry.childLayouts.length < size) {
+      entry.childLayouts = new float[size];
+    }
+    entry.childCount = childCount;
+    for (int i = 0; i < childCount; i++) {
+      CSSNode child = node.getChildAt(i);
+      CachedCSSLayout childEntry = child.layoutCache.getCurrent();
+      int offset = i * CachedCSSLayout.CHILD_LAYOUT_SIZE;
+      float[] childLayouts = entry.childLayouts;
+      childLayouts[offset] =
+          childEntry == null ? CSSConstants.UNDEFINED : childEntry.requestedWidth;
+      childLayouts[offset + 1] =
+          childEntry == null ? CSSConstants.UNDEFINED : childEntry.requestedHeight;
+      childLayouts[offset + 2] =
+          childEntry == null ? CSSConstants.UNDEFINED : childEntry.parentMaxWidth;
+      childLayouts[offset + 3] = child.layout.position[CSSLayout.POSITION_LEFT];
+      childLayouts[offset + 4] = child.layout.position[CSSLayout.POSITION_TOP];
+      childLayouts[offset + 5] = child.layout.dimensions[CSSLayout.DIMENSION_WIDTH];
+      childLayouts[offset + 6] = child.layout.dimensions[CSSLayout.DIMENSION_HEIGHT];
+    }
+  }
+
+  /* package */ void clear() {
+    mSize = 0;
+  }
+
+  /* package */ int size() {
+    return mSize;
+  }
+
+  /**
+   * @return the entry at index, from the most to the least recently used.
+   */
+  /* package */ CachedCSSLayout getAt(int index) {
+    return mEntries[index];
+  }
+
+  /**
+   * Adds entry as the least recently used one, so a cache can be rebuilt from its entries in the
+   * order of {@link #getAt(int)}. Does nothing if the cache is full.
+   */
+  /* package */ void add(CachedCSSLayout entry) {
+    if (mSize < mEntries.length) {
+      mEntries[mSize++] = entry;
+    }
+  }
+
+  private int indexOf(float requestedWidth, float requestedHeight, float parentMaxWidth) {
+    for (int i = 0; i < mSize; i++) {
+      CachedCSSLayout entry = mEntries[i];
+      if (FloatUtil.floatsEqual(entry.requestedWidth, requestedWidth) &&
+          FloatUtil.floatsEqual(entry.requestedHeight, requestedHeight) &&
+          FloatUtil.floatsEqual(entry.parentMaxWidth, parentMaxWidth)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void moveToFront(int index, CachedCSSLayout entry) {
+    System.arraycopy(mEntries, 0, mEntries, 1, index);
+    mEntries[0] = entry;
+  }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.Arrays;
+
+/**
+ * The nodes whose layout changed during a {@link CSSNode#calculateLayout(LayoutChangeList)}, with
+ * their old and new position and size. The old values are the ones the node had when its layout
+ * was last seen, see {@link CSSNode#markLayoutSeen()}, or the defaults of {@link CSSLayout} if it
+ * never was. Positions are relative to the parent, like {@link CSSNode#getLayoutX()}, so a node
+ * that moves along with its parent isn't listed.
+ *
+ * Changes are listed in the order the layout reached the nodes, each node at most once. A list can
+ * be reused for each layout, it then doesn't allocate once it has grown to the number of nodes a
+ * layout visits.
+ *
+ * NB: a LayoutChangeList is NOT thread safe, it can only be used by one layout at a time.
+ */
+public class LayoutChangeList {
+
+  // Offsets of the values of a change in mRects
+  private static final int OLD_X = 0;
+  private static final int OLD_Y = 1;
+  private static final int OLD_WIDTH = 2;
+  private static final int OLD_HEIGHT = 3;
+  private static final int NEW_X = 4;
+  private static final int NEW_Y = 5;
+  private static final int NEW_WIDTH = 6;
+  private static final int NEW_HEIGHT = 7;
+  private static final int STRIDE = 8;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  // Nodes visited by the layout, a node can be visited more than once
+  private CSSNode[] mVisited = new CSSNode[INITIAL_CAPACITY];
+  private int mVisitedCount;
+  private CSSNode[] mNodes = new CSSNode[INITIAL_CAPACITY];
+  private float[] mRects = new float[INITIAL_CAPACITY * STRIDE];
+  private int mSize;
+  // False when the visited nodes aren't listed, see CSSNode#setOnlyMarkChangedLayouts(boolean)
+  private final boolean mMarkLayoutsSeen;
+
+  public LayoutChangeList() {
+    this(true);
+  }
+
+  /* package */ LayoutChangeList(boolean markLayoutsSeen) {
+    mMarkLayoutsSeen = markLayoutsSeen;
+  }
+
+  /* package */ void clear() {
+    Arrays.fill(mNodes, 0, mSize, null);
+    mSize = 0;
+  }
+
+  /**
+   * Called as the layout visits node, whose layout may change.
+   */
+  /* package */ void add(CSSNode node) {
+    if (mVisitedCount == mVisited.length) {
+      mVisited = Arrays.copyOf(mVisited, mVisitedCount * 2);
+    }
+    mVisited[mVisitedCount++] = node;
+  }
+
+  /**
+   * Called once the layout is over, lists the visited nodes whose layout changed and marks the
+   * layout of all of them as seen.
+   */
+  /* package */ void finish() {
+    if (!mMarkLayoutsSeen) {
+      unmarkUnchangedLayouts();
+      return;
+    }
+    for (int i = 0; i < mVisitedCount; i++) {
+      CSSNode node = mVisited[i];
+      mVisited[i] = null;
+      node.clearChangeList();
+      // A node visited twice is up to date once the first visit has been handled
+      if (node.hasLayoutChangedSinceSeen()) {
+        addChange(node);
+        node.updateSeenLayout();
+      }
+      // Children far from a viewport are visited without being given a new layout
+      if (node.hasNewLayout()) {
+        node.markLayoutSeen();
+      }
+    }
+    mVisitedCount = 0;
+  }
+
+  /**
+   * Called by {@link #finish()} when the changes aren't listed, only leaves a new layout to the
+   * visited nodes whose layout changed since last seen and to their ancestors.
+   */
+  private void unmarkUnchangedLayouts() {
+    CSSNode root = mVisited[0];
+    // Children are visited after their parent, going backwards handles them first
+    for (int i = mVisitedCount - 1; i >= 0; i--) {
+      CSSNode node = mVisited[i];
+      mVisited[i] = null;
+      node.clearChangeList();
+      boolean childHasNewLayout = node.takeChildHasNewLayout();
+      // Children far from a viewport are visited without being given a new layout, and a node
+      // visited twice may already have been handled
+      if (!node.hasNewLayout() && !childHasNewLayout) {
+        continue;
+      }
+      if (childHasNewLayout || node.hasLayoutChangedSinceSeen()) {
+        node.markHasNewLayout();
+        CSSNode parent = node.getParent();
+        if (node != root && parent != null) {
+          parent.setChildHasNewLayout();
+        }
+      } else {
+        node.markLayoutUnchanged();
+      }
+    }
+    mVisitedCount = 0;
+  }
+
+  private void addChange(CSSNode node) {
+    if (mSize == mNodes.length) {
+      mNodes = Arrays.copyOf(mNodes, mSize * 2);
+      mRects = Arrays.copyOf(mRects, mSize * 2 * STRIDE);
+    }
+    int offset = mSize * STRIDE;
+    mRects[offset + OLD_X] = node.getSeenLayoutX();
+    mRects[offset + OLD_Y] = node.getSeenLayoutY();
+    mRects[offset + OLD_WIDTH] = node.getSeenLayoutWidth();
+    mRects[offset + OLD_HEIGHT] = node.getSeenLayoutHeight();
+    mRects[offset + NEW_X] = node.getLayoutX();
+    mRects[offset + NEW_Y] = node.getLayoutY();
+    mRects[offset + NEW_WIDTH] = node.getLayoutWidth();
+    mRects[offset + NEW_HEIGHT] = node.getLayoutHeight();
+    mNodes[mSize++] = node;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public CSSNode getNode(int index) {
+    checkIndex(index);
+    return mNodes[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Change " + index + " of " + mSize);
+    }
+  }
+
+  private float get(int index, int field) {
+    checkIndex(index);
+    return mRects[index * STRIDE + field];
+  }
+
+  public float getOldX(int index) {
+    return get(index, OLD_X);
+  }
+
+  public float getOldY(int index) {
+    return get(index, OLD_Y);
+  }
+
+  public float getOldWidth(int index) {
+    return get(index, OLD_WIDTH);
+  }
+
+  public float getOldHeight(int index) {
+    return get(index, OLD_HEIGHT);
+  }
+
+  public float getNewX(int index) {
+    return get(index, NEW_X);
+  }
+
+  public float getNewY(int index) {
+    return get(index, NEW_Y);
+  }
+
+  public float getNewWidth(int index) {
+    return get(index, NEW_WIDTH);
+  }
+
+  public float getNewHeight(int index) {
+    return get(index, NEW_HEIGHT);
+  }
+}
@@ -8,188 +8,90 @@
  */
 package com.facebook.csslayout;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.annotation.Nullable;
+
+import com.facebook.infer.annotation.Assertions;
+
 /**
  * Calculates layouts based on CSS style. See {@link #layoutNode(CSSNode, float)}.
  */
 public class LayoutEngine {
 
-  private static enum PositionIndex {
-    TOP,
-    LEFT,
-    BOTTOM,
-    RIGHT,
-  }
-
-  private static enum DimensionIndex {
-    WIDTH,
-    HEIGHT,
-  }
-
-  private static void setLayoutPosition(CSSNode node, PositionIndex position, float value) {
-    switch (position) {
-      case TOP:
-        node.layout.y = value;
-        break;
-      case LEFT:
-        node.layout.x = value;
-        break;
-      default:
-        throw new RuntimeException("Didn't get TOP or LEFT!");
-    }
-  }
-
-  private static float getLayoutPosition(CSSNode node, PositionIndex position) {
-    switch (position) {
-      case TOP:
-        return node.layout.y;
-      case LEFT:
-        return node.layout.x;
-      default:
-        throw new RuntimeException("Didn't get TOP or LEFT!");
-    }
-  }
-
-  private static void setLayoutDimension(CSSNode node, DimensionIndex dimension, float value) {
-    switch (dimension) {
-      case WIDTH:
-        node.layout.width = value;
-        break;
-      case HEIGHT:
-        node.layout.height = value;
-        break;
-      default:
-        throw new RuntimeException("Someone added a third dimension...");
-    }
-  }
+  /**
+   * Notified by {@link #layoutBatch(List, Executor, BatchCallback)} as each root is laid out.
+   */
+  public static interface BatchCallback {
 
-  private static float getLayoutDimension(CSSNode node, DimensionIndex dimension) {
-    switch (dimension) {
-      case WIDTH:
-        return node.layout.width;
-      case HEIGHT:
-        return node.layout.height;
-      default:
-        throw new RuntimeException("Someone added a third dimension...");
-    }
+    /**
+     * Called on the thread that laid out root, right after {@link CSSNode#calculateLayout()}
+     * returned for it.
+     */
+    public void onLayoutComplete(CSSNode root);
   }
 
-  private static float getStylePosition(CSSNode node, PositionIndex position) {
-    switch (position) {
-      case TOP:
-        return node.style.positionTop;
-      case BOTTOM:
-        return node.style.positionBottom;
-      case LEFT:
-        return node.style.positionLeft;
-      case RIGHT:
-        return node.style.positionRight;
-      default:
-        throw new RuntimeException("Someone added a new cardinal direction...");
-    }
-  }
+  private static final int CSS_FLEX_DIRECTION_COLUMN = CSSFlexDirection.COLUMN.ordinal();
+  private static final int CSS_FLEX_DIRECTION_ROW = CSSFlexDirection.ROW.ordinal();
 
-  private static float getStyleDimension(CSSNode node, DimensionIndex dimension) {
-    switch (dimension) {
-      case WIDTH:
-        return node.style.width;
-      case HEIGHT:
-        return node.style.height;
-      default:
-        throw new RuntimeException("Someone added a third dimension...");
-    }
-  }
+  private static final int POSITION_LEFT = CSSLayout.POSITION_LEFT;
+  private static final int POSITION_TOP = CSSLayout.POSITION_TOP;
+  private static final int POSITION_RIGHT = CSSLayout.POSITION_RIGHT;
+  private static final int POSITION_BOTTOM = CSSLayout.POSITION_BOTTOM;
 
-  private static PositionIndex getLeading(CSSFlexDirection axis) {
-    return axis == CSSFlexDirection.COLUMN ? PositionIndex.TOP : PositionIndex.LEFT;
-  }
-
-  private static PositionIndex getTrailing(CSSFlexDirection axis) {
-    return axis == CSSFlexDirection.COLUMN ? PositionIndex.BOTTOM : PositionIndex.RIGHT;
-  }
+  private static final int DIMENSION_WIDTH = CSSLayout.DIMENSION_WIDTH;
+  private static final int DIMENSION_HEIGHT = CSSLayout.DIMENSION_HEIGHT;
 
-  private static PositionIndex getPos(CSSFlexDirection axis) {
-    return axis == CSSFlexDirection.COLUMN ? PositionIndex.TOP : PositionIndex.LEFT;
-  }
-
-  private static DimensionIndex getDim(CSSFlexDirection axis) {
-    return axis == CSSFlexDirection.COLUMN ? DimensionIndex.HEIGHT : DimensionIndex.WIDTH;
-  }
+  // Indexed by flex direction, in the order of CSSFlexDirection: COLUMN, ROW
+  private static final int[] leading = { POSITION_TOP, POSITION_LEFT };
+  private static final int[] trailing = { POSITION_BOTTOM, POSITION_RIGHT };
+  private static final int[] pos = { POSITION_TOP, POSITION_LEFT };
+  private static final int[] dim = { DIMENSION_HEIGHT, DIMENSION_WIDTH };
 
-  private static boolean isDimDefined(CSSNode node, CSSFlexDirection axis) {
-    return !CSSConstants.isUndefined(getStyleDimension(node, getDim(axis)));
+  private static boolean isDimDefined(CSSNode node, int axis) {
+    return !CSSConstants.isUndefined(node.style.getDimension(dim[axis]));
   }
 
-  private static boolean isPosDefined(CSSNode node, PositionIndex position) {
-    return !CSSConstants.isUndefined(getStylePosition(node, position));
+  private static boolean isPosDefined(CSSNode node, int position) {
+    return !CSSConstants.isUndefined(node.style.getPosition(position));
   }
 
-  private static float getPosition(CSSNode node, PositionIndex position) {
-    float result = getStylePosition(node, position);
+  private static float getPosition(CSSNode node, int position) {
+    float result = node.style.getPosition(position);
     return CSSConstants.isUndefined(result) ? 0 : result;
   }
 
-  private static float getMargin(CSSNode node, PositionIndex position) {
-    switch (position) {
-      case TOP:
-        return node.style.margin[Spacing.TOP];
-      case BOTTOM:
-        return node.style.margin[Spacing.BOTTOM];
-      case LEFT:
-        return node.style.margin[Spacing.LEFT];
-      case RIGHT:
-        return node.style.margin[Spacing.RIGHT];
-      default:
-        throw new RuntimeException("Someone added a new cardinal direction...");
-    }
-  }
+  // Spacing.LEFT/TOP/RIGHT/BOTTOM have the same values as the POSITION_* indices
 
-  private static float getPadding(CSSNode node, PositionIndex position) {
-    switch (position) {
-      case TOP:
-        return node.style.padding[Spacing.TOP];
-      case BOTTOM:
-        return node.style.padding[Spacing.BOTTOM];
-      case LEFT:
-        return node.style.padding[Spacing.LEFT];
-      case RIGHT:
-        return node.style.padding[Spacing.RIGHT];
-      default:
-        throw new RuntimeException("Someone added a new cardinal direction...");
-    }
+  private static float getMargin(CSSNode node, int position) {
+    return node.style.spacing[CSSStyle.MARGIN + position];
   }
 
-  private static float getBorder(CSSNode node, PositionIndex position) {
-    switch (position) {
-      case TOP:
-        return node.style.border[Spacing.TOP];
-      case BOTTOM:
-        return node.style.border[Spacing.BOTTOM];
-      case LEFT:
-        return node.style.border[Spacing.LEFT];
-      case RIGHT:
-        return node.style.border[Spacing.RIGHT];
-      default:
-        throw new RuntimeException("Someone added a new cardinal direction...");
-    }
+  private static float getBorder(CSSNode node, int position) {
+    return node.style.spacing[CSSStyle.BORDER + position];
   }
 
-  private static float getPaddingAndBorder(CSSNode node, PositionIndex position) {
-    return getPadding(node, position) + getBorder(node, position);
+  private static float getPaddingAndBorder(CSSNode node, int position) {
+    return node.style.spacing[CSSStyle.PADDING + position] +
+        node.style.spacing[CSSStyle.BORDER + position];
   }
 
-  private static float getMarginAxis(CSSNode node, CSSFlexDirection axis) {
-    return getMargin(node, getLeading(axis)) + getMargin(node, getTrailing(axis));
+  // The sums along an axis are kept up to date by CSSStyle whenever the spacing changes
+
+  private static float getMarginAxis(CSSNode node, int axis) {
+    return node.style.spacing[CSSStyle.MARGIN_AXIS + axis];
   }
 
-  private static float getPaddingAndBorderAxis(CSSNode node, CSSFlexDirection axis) {
-    return getPaddingAndBorder(
-        node,
-        getLeading(axis)) + getPaddingAndBorder(node, getTrailing(axis));
+  private static float getPaddingAndBorderAxis(CSSNode node, int axis) {
+    return node.style.spacing[CSSStyle.PADDING_AND_BORDER_AXIS + axis];
   }
 
-  private static void setDimensionFromStyle(CSSNode node, CSSFlexDirection axis) {
+  private static void setDimensionFromStyle(CSSNode node, int axis) {
     // The parent already computed us a width or height. We just skip it
-    if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(axis)))) {
+    if (!CSSConstants.isUndefined(node.layout.dimensions[dim[axis]])) {
       return;
     }
     // We only run if there's a width or height defined
@@ -198,96 +100,418 @@ public class LayoutEngine {
     }
 
     // The dimensions can never be smaller than the padding and border
-    float maxLayoutDimension = Math.max(
-        getStyleDimension(node, getDim(axis)),
+    node.layout.dimensions[dim[axis]] = Math.max(
+        node.style.getDimension(dim[axis]),
         getPaddingAndBorderAxis(node, axis));
-    setLayoutDimension(node, getDim(axis), maxLayoutDimension);
   }
 
-  private static float getRelativePosition(CSSNode node, CSSFlexDirection axis) {
-    float lead = getStylePosition(node, getLeading(axis));
+  private static float getRelativePosition(CSSNode node, int axis) {
+    float lead = node.style.getPosition(leading[axis]);
     if (!CSSConstants.isUndefined(lead)) {
       return lead;
     }
-    return -getPosition(node, getTrailing(axis));
+    return -getPosition(node, trailing[axis]);
   }
 
   private static float getFlex(CSSNode node) {
-    return node.style.flex;
+    return node.style.getFlex();
   }
 
-  private static CSSFlexDirection getFlexDirection(CSSNode node) {
-    return node.style.flexDirection;
+  private static int getFlexDirection(CSSNode node) {
+    return node.style.getFlexDirectionOrdinal();
   }
 
   private static CSSPositionType getPositionType(CSSNode node) {
-    return node.style.positionType;
+    return node.style.getPositionType();
   }
 
   private static CSSAlign getAlignItem(CSSNode node, CSSNode child) {
-    if (child.style.alignSelf != CSSAlign.AUTO) {
-      return child.style.alignSelf;
+    if (!child.style.isAlignSelfAuto()) {
+      return child.style.getAlignSelf();
     }
-    return node.style.alignItems;
+    return node.style.getAlignItems();
   }
 
   private static CSSJustify getJustifyContent(CSSNode node) {
-    return node.style.justifyContent;
+    return node.style.getJustifyContent();
   }
 
   private static boolean isFlexWrap(CSSNode node) {
-    return node.style.flexWrap == CSSWrap.WRAP;
+    return node.style.isFlexWrap();
   }
 
   private static boolean isFlex(CSSNode node) {
-    return getPositionType(node) == CSSPositionType.RELATIVE && getFlex(node) > 0;
+    return !node.style.isPositionAbsolute() && getFlex(node) > 0;
   }
 
   private static boolean isMeasureDefined(CSSNode node) {
     return node.isMeasureDefined();
   }
 
-  private static float getDimWithMargin(CSSNode node, CSSFlexDirection axis) {
-    return getLayoutDimension(node, getDim(axis)) +
-        getMargin(node, getLeading(axis)) +
-        getMargin(node, getTrailing(axis));
+  private static float getDimWithMargin(CSSNode node, int axis) {
+    return node.layout.dimensions[dim[axis]] + getMarginAxis(node, axis);
   }
 
-  private static boolean needsRelayout(CSSNode node, float parentMaxWidth) {
-    return node.isDirty() ||
-        !FloatUtil.floatsEqual(node.lastLayout.requestedHeight, node.layout.height) ||
-        !FloatUtil.floatsEqual(node.lastLayout.requestedWidth, node.layout.width) ||
-        !FloatUtil.floatsEqual(node.lastLayout.parentMaxWidth, parentMaxWidth);
+  /**
+   * @return whether the layout of node and of its subtree can be put back as it was when entry was
+   * computed, i.e. whether each child still has the layout entry recorded for it. Nothing is changed,
+   * so that a node whose subtree can't be restored still holds the results of its current entry.
+   */
+  private static boolean canRestoreLayout(CSSNode node, CachedCSSLayout entry) {
+    // The layouts of the children of a node with a ChildProvider aren't kept, see LayoutCache
+    if (entry.childCount != node.getChildCount() || node.hasChildProvider()) {
+      return false;
+    }
+
+    float[] childLayouts = entry.childLayouts;
+    for (int i = 0; i < entry.childCount; i++) {
+      CSSNode child = node.getChildAt(i);
+      if (child.isDirty() || child.hasDirtyDescendant()) {
+        return false;
+      }
+      int offset = i * CachedCSSLayout.CHILD_LAYOUT_SIZE;
+      CachedCSSLayout childEntry = child.layoutCache.find(
+          childLayouts[offset],
+          childLayouts[offset + 1],
+          childLayouts[offset + 2]);
+      if (childEntry == null ||
+          (childEntry != child.layoutCache.getCurrent() && !canRestoreLayout(child, childEntry))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Puts back the layout of node and of its subtree as it was when entry was computed, which
+   * {@link #canRestoreLayout(CSSNode, CachedCSSLayout)} must have allowed. Each child is restored
+   * from its own {@link LayoutCache}, entries that are already current are left as they are.
+   */
+  private static void restoreLayout(CSSNode node, CachedCSSLayout entry) {
+    float[] childLayouts = entry.childLayouts;
+    for (int i = 0; i < entry.childCount; i++) {
+      CSSNode child = node.getChildAt(i);
+      child.inheritChangeList();
+      int offset = i * CachedCSSLayout.CHILD_LAYOUT_SIZE;
+      CachedCSSLayout childEntry = Assertions.assertNotNull(child.layoutCache.find(
+          childLayouts[offset],
+          childLayouts[offset + 1],
+          childLayouts[offset + 2]));
+      if (childEntry != child.layoutCache.getCurrent()) {
+        restoreLayout(child, childEntry);
+        child.layoutCache.makeCurrent(childEntry);
+      }
+      child.layout.position[POSITION_LEFT] = childLayouts[offset + 3];
+      child.layout.position[POSITION_TOP] = childLayouts[offset + 4];
+      child.layout.dimensions[DIMENSION_WIDTH] = childLayouts[offset + 5];
+      child.layout.dimensions[DIMENSION_HEIGHT] = childLayouts[offset + 6];
+      child.markHasNewLayout();
+    }
+    node.layout.copy(entry);
+  }
+
+  /**
+   * @return the number of nodes in the subtree of node, counting stops once limit is reached.
+   */
+  private static int countNodes(CSSNode node, int limit) {
+    int count = 1;
+    for (int i = 0; i < node.getChildCount() && count < limit; i++) {
+      count += countNodes(getChildAt(node, i), limit - count);
+    }
+    return count;
+  }
+
+  /**
+   * When running in a {@link ParallelLayoutTask}, lays out in parallel the children that <Loop A>
+   * is about to lay out. Their dimensions have been pre-filled at this point and <Loop A> gives them
+   * all the same max width, so the layout of each of them is already fully determined. The layouts
+   * end up in the {@link LayoutCache} of the children and the children are put back as they were,
+   * so <Loop A> finds them there, which keeps the results identical to a sequential layout.
+   */
+  private static void layoutChildrenInParallel(CSSNode node, float parentMaxWidth, int mainAxis) {
+    // Children of a virtualized node are mostly not laid out at all
+    if (node.getChildCount() < 2 || node.getViewport() != null) {
+      return;
+    }
+    ParallelLayoutTask currentTask = ParallelLayoutTask.getCurrentTask();
+    if (currentTask == null) {
+      return;
+    }
+
+    // Same max width as in <Loop A>
+    float maxWidth = CSSConstants.UNDEFINED;
+    if (mainAxis != CSS_FLEX_DIRECTION_ROW) {
+      maxWidth = parentMaxWidth -
+          getMarginAxis(node, CSS_FLEX_DIRECTION_ROW) -
+          getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+      if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+        maxWidth = node.layout.dimensions[DIMENSION_WIDTH] -
+            getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+      }
+    }
+
+    boolean isMainDimDefined = !CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]]);
+    int minSubtreeSize = currentTask.getMinSubtreeSize();
+    ArrayList<ParallelLayoutTask> tasks = null;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = getChildAt(node, i);
+      // Flexible children are laid out in <Loop B>, once the remaining space is known
+      if ((isMainDimDefined && isFlex(child)) ||
+          (!child.isDirty() && child.layoutCache.isCurrent(
+              child.layout.dimensions[DIMENSION_WIDTH],
+              child.layout.dimensions[DIMENSION_HEIGHT],
+              maxWidth)) ||
+          countNodes(child, minSubtreeSize) < minSubtreeSize) {
+        continue;
+      }
+      if (tasks == null) {
+        tasks = new ArrayList<ParallelLayoutTask>();
+      }
+      tasks.add(new ParallelLayoutTask(child, maxWidth, minSubtreeSize));
+    }
+
+    if (tasks != null && tasks.size() > 1) {
+      ForkJoinTask.invokeAll(tasks);
+      for (int i = 0; i < tasks.size(); i++) {
+        tasks.get(i).resetToRequestedLayout();
+      }
+    }
+  }
+
+  /**
+   * Lays out again the children of node that are position dirty or have position dirty descendants.
+   * Their size hasn't changed, so node keeps its layout and they keep the position and size node
+   * gave them, only their subtree is updated.
+   */
+  private static void layoutDirtyDescendants(CSSNode node) {
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child == null || (!child.isDirty() && !child.hasDirtyDescendant())) {
+        continue;
+      }
+
+      float x = child.layout.position[POSITION_LEFT];
+      float y = child.layout.position[POSITION_TOP];
+      float width = child.layout.dimensions[DIMENSION_WIDTH];
+      float height = child.layout.dimensions[DIMENSION_HEIGHT];
+
+      // Lay the child out under the same conditions as last time
+      CachedCSSLayout current = Assertions.assertNotNull(child.layoutCache.getCurrent());
+      child.layout.resetResult();
+      child.layout.dimensions[DIMENSION_WIDTH] = current.requestedWidth;
+      child.layout.dimensions[DIMENSION_HEIGHT] = current.requestedHeight;
+      layoutNode(child, current.parentMaxWidth);
+
+      child.layout.position[POSITION_LEFT] = x;
+      child.layout.position[POSITION_TOP] = y;
+      child.layout.dimensions[DIMENSION_WIDTH] = width;
+      child.layout.dimensions[DIMENSION_HEIGHT] = height;
+    }
+  }
+
+  /**
+   * Called by <Loop A> for each non flexible child, before laying it out. When node has a viewport
+   * and child is far from it, child is given the size it currently has if it is still valid, or else
+   * its style dimensions, or else the estimated child size of the viewport, and isn't laid out. Its
+   * subtree and its layout state are left untouched. See {@link CSSNode#setViewport(float, float,
+   * float)}.
+   *
+   * @param mainContentDim the space taken along the main axis by the children before child
+   * @return whether child was given a size, <Loop A> must then not lay it out.
+   */
+  private static boolean estimateOutsideViewport(
+      CSSNode node,
+      CSSNode child,
+      int mainAxis,
+      float maxWidth,
+      float mainContentDim) {
+    Viewport viewport = node.getViewport();
+    if (viewport == null ||
+        isFlexWrap(node) ||
+        getPositionType(child) != CSSPositionType.RELATIVE) {
+      return false;
+    }
+    boolean isPlaceholder = node.hasChildProvider() && child == node.getPlaceholderChild();
+
+    boolean isCurrent = !child.isDirty() && !child.hasDirtyDescendant() &&
+        child.layoutCache.isCurrent(
+            child.layout.dimensions[DIMENSION_WIDTH],
+            child.layout.dimensions[DIMENSION_HEIGHT],
+            maxWidth);
+    float mainDim;
+    if (isCurrent) {
+      mainDim = Assertions.assertNotNull(child.layoutCache.getCurrent()).dimensions[dim[mainAxis]];
+    } else if (!CSSConstants.isUndefined(child.layout.dimensions[dim[mainAxis]])) {
+      mainDim = child.layout.dimensions[dim[mainAxis]];
+    } else if (isDimDefined(child, mainAxis)) {
+      mainDim = Math.max(
+          child.style.getDimension(dim[mainAxis]),
+          getPaddingAndBorderAxis(child, mainAxis));
+    } else {
+      mainDim = Math.max(viewport.estimatedChildSize, getPaddingAndBorderAxis(child, mainAxis));
+    }
+
+    // A placeholder has to be estimated even if it's near, materializeChildren() left it for being
+    // far from the viewport with the sizes of the previous layout
+    float start = getPaddingAndBorder(node, leading[mainAxis]) + mainContentDim;
+    if (!isPlaceholder &&
+        viewport.isNear(start, start + mainDim + getMarginAxis(child, mainAxis))) {
+      return false;
+    }
+
+    // The child isn't laid out but can still move or change size
+    LayoutChangeList changes = node.getChangeList();
+    if (changes != null && !isPlaceholder) {
+      changes.add(child);
+    }
+
+    if (isCurrent) {
+      child.layout.copy(Assertions.assertNotNull(child.layoutCache.getCurrent()));
+      return true;
+    }
+
+    // Same as the beginning of layoutNodeImpl() with the estimated size
+    int crossAxis = mainAxis == CSS_FLEX_DIRECTION_ROW ?
+        CSS_FLEX_DIRECTION_COLUMN :
+        CSS_FLEX_DIRECTION_ROW;
+    setDimensionFromStyle(child, crossAxis);
+    child.layout.dimensions[dim[mainAxis]] = mainDim;
+    if (CSSConstants.isUndefined(child.layout.dimensions[dim[crossAxis]])) {
+      child.layout.dimensions[dim[crossAxis]] = getPaddingAndBorderAxis(child, crossAxis);
+    }
+    child.layout.position[leading[mainAxis]] +=
+        getMargin(child, leading[mainAxis]) + getRelativePosition(child, mainAxis);
+    child.layout.position[leading[crossAxis]] +=
+        getMargin(child, leading[crossAxis]) + getRelativePosition(child, crossAxis);
+    return true;
+  }
+
+  /**
+   * The child at index i of node for the layout. With a {@link CSSNode.ChildProvider}, children that
+   * don't exist are replaced by the placeholder child of node, see {@link #materializeChildren}.
+   */
+  private static CSSNode getChildAt(CSSNode node, int i) {
+    CSSNode child = node.getMaterializedChildAt(i);
+    return child != null ? child : node.getPlaceholderChild();
+  }
+
+  /**
+   * Creates the children of a node with a {@link CSSNode.ChildProvider} that its layout will need.
+   * That's all of them unless node has a viewport, in which case only the ones near the viewport are
+   * created, using the same offsets as {@link #estimateOutsideViewport}, and the others are left to
+   * the placeholder child. Children far from the viewport are evicted if too many exist.
+   */
+  private static void materializeChildren(CSSNode node) {
+    if (!node.hasChildProvider()) {
+      return;
+    }
+    Viewport viewport = node.getViewport();
+    if (viewport == null || isFlexWrap(node)) {
+      for (int i = 0; i < node.getChildCount(); i++) {
+        node.materializeChildForLayout(i);
+      }
+      return;
+    }
+
+    updateMaterializedChildren(node, viewport, true);
+    if (node.getMaterializedChildCount() > node.getMaxMaterializedChildCount()) {
+      // Children far from the viewport and before the ones that were just created can be evicted now
+      updateMaterializedChildren(node, viewport, false);
+    }
+  }
+
+  private static void updateMaterializedChildren(
+      CSSNode node,
+      Viewport viewport,
+      boolean materialize) {
+    int mainAxis = getFlexDirection(node);
+    float start = getPaddingAndBorder(node, leading[mainAxis]);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      float mainDim = viewport.estimatedChildSize;
+      if (child != null) {
+        if (getPositionType(child) != CSSPositionType.RELATIVE) {
+          continue;
+        }
+        if (!CSSConstants.isUndefined(child.layout.dimensions[dim[mainAxis]])) {
+          mainDim = child.layout.dimensions[dim[mainAxis]];
+        }
+        mainDim += getMarginAxis(child, mainAxis);
+      }
+      if (!viewport.isNear(start, start + mainDim)) {
+        node.evictChildIfFull(i);
+      } else if (materialize) {
+        node.materializeChildForLayout(i);
+      }
+      start += mainDim;
+    }
   }
 
   /*package*/ static void layoutNode(CSSNode node, float parentMaxWidth) {
-    if (needsRelayout(node, parentMaxWidth)) {
-      node.lastLayout.requestedWidth = node.layout.width;
-      node.lastLayout.requestedHeight = node.layout.height;
-      node.lastLayout.parentMaxWidth = parentMaxWidth;
+    node.inheritChangeList();
+    float requestedWidth = node.layout.dimensions[DIMENSION_WIDTH];
+    float requestedHeight = node.layout.dimensions[DIMENSION_HEIGHT];
+
+    CachedCSSLayout current = node.layoutCache.getCurrent();
+    CachedCSSLayout cachedLayout = null;
+    if (node.isDirty()) {
+      node.layoutCache.clear();
+    } else {
+      cachedLayout = node.layoutCache.find(requestedWidth, requestedHeight, parentMaxWidth);
+    }
 
-      layoutNodeImpl(node, parentMaxWidth);
-      node.lastLayout.copy(node.layout);
+    if (cachedLayout == current && cachedLayout != null) {
+      // The subtree still holds this layout
+      node.layout.copy(cachedLayout);
+      if (node.hasDirtyDescendant()) {
+        layoutDirtyDescendants(node);
+      }
+    } else if (cachedLayout != null && canRestoreLayout(node, cachedLayout)) {
+      restoreLayout(node, cachedLayout);
+      node.layoutCache.makeCurrent(cachedLayout);
     } else {
-      node.layout.copy(node.lastLayout);
+      layoutNodeImpl(node, parentMaxWidth);
+      node.layoutCache.put(node, requestedWidth, requestedHeight, parentMaxWidth);
     }
 
     node.markHasNewLayout();
   }
 
+  /**
+   * Same as {@link #layoutBatch(List, Executor, BatchCallback)} without a callback.
+   */
+  public static void layoutBatch(List<CSSNode> roots, Executor executor) {
+    layoutBatch(roots, executor, null);
+  }
+
+  /**
+   * Calls {@link CSSNode#calculateLayout()} on each of roots and returns once all of them are laid
+   * out. Up to one worker per available processor takes the roots in turn: the calling thread runs
+   * one worker and executor runs the others. The roots must not share nodes. If callback isn't
+   * null, it is told about each root as soon as it is laid out. The first exception thrown by a
+   * layout or by callback is rethrown once the workers have stopped.
+   */
+  public static void layoutBatch(
+      List<CSSNode> roots,
+      Executor executor,
+      @Nullable BatchCallback callback) {
+    new BatchLayout(roots, callback, Runtime.getRuntime().availableProcessors()).execute(executor);
+  }
+
   private static void layoutNodeImpl(CSSNode node, float parentMaxWidth) {
 
+    materializeChildren(node);
     for (int i = 0; i < node.getChildCount(); i++) {
-      node.getChildAt(i).layout.resetResult();
+      getChildAt(node, i).layout.resetResult();
     }
 
     /** START_GENERATED **/
   
   
-    CSSFlexDirection mainAxis = getFlexDirection(node);
-    CSSFlexDirection crossAxis = mainAxis == CSSFlexDirection.ROW ?
-      CSSFlexDirection.COLUMN :
-      CSSFlexDirection.ROW;
+    int mainAxis = getFlexDirection(node);
+    int crossAxis = mainAxis == CSS_FLEX_DIRECTION_ROW ?
+      CSS_FLEX_DIRECTION_COLUMN :
+      CSS_FLEX_DIRECTION_ROW;
   
     // Handle width and height style attributes
     setDimensionFromStyle(node, mainAxis);
@@ -295,30 +519,30 @@ public class LayoutEngine {
   
     // The position is set by the parent, but we need to complete it with a
     // delta composed of the margin and left/top/right/bottom
-    setLayoutPosition(node, getLeading(mainAxis), getLayoutPosition(node, getLeading(mainAxis)) + getMargin(node, getLeading(mainAxis)) +
-      getRelativePosition(node, mainAxis));
-    setLayoutPosition(node, getLeading(crossAxis), getLayoutPosition(node, getLeading(crossAxis)) + getMargin(node, getLeading(crossAxis)) +
-      getRelativePosition(node, crossAxis));
+    node.layout.position[leading[mainAxis]] = node.layout.position[leading[mainAxis]] + getMargin(node, leading[mainAxis]) +
+      getRelativePosition(node, mainAxis);
+    node.layout.position[leading[crossAxis]] = node.layout.position[leading[crossAxis]] + getMargin(node, leading[crossAxis]) +
+      getRelativePosition(node, crossAxis);
   
     if (isMeasureDefined(node)) {
       float width = CSSConstants.UNDEFINED;
-      if (isDimDefined(node, CSSFlexDirection.ROW)) {
-        width = node.style.width;
-      } else if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(CSSFlexDirection.ROW)))) {
-        width = getLayoutDimension(node, getDim(CSSFlexDirection.ROW));
+      if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+        width = node.style.getDimension(DIMENSION_WIDTH);
+      } else if (!CSSConstants.isUndefined(node.layout.dimensions[dim[CSS_FLEX_DIRECTION_ROW]])) {
+        width = node.layout.dimensions[dim[CSS_FLEX_DIRECTION_ROW]];
       } else {
         width = parentMaxWidth -
-          getMarginAxis(node, CSSFlexDirection.ROW);
+          getMarginAxis(node, CSS_FLEX_DIRECTION_ROW);
       }
-      width -= getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
+      width -= getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
   
       // We only need to give a dimension for the text if we haven't got any
       // for it computed yet. It can either be from the style attribute or because
       // the element is flexible.
-      boolean isRowUndefined = !isDimDefined(node, CSSFlexDirection.ROW) &&
-        CSSConstants.isUndefined(getLayoutDimension(node, getDim(CSSFlexDirection.ROW)));
-      boolean isColumnUndefined = !isDimDefined(node, CSSFlexDirection.COLUMN) &&
-        CSSConstants.isUndefined(getLayoutDimension(node, getDim(CSSFlexDirection.COLUMN)));
+      boolean isRowUndefined = !isDimDefined(node, CSS_FLEX_DIRECTION_ROW) &&
+        CSSConstants.isUndefined(node.layout.dimensions[dim[CSS_FLEX_DIRECTION_ROW]]);
+      boolean isColumnUndefined = !isDimDefined(node, CSS_FLEX_DIRECTION_COLUMN) &&
+        CSSConstants.isUndefined(node.layout.dimensions[dim[CSS_FLEX_DIRECTION_COLUMN]]);
   
       // Let's not measure the text if we already know both dimensions
       if (isRowUndefined || isColumnUndefined) {
@@ -326,12 +550,12 @@ public class LayoutEngine {
                     width
         );
         if (isRowUndefined) {
-          node.layout.width = measureDim.width +
-            getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
+          node.layout.dimensions[DIMENSION_WIDTH] = measureDim.width +
+            getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
         }
         if (isColumnUndefined) {
-          node.layout.height = measureDim.height +
-            getPaddingAndBorderAxis(node, CSSFlexDirection.COLUMN);
+          node.layout.dimensions[DIMENSION_HEIGHT] = measureDim.height +
+            getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_COLUMN);
         }
       }
       return;
@@ -340,50 +564,52 @@ public class LayoutEngine {
     int i;
     int ii;
     CSSNode child;
-    CSSFlexDirection axis;
+    int axis;
   
     // Pre-fill some dimensions straight from the parent
     for (i = 0; i < node.getChildCount(); ++i) {
-      child = node.getChildAt(i);
+      child = getChildAt(node, i);
       // Pre-fill cross axis dimensions when the child is using stretch before
       // we call the recursive layout pass
       if (getAlignItem(node, child) == CSSAlign.STRETCH &&
           getPositionType(child) == CSSPositionType.RELATIVE &&
-          !CSSConstants.isUndefined(getLayoutDimension(node, getDim(crossAxis))) &&
+          !CSSConstants.isUndefined(node.layout.dimensions[dim[crossAxis]]) &&
           !isDimDefined(child, crossAxis)) {
-        setLayoutDimension(child, getDim(crossAxis), Math.max(
-          getLayoutDimension(node, getDim(crossAxis)) -
+        child.layout.dimensions[dim[crossAxis]] = Math.max(
+          node.layout.dimensions[dim[crossAxis]] -
             getPaddingAndBorderAxis(node, crossAxis) -
             getMarginAxis(child, crossAxis),
           // You never want to go smaller than padding
           getPaddingAndBorderAxis(child, crossAxis)
-        ));
+        );
       } else if (getPositionType(child) == CSSPositionType.ABSOLUTE) {
         // Pre-fill dimensions when using absolute position and both offsets for the axis are defined (either both
         // left and right or top and bottom).
         for (ii = 0; ii < 2; ii++) {
-          axis = (ii != 0) ? CSSFlexDirection.ROW : CSSFlexDirection.COLUMN;
-          if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(axis))) &&
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (!CSSConstants.isUndefined(node.layout.dimensions[dim[axis]]) &&
               !isDimDefined(child, axis) &&
-              isPosDefined(child, getLeading(axis)) &&
-              isPosDefined(child, getTrailing(axis))) {
-            setLayoutDimension(child, getDim(axis), Math.max(
-              getLayoutDimension(node, getDim(axis)) -
+              isPosDefined(child, leading[axis]) &&
+              isPosDefined(child, trailing[axis])) {
+            child.layout.dimensions[dim[axis]] = Math.max(
+              node.layout.dimensions[dim[axis]] -
               getPaddingAndBorderAxis(node, axis) -
               getMarginAxis(child, axis) -
-              getPosition(child, getLeading(axis)) -
-              getPosition(child, getTrailing(axis)),
+              getPosition(child, leading[axis]) -
+              getPosition(child, trailing[axis]),
               // You never want to go smaller than padding
               getPaddingAndBorderAxis(child, axis)
-            ));
+            );
           }
         }
       }
     }
   
+    layoutChildrenInParallel(node, parentMaxWidth, mainAxis);
+  
     float definedMainDim = CSSConstants.UNDEFINED;
-    if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(mainAxis)))) {
-      definedMainDim = getLayoutDimension(node, getDim(mainAxis)) -
+    if (!CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]])) {
+      definedMainDim = node.layout.dimensions[dim[mainAxis]] -
           getPaddingAndBorderAxis(node, mainAxis);
     }
   
@@ -412,12 +638,12 @@ public class LayoutEngine {
   
       float maxWidth;
       for (i = startLine; i < node.getChildCount(); ++i) {
-        child = node.getChildAt(i);
+        child = getChildAt(node, i);
         float nextContentDim = 0;
   
         // It only makes sense to consider a child flexible if we have a computed
         // dimension for the node.
-        if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(mainAxis))) && isFlex(child)) {
+        if (!CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]]) && isFlex(child)) {
           flexibleChildrenCount++;
           totalFlexible = totalFlexible + getFlex(child);
   
@@ -429,19 +655,19 @@ public class LayoutEngine {
   
         } else {
           maxWidth = CSSConstants.UNDEFINED;
-          if (mainAxis != CSSFlexDirection.ROW) {
+          if (mainAxis != CSS_FLEX_DIRECTION_ROW) {
             maxWidth = parentMaxWidth -
-              getMarginAxis(node, CSSFlexDirection.ROW) -
-              getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
+              getMarginAxis(node, CSS_FLEX_DIRECTION_ROW) -
+              getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
   
-            if (isDimDefined(node, CSSFlexDirection.ROW)) {
-              maxWidth = getLayoutDimension(node, getDim(CSSFlexDirection.ROW)) -
-                getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
+            if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+              maxWidth = node.layout.dimensions[dim[CSS_FLEX_DIRECTION_ROW]] -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
             }
           }
   
           // This is the main recursive call. We layout non flexible children.
-          if (alreadyComputedNextLayout == 0) {
+          if (alreadyComputedNextLayout == 0 && !estimateOutsideViewport(node, child, mainAxis, maxWidth, mainContentDim)) {
             layoutNode(child, maxWidth);
           }
   
@@ -456,7 +682,7 @@ public class LayoutEngine {
   
         // The element we are about to add would make us go to the next line
         if (isFlexWrap(node) &&
-            !CSSConstants.isUndefined(getLayoutDimension(node, getDim(mainAxis))) &&
+            !CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]]) &&
             mainContentDim + nextContentDim > definedMainDim &&
             // If there's only one element, then it's bigger than the content
             // and needs its own line
@@ -479,7 +705,7 @@ public class LayoutEngine {
   
       // The remaining available space that needs to be allocated
       float remainingMainDim = 0;
-      if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(mainAxis)))) {
+      if (!CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]])) {
         remainingMainDim = definedMainDim - mainContentDim;
       } else {
         remainingMainDim = Math.max(mainContentDim, 0) - mainContentDim;
@@ -499,21 +725,21 @@ public class LayoutEngine {
         // children. This is faster than actually allocating a new array that
         // contains only flexible children.
         for (i = startLine; i < endLine; ++i) {
-          child = node.getChildAt(i);
+          child = getChildAt(node, i);
           if (isFlex(child)) {
             // At this point we know the final size of the element in the main
             // dimension
-            setLayoutDimension(child, getDim(mainAxis), flexibleMainDim * getFlex(child) +
-              getPaddingAndBorderAxis(child, mainAxis));
+            child.layout.dimensions[dim[mainAxis]] = flexibleMainDim * getFlex(child) +
+              getPaddingAndBorderAxis(child, mainAxis);
   
             maxWidth = CSSConstants.UNDEFINED;
-            if (isDimDefined(node, CSSFlexDirection.ROW)) {
-              maxWidth = getLayoutDimension(node, getDim(CSSFlexDirection.ROW)) -
-                getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
-            } else if (mainAxis != CSSFlexDirection.ROW) {
+            if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+              maxWidth = node.layout.dimensions[dim[CSS_FLEX_DIRECTION_ROW]] -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+            } else if (mainAxis != CSS_FLEX_DIRECTION_ROW) {
               maxWidth = parentMaxWidth -
-                getMarginAxis(node, CSSFlexDirection.ROW) -
-                getPaddingAndBorderAxis(node, CSSFlexDirection.ROW);
+                getMarginAxis(node, CSS_FLEX_DIRECTION_ROW) -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
             }
   
             // And we recursively call the layout algorithm for this child
@@ -553,23 +779,23 @@ public class LayoutEngine {
       // container!
       float crossDim = 0;
       float mainDim = leadingMainDim +
-        getPaddingAndBorder(node, getLeading(mainAxis));
+        getPaddingAndBorder(node, leading[mainAxis]);
   
       for (i = startLine; i < endLine; ++i) {
-        child = node.getChildAt(i);
+        child = getChildAt(node, i);
   
         if (getPositionType(child) == CSSPositionType.ABSOLUTE &&
-            isPosDefined(child, getLeading(mainAxis))) {
+            isPosDefined(child, leading[mainAxis])) {
           // In case the child is position absolute and has left/top being
           // defined, we override the position to whatever the user said
           // (and margin/border).
-          setLayoutPosition(child, getPos(mainAxis), getPosition(child, getLeading(mainAxis)) +
-            getBorder(node, getLeading(mainAxis)) +
-            getMargin(child, getLeading(mainAxis)));
+          child.layout.position[pos[mainAxis]] = getPosition(child, leading[mainAxis]) +
+            getBorder(node, leading[mainAxis]) +
+            getMargin(child, leading[mainAxis]);
         } else {
           // If the child is position absolute (without top/left) or relative,
           // we put it at the current accumulated offset.
-          setLayoutPosition(child, getPos(mainAxis), getLayoutPosition(child, getPos(mainAxis)) + mainDim);
+          child.layout.position[pos[mainAxis]] = child.layout.position[pos[mainAxis]] + mainDim;
         }
   
         // Now that we placed the element, we need to update the variables
@@ -585,21 +811,21 @@ public class LayoutEngine {
         }
       }
   
-      float containerMainAxis = getLayoutDimension(node, getDim(mainAxis));
+      float containerMainAxis = node.layout.dimensions[dim[mainAxis]];
       // If the user didn't specify a width or height, and it has not been set
       // by the container, then we set it via the children.
       if (CSSConstants.isUndefined(containerMainAxis)) {
         containerMainAxis = Math.max(
           // We're missing the last padding at this point to get the final
           // dimension
-          mainDim + getPaddingAndBorder(node, getTrailing(mainAxis)),
+          mainDim + getPaddingAndBorder(node, trailing[mainAxis]),
           // We can never assign a width smaller than the padding and borders
           getPaddingAndBorderAxis(node, mainAxis)
         );
       }
   
-      float containerCrossAxis = getLayoutDimension(node, getDim(crossAxis));
-      if (CSSConstants.isUndefined(getLayoutDimension(node, getDim(crossAxis)))) {
+      float containerCrossAxis = node.layout.dimensions[dim[crossAxis]];
+      if (CSSConstants.isUndefined(node.layout.dimensions[dim[crossAxis]])) {
         containerCrossAxis = Math.max(
           // For the cross dim, we add both sides at the end because the value
           // is aggregate via a max function. Intermediate negative values
@@ -612,19 +838,19 @@ public class LayoutEngine {
       // <Loop D> Position elements in the cross axis
   
       for (i = startLine; i < endLine; ++i) {
-        child = node.getChildAt(i);
+        child = getChildAt(node, i);
   
         if (getPositionType(child) == CSSPositionType.ABSOLUTE &&
-            isPosDefined(child, getLeading(crossAxis))) {
+            isPosDefined(child, leading[crossAxis])) {
           // In case the child is absolutely positionned and has a
           // top/left/bottom/right being set, we override all the previously
           // computed positions to set it correctly.
-          setLayoutPosition(child, getPos(crossAxis), getPosition(child, getLeading(crossAxis)) +
-            getBorder(node, getLeading(crossAxis)) +
-            getMargin(child, getLeading(crossAxis)));
+          child.layout.position[pos[crossAxis]] = getPosition(child, leading[crossAxis]) +
+            getBorder(node, leading[crossAxis]) +
+            getMargin(child, leading[crossAxis]);
   
         } else {
-          float leadingCrossDim = getPaddingAndBorder(node, getLeading(crossAxis));
+          float leadingCrossDim = getPaddingAndBorder(node, leading[crossAxis]);
   
           // For a relative children, we're either using alignItems (parent) or
           // alignSelf (child) in order to determine the position in the cross axis
@@ -634,13 +860,13 @@ public class LayoutEngine {
               // You can only stretch if the dimension has not already been set
               // previously.
               if (!isDimDefined(child, crossAxis)) {
-                setLayoutDimension(child, getDim(crossAxis), Math.max(
+                child.layout.dimensions[dim[crossAxis]] = Math.max(
                   containerCrossAxis -
                     getPaddingAndBorderAxis(node, crossAxis) -
                     getMarginAxis(child, crossAxis),
                   // You never want to go smaller than padding
                   getPaddingAndBorderAxis(child, crossAxis)
-                ));
+                );
               }
             } else if (alignItem != CSSAlign.FLEX_START) {
               // The remaining space between the parent dimensions+padding and child
@@ -658,7 +884,7 @@ public class LayoutEngine {
           }
   
           // And we apply the position
-          setLayoutPosition(child, getPos(crossAxis), getLayoutPosition(child, getPos(crossAxis)) + linesCrossDim + leadingCrossDim);
+          child.layout.position[pos[crossAxis]] = child.layout.position[pos[crossAxis]] + linesCrossDim + leadingCrossDim;
         }
       }
   
@@ -669,57 +895,58 @@ public class LayoutEngine {
   
     // If the user didn't specify a width or height, and it has not been set
     // by the container, then we set it via the children.
-    if (CSSConstants.isUndefined(getLayoutDimension(node, getDim(mainAxis)))) {
-      setLayoutDimension(node, getDim(mainAxis), Math.max(
+    if (CSSConstants.isUndefined(node.layout.dimensions[dim[mainAxis]])) {
+      node.layout.dimensions[dim[mainAxis]] = Math.max(
         // We're missing the last padding at this point to get the final
         // dimension
-        linesMainDim + getPaddingAndBorder(node, getTrailing(mainAxis)),
+        linesMainDim + getPaddingAndBorder(node, trailing[mainAxis]),
         // We can never assign a width smaller than the padding and borders
         getPaddingAndBorderAxis(node, mainAxis)
-      ));
+      );
     }
   
-    if (CSSConstants.isUndefined(getLayoutDimension(node, getDim(crossAxis)))) {
-      setLayoutDimension(node, getDim(crossAxis), Math.max(
+    if (CSSConstants.isUndefined(node.layout.dimensions[dim[crossAxis]])) {
+      node.layout.dimensions[dim[crossAxis]] = Math.max(
         // For the cross dim, we add both sides at the end because the value
         // is aggregate via a max function. Intermediate negative values
         // can mess this computation otherwise
         linesCrossDim + getPaddingAndBorderAxis(node, crossAxis),
         getPaddingAndBorderAxis(node, crossAxis)
-      ));
+      );
     }
   
     // <Loop E> Calculate dimensions for absolutely positioned elements
   
     for (i = 0; i < node.getChildCount(); ++i) {
-      child = node.getChildAt(i);
+      child = getChildAt(node, i);
       if (getPositionType(child) == CSSPositionType.ABSOLUTE) {
         // Pre-fill dimensions when using absolute position and both offsets for the axis are defined (either both
         // left and right or top and bottom).
         for (ii = 0; ii < 2; ii++) {
-          axis = (ii != 0) ? CSSFlexDirection.ROW : CSSFlexDirection.COLUMN;
-          if (!CSSConstants.isUndefined(getLayoutDimension(node, getDim(axis))) &&
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (!CSSConstants.isUndefined(node.layout.dimensions[dim[axis]]) &&
               !isDimDefined(child, axis) &&
-              isPosDefined(child, getLeading(axis)) &&
-              isPosDefined(child, getTrailing(axis))) {
-            setLayoutDimension(child, getDim(axis), Math.max(
-              getLayoutDimension(node, getDim(axis)) -
+              isPosDefined(child, leading[axis]) &&
+              isPosDefined(child, trailing[axis])) {
+            child.layout.dimensions[dim[axis]] = Math.max(
+              node.layout.dimensions[dim[axis]] -
               getPaddingAndBorderAxis(node, axis) -
               getMarginAxis(child, axis) -
-              getPosition(child, getLeading(axis)) -
-              getPosition(child, getTrailing(axis)),
+              getPosition(child, leading[axis]) -
+              getPosition(child, trailing[axis]),
               // You never want to go smaller than padding
               getPaddingAndBorderAxis(child, axis)
-            ));
+            );
           }
         }
         for (ii = 0; ii < 2; ii++) {
-          axis = (ii != 0) ? CSSFlexDirection.ROW : CSSFlexDirection.COLUMN;
-          if (isPosDefined(child, getTrailing(axis)) &&
-              !isPosDefined(child, getLeading(axis))) {
-            setLayoutPosition(child, getLeading(axis), getLayoutDimension(node, getDim(axis)) -
-              getLayoutDimension(child, getDim(axis)) -
-              getPosition(child, getTrailing(axis)));
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (isPosDefined(child, trailing[axis]) &&
+              !isPosDefined(child, leading[axis])) {
+            child.layout.position[leading[axis]] =
+              node.layout.dimensions[dim[axis]] -
+              child.layout.dimensions[dim[axis]] -
+              getPosition(child, trailing[axis]);
           }
         }
       }
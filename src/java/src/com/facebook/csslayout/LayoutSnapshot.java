@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+/**
+ * An immutable copy of the layout of a tree of {@link CSSNode}s, taken with
+ * {@link #create(CSSNode, boolean)}. The x, y, width and height of every node are kept in one
+ * flat array, in pre-order: the root is node 0, followed by the subtree of its first child, then the
+ * subtree of its second child, and so on. The children of a {@link CSSNode.ChildProvider} that
+ * don't exist are left out rather than created.
+ *
+ * A snapshot doesn't change when the tree is laid out again, and since it is immutable it can be
+ * handed to another thread, e.g. to render a layout while the next one is being calculated.
+ */
+public final class LayoutSnapshot {
+
+  // Offsets of the values of a node in mValues
+  private static final int X = 0;
+  private static final int Y = 1;
+  private static final int WIDTH = 2;
+  private static final int HEIGHT = 3;
+  private static final int STRIDE = 4;
+
+  private final float[] mValues;
+  private final boolean mAbsolute;
+
+  private LayoutSnapshot(float[] values, boolean absolute) {
+    mValues = values;
+    mAbsolute = absolute;
+  }
+
+  /**
+   * Copies the layout of root and its descendants, which must have been laid out. Only one array
+   * is allocated whatever the size of the tree.
+   *
+   * @param absolute whether x and y should be relative to root instead of to the parent of each
+   *     node. The position of root itself is kept as is.
+   */
+  public static LayoutSnapshot create(CSSNode root, boolean absolute) {
+    float[] values = new float[countNodes(root) * STRIDE];
+    copyLayout(root, values, 0, absolute, 0, 0);
+    return new LayoutSnapshot(values, absolute);
+  }
+
+  private static int countNodes(CSSNode node) {
+    int count = 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child != null) {
+        count += countNodes(child);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the index of the node following the subtree of node in pre-order
+   */
+  private static int copyLayout(
+      CSSNode node,
+      float[] values,
+      int index,
+      boolean absolute,
+      float offsetX,
+      float offsetY) {
+    float x = node.getLayoutX() + offsetX;
+    float y = node.getLayoutY() + offsetY;
+    int offset = index * STRIDE;
+    values[offset + X] = x;
+    values[offset + Y] = y;
+    values[offset + WIDTH] = node.getLayoutWidth();
+    values[offset + HEIGHT] = node.getLayoutHeight();
+
+    // The children of root are placed relative to root, not to where root is in its own parent
+    float childOffsetX = absolute && index > 0 ? x : 0;
+    float childOffsetY = absolute && index > 0 ? y : 0;
+    int next = index + 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child != null) {
+        next = copyLayout(child, values, next, absolute, childOffsetX, childOffsetY);
+      }
+    }
+    return next;
+  }
+
+  public int getNodeCount() {
+    return mValues.length / STRIDE;
+  }
+
+  /**
+   * @return whether positions are relative to the root of the snapshot instead of to the parent.
+   */
+  public boolean isAbsolute() {
+    return mAbsolute;
+  }
+
+  public float getX(int index) {
+    return mValues[index * STRIDE + X];
+  }
+
+  public float getY(int index) {
+    return mValues[index * STRIDE + Y];
+  }
+
+  public float getWidth(int index) {
+    return mValues[index * STRIDE + WIDTH];
+  }
+
+  public float getHeight(int index) {
+    return mValues[index * STRIDE + HEIGHT];
+  }
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Answers which nodes of a laid out tree are under a point or intersect a rectangle without looking
+ * at every node. The index is a bounding volume hierarchy shaped like the tree itself: every node
+ * keeps the bounds of its whole subtree, which can be larger than the node when children overflow,
+ * so a query skips every subtree whose bounds it misses.
+ *
+ * Nodes are kept in flat arrays in pre-order, like in {@link LayoutSnapshot}, and coordinates are
+ * absolute, see {@link CSSNode#calculateAbsolutePositions()}. The children of a
+ * {@link CSSNode.ChildProvider} that don't exist aren't indexed.
+ *
+ * NB: a LayoutSpatialIndex is NOT thread safe.
+ */
+public class LayoutSpatialIndex {
+
+  // Offsets of the values of a node in mRects and mBounds
+  private static final int LEFT = 0;
+  private static final int TOP = 1;
+  private static final int RIGHT = 2;
+  private static final int BOTTOM = 3;
+  private static final int STRIDE = 4;
+
+  // Returned by update(...) when the tree doesn't have the shape the index was built for
+  private static final int TREE_CHANGED = -1;
+
+  private final CSSNode mRoot;
+  private CSSNode[] mNodes;
+  // Index of the node following the subtree of each node
+  private int[] mSubtreeEnds;
+  // Area taken by each node
+  private float[] mRects;
+  // Area taken by each node and its descendants
+  private float[] mBounds;
+  private int mNodeCount;
+  private int mChangeCount;
+
+  /**
+   * Indexes root and its descendants, which must have been laid out.
+   */
+  public LayoutSpatialIndex(CSSNode root) {
+    mRoot = root;
+    rebuild();
+  }
+
+  /**
+   * Brings the index up to date with the last layout, without allocating. Only the nodes that
+   * {@link CSSNode#hasNewLayout()} reports are visited, along with the descendants of the ones that
+   * moved, so the subtrees the layout left alone are skipped. It must therefore be called before
+   * {@link CSSNode#markLayoutSeen()}. With {@link CSSNode#setOnlyMarkChangedLayouts(boolean)}, only
+   * the nodes whose layout changed and their ancestors are visited. If nodes were added, removed or
+   * moved to another parent since the last update, the index is built again from scratch.
+   */
+  public void update() {
+    if (update(mRoot, 0, 0, 0, false) != mNodeCount) {
+      rebuild();
+    }
+  }
+
+  private void rebuild() {
+    mNodeCount = countNodes(mRoot);
+    mNodes = new CSSNode[mNodeCount];
+    mSubtreeEnds = new int[mNodeCount];
+    mRects = new float[mNodeCount * STRIDE];
+    mBounds = new float[mNodeCount * STRIDE];
+    build(mRoot, 0, 0, 0);
+  }
+
+  private static int countNodes(CSSNode node) {
+    int count = 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child != null) {
+        count += countNodes(child);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the index of the node following the subtree of node
+   */
+  private int build(CSSNode node, int index, float parentLeft, float parentTop) {
+    mNodes[index] = node;
+    setRect(node, index, parentLeft, parentTop);
+    int offset = index * STRIDE;
+    int next = index + 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child != null) {
+        next = build(child, next, mRects[offset + LEFT], mRects[offset + TOP]);
+      }
+    }
+    mSubtreeEnds[index] = next;
+    updateBounds(index);
+    return next;
+  }
+
+  /**
+   * @param parentMoved whether the parent of node moved since the last update, which moves node
+   *     even if it doesn't have a new layout.
+   * @return the index of the node following the subtree of node, or {@link #TREE_CHANGED}
+   */
+  private int update(
+      CSSNode node,
+      int index,
+      float parentLeft,
+      float parentTop,
+      boolean parentMoved) {
+    if (index >= mNodeCount || mNodes[index] != node) {
+      return TREE_CHANGED;
+    }
+    if (!parentMoved && !node.hasNewLayout()) {
+      // The layout didn't change anything in this subtree, children are only added or removed
+      // along with a new layout for their parent
+      return mSubtreeEnds[index];
+    }
+    int changeCount = mChangeCount;
+    int offset = index * STRIDE;
+    boolean moved = mRects[offset + LEFT] != parentLeft + node.getLayoutX() ||
+        mRects[offset + TOP] != parentTop + node.getLayoutY();
+    if (moved ||
+        mRects[offset + RIGHT] - mRects[offset + LEFT] != node.getLayoutWidth() ||
+        mRects[offset + BOTTOM] - mRects[offset + TOP] != node.getLayoutHeight()) {
+      setRect(node, index, parentLeft, parentTop);
+      mChangeCount++;
+    }
+    int next = index + 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      CSSNode child = node.getMaterializedChildAt(i);
+      if (child == null) {
+        continue;
+      }
+      next = update(child, next, mRects[offset + LEFT], mRects[offset + TOP], moved);
+      if (next == TREE_CHANGED) {
+        return TREE_CHANGED;
+      }
+    }
+    if (next != mSubtreeEnds[index]) {
+      return TREE_CHANGED;
+    }
+    if (mChangeCount != changeCount) {
+      updateBounds(index);
+    }
+    return next;
+  }
+
+  private void setRect(CSSNode node, int index, float parentLeft, float parentTop) {
+    int offset = index * STRIDE;
+    float left = parentLeft + node.getLayoutX();
+    float top = parentTop + node.getLayoutY();
+    mRects[offset + LEFT] = left;
+    mRects[offset + TOP] = top;
+    mRects[offset + RIGHT] = left + node.getLayoutWidth();
+    mRects[offset + BOTTOM] = top + node.getLayoutHeight();
+  }
+
+  /**
+   * Sets the bounds of the subtree of the node at index from its rect and the bounds of its
+   * children, which must be up to date.
+   */
+  private void updateBounds(int index) {
+    int offset = index * STRIDE;
+    float left = mRects[offset + LEFT];
+    float top = mRects[offset + TOP];
+    float right = mRects[offset + RIGHT];
+    float bottom = mRects[offset + BOTTOM];
+    int child = index + 1;
+    while (child < mSubtreeEnds[index]) {
+      int childOffset = child * STRIDE;
+      left = Math.min(left, mBounds[childOffset + LEFT]);
+      top = Math.min(top, mBounds[childOffset + TOP]);
+      right = Math.max(right, mBounds[childOffset + RIGHT]);
+      bottom = Math.max(bottom, mBounds[childOffset + BOTTOM]);
+      child = mSubtreeEnds[child];
+    }
+    mBounds[offset + LEFT] = left;
+    mBounds[offset + TOP] = top;
+    mBounds[offset + RIGHT] = right;
+    mBounds[offset + BOTTOM] = bottom;
+  }
+
+  private static boolean contains(float[] rects, int index, float x, float y) {
+    int offset = index * STRIDE;
+    return x >= rects[offset + LEFT] && x < rects[offset + RIGHT] &&
+        y >= rects[offset + TOP] && y < rects[offset + BOTTOM];
+  }
+
+  private static boolean intersects(
+      float[] rects,
+      int index,
+      float left,
+      float top,
+      float right,
+      float bottom) {
+    int offset = index * STRIDE;
+    return left < rects[offset + RIGHT] && right > rects[offset + LEFT] &&
+        top < rects[offset + BOTTOM] && bottom > rects[offset + TOP];
+  }
+
+  /**
+   * @return the topmost node under the given point, i.e. the last one in pre-order since children
+   *     are drawn over their parent and later siblings over earlier ones, or null if there is none.
+   */
+  public @Nullable CSSNode hitTest(float x, float y) {
+    int hit = -1;
+    int index = 0;
+    while (index < mNodeCount) {
+      if (!contains(mBounds, index, x, y)) {
+        index = mSubtreeEnds[index];
+        continue;
+      }
+      if (contains(mRects, index, x, y)) {
+        hit = index;
+      }
+      index++;
+    }
+    return hit == -1 ? null : mNodes[hit];
+  }
+
+  /**
+   * Adds the nodes intersecting the given rectangle to result, in pre-order.
+   */
+  public void query(float left, float top, float right, float bottom, List<CSSNode> result) {
+    int index = 0;
+    while (index < mNodeCount) {
+      if (!intersects(mBounds, index, left, top, right, bottom)) {
+        index = mSubtreeEnds[index];
+        continue;
+      }
+      if (intersects(mRects, index, left, top, right, bottom)) {
+        result.add(mNodes[index]);
+      }
+      index++;
+    }
+  }
+
+  public int getNodeCount() {
+    return mNodeCount;
+  }
+}
@@ -0,0 +1,1174 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A tree of nodes laid out with the same algorithm as {@link LayoutEngine}, for documents too large
+ * to have a {@link CSSNode} per node. Instead of a dozen objects per node, the style, the layout and
+ * the topology of all the nodes are stored in flat primitive arrays and a node is an int handle
+ * into them, returned by {@link #createNode()}. Children are linked through first child and next
+ * sibling handles. Handles are never reused, a node removed from its parent can be added again
+ * elsewhere.
+ *
+ * The setters and getters mirror the ones of {@link CSSNode}, with the node as first argument.
+ *
+ * NB: a LayoutTree is NOT thread safe.
+ */
+public class LayoutTree {
+
+  /**
+   * Returned instead of a handle when there is no such node, e.g. for the parent of a root.
+   */
+  public static final int NO_NODE = -1;
+
+  public static interface MeasureFunction {
+
+    /**
+     * Should measure the given node and put the result in the given MeasureOutput.
+     */
+    public void measure(LayoutTree tree, int node, float width, MeasureOutput measureOutput);
+  }
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private static final int CSS_FLEX_DIRECTION_COLUMN = CSSFlexDirection.COLUMN.ordinal();
+  private static final int CSS_FLEX_DIRECTION_ROW = CSSFlexDirection.ROW.ordinal();
+
+  private static final int POSITION_LEFT = CSSLayout.POSITION_LEFT;
+  private static final int POSITION_TOP = CSSLayout.POSITION_TOP;
+  private static final int POSITION_RIGHT = CSSLayout.POSITION_RIGHT;
+  private static final int POSITION_BOTTOM = CSSLayout.POSITION_BOTTOM;
+
+  private static final int DIMENSION_WIDTH = CSSLayout.DIMENSION_WIDTH;
+  private static final int DIMENSION_HEIGHT = CSSLayout.DIMENSION_HEIGHT;
+
+  // Number of values per node in the position, dimension and full spacing arrays
+  private static final int POSITION_STRIDE = 4;
+  private static final int DIMENSION_STRIDE = 2;
+  private static final int FULL_SPACING_STRIDE = 8;
+
+  // Indexed by flex direction, in the order of CSSFlexDirection: COLUMN, ROW
+  private static final int[] leading = { POSITION_TOP, POSITION_LEFT };
+  private static final int[] trailing = { POSITION_BOTTOM, POSITION_RIGHT };
+  private static final int[] pos = { POSITION_TOP, POSITION_LEFT };
+  private static final int[] dim = { DIMENSION_HEIGHT, DIMENSION_WIDTH };
+
+  private static final CSSJustify[] JUSTIFIES = CSSJustify.values();
+  private static final CSSAlign[] ALIGNS = CSSAlign.values();
+  private static final CSSPositionType[] POSITION_TYPES = CSSPositionType.values();
+  private static final CSSWrap[] WRAPS = CSSWrap.values();
+
+  // Values of mLayoutState, see CSSNode.LayoutState
+  private static final byte DIRTY = 0;
+  private static final byte HAS_NEW_LAYOUT = 1;
+  private static final byte UP_TO_DATE = 2;
+
+  private final MeasureOutput mMeasureOutput = new MeasureOutput();
+
+  private int mNodeCount;
+
+  // Topology
+  private int[] mParent;
+  private int[] mFirstChild;
+  private int[] mLastChild;
+  private int[] mNextSibling;
+  private int[] mPreviousSibling;
+  private int[] mChildCount;
+
+  // The last child returned by getChildAt and its index, so walking the children in order is linear
+  private int[] mCursorIndex;
+  private int[] mCursorChild;
+
+  // Style, the enums are stored as their ordinal
+  private byte[] mFlexDirection;
+  private byte[] mJustifyContent;
+  private byte[] mAlignItems;
+  private byte[] mAlignSelf;
+  private byte[] mPositionType;
+  private byte[] mFlexWrap;
+  private float[] mFlex;
+  private float[] mMargin;
+  private float[] mPadding;
+  private float[] mBorder;
+  private float[] mStyleMargin;
+  private float[] mStylePadding;
+  private float[] mStyleBorder;
+  private float[] mStylePosition;
+  private float[] mStyleDimensions;
+  private @Nullable MeasureFunction[] mMeasureFunctions;
+
+  // Layout
+  private float[] mLayoutPosition;
+  private float[] mLayoutDimensions;
+  private byte[] mLayoutState;
+
+  // The conditions of the last layout and its result, see CachedCSSLayout
+  private float[] mLastRequestedWidth;
+  private float[] mLastRequestedHeight;
+  private float[] mLastParentMaxWidth;
+  private float[] mLastLayoutPosition;
+  private float[] mLastLayoutDimensions;
+
+  public LayoutTree() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity the number of nodes to allocate room for, the tree grows as needed.
+   */
+  public LayoutTree(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    mParent = new int[capacity];
+    mFirstChild = new int[capacity];
+    mLastChild = new int[capacity];
+    mNextSibling = new int[capacity];
+    mPreviousSibling = new int[capacity];
+    mChildCount = new int[capacity];
+    mCursorIndex = new int[capacity];
+    mCursorChild = new int[capacity];
+    mFlexDirection = new byte[capacity];
+    mJustifyContent = new byte[capacity];
+    mAlignItems = new byte[capacity];
+    mAlignSelf = new byte[capacity];
+    mPositionType = new byte[capacity];
+    mFlexWrap = new byte[capacity];
+    mFlex = new float[capacity];
+    mMargin = new float[capacity * FULL_SPACING_STRIDE];
+    mPadding = new float[capacity * FULL_SPACING_STRIDE];
+    mBorder = new float[capacity * FULL_SPACING_STRIDE];
+    mStyleMargin = new float[capacity * POSITION_STRIDE];
+    mStylePadding = new float[capacity * POSITION_STRIDE];
+    mStyleBorder = new float[capacity * POSITION_STRIDE];
+    mStylePosition = new float[capacity * POSITION_STRIDE];
+    mStyleDimensions = new float[capacity * DIMENSION_STRIDE];
+    mLayoutPosition = new float[capacity * POSITION_STRIDE];
+    mLayoutDimensions = new float[capacity * DIMENSION_STRIDE];
+    mLayoutState = new byte[capacity];
+    mLastRequestedWidth = new float[capacity];
+    mLastRequestedHeight = new float[capacity];
+    mLastParentMaxWidth = new float[capacity];
+    mLastLayoutPosition = new float[capacity * POSITION_STRIDE];
+    mLastLayoutDimensions = new float[capacity * DIMENSION_STRIDE];
+  }
+
+  private void ensureCapacity(int capacity) {
+    int oldCapacity = mParent.length;
+    if (capacity <= oldCapacity) {
+      return;
+    }
+    capacity = Math.max(capacity, oldCapacity * 2);
+    mParent = Arrays.copyOf(mParent, capacity);
+    mFirstChild = Arrays.copyOf(mFirstChild, capacity);
+    mLastChild = Arrays.copyOf(mLastChild, capacity);
+    mNextSibling = Arrays.copyOf(mNextSibling, capacity);
+    mPreviousSibling = Arrays.copyOf(mPreviousSibling, capacity);
+    mChildCount = Arrays.copyOf(mChildCount, capacity);
+    mCursorIndex = Arrays.copyOf(mCursorIndex, capacity);
+    mCursorChild = Arrays.copyOf(mCursorChild, capacity);
+    mFlexDirection = Arrays.copyOf(mFlexDirection, capacity);
+    mJustifyContent = Arrays.copyOf(mJustifyContent, capacity);
+    mAlignItems = Arrays.copyOf(mAlignItems, capacity);
+    mAlignSelf = Arrays.copyOf(mAlignSelf, capacity);
+    mPositionType = Arrays.copyOf(mPositionType, capacity);
+    mFlexWrap = Arrays.copyOf(mFlexWrap, capacity);
+    mFlex = Arrays.copyOf(mFlex, capacity);
+    mMargin = Arrays.copyOf(mMargin, capacity * FULL_SPACING_STRIDE);
+    mPadding = Arrays.copyOf(mPadding, capacity * FULL_SPACING_STRIDE);
+    mBorder = Arrays.copyOf(mBorder, capacity * FULL_SPACING_STRIDE);
+    mStyleMargin = Arrays.copyOf(mStyleMargin, capacity * POSITION_STRIDE);
+    mStylePadding = Arrays.copyOf(mStylePadding, capacity * POSITION_STRIDE);
+    mStyleBorder = Arrays.copyOf(mStyleBorder, capacity * POSITION_STRIDE);
+    mStylePosition = Arrays.copyOf(mStylePosition, capacity * POSITION_STRIDE);
+    mStyleDimensions = Arrays.copyOf(mStyleDimensions, capacity * DIMENSION_STRIDE);
+    if (mMeasureFunctions != null) {
+      mMeasureFunctions = Arrays.copyOf(mMeasureFunctions, capacity);
+    }
+    mLayoutPosition = Arrays.copyOf(mLayoutPosition, capacity * POSITION_STRIDE);
+    mLayoutDimensions = Arrays.copyOf(mLayoutDimensions, capacity * DIMENSION_STRIDE);
+    mLayoutState = Arrays.copyOf(mLayoutState, capacity);
+    mLastRequestedWidth = Arrays.copyOf(mLastRequestedWidth, capacity);
+    mLastRequestedHeight = Arrays.copyOf(mLastRequestedHeight, capacity);
+    mLastParentMaxWidth = Arrays.copyOf(mLastParentMaxWidth, capacity);
+    mLastLayoutPosition = Arrays.copyOf(mLastLayoutPosition, capacity * POSITION_STRIDE);
+    mLastLayoutDimensions = Arrays.copyOf(mLastLayoutDimensions, capacity * DIMENSION_STRIDE);
+  }
+
+  /**
+   * @return the handle of a new node without parent, with the same default style as a new
+   * {@link CSSNode}.
+   */
+  public int createNode() {
+    int node = mNodeCount;
+    ensureCapacity(node + 1);
+    mNodeCount++;
+
+    mParent[node] = NO_NODE;
+    mFirstChild[node] = NO_NODE;
+    mLastChild[node] = NO_NODE;
+    mNextSibling[node] = NO_NODE;
+    mPreviousSibling[node] = NO_NODE;
+    mCursorChild[node] = NO_NODE;
+
+    mFlexDirection[node] = (byte) CSSFlexDirection.COLUMN.ordinal();
+    mJustifyContent[node] = (byte) CSSJustify.FLEX_START.ordinal();
+    mAlignItems[node] = (byte) CSSAlign.STRETCH.ordinal();
+    mAlignSelf[node] = (byte) CSSAlign.AUTO.ordinal();
+    mPositionType[node] = (byte) CSSPositionType.RELATIVE.ordinal();
+    mFlexWrap[node] = (byte) CSSWrap.NOWRAP.ordinal();
+    fill(mMargin, node, FULL_SPACING_STRIDE, CSSConstants.UNDEFINED);
+    fill(mPadding, node, FULL_SPACING_STRIDE, CSSConstants.UNDEFINED);
+    fill(mBorder, node, FULL_SPACING_STRIDE, CSSConstants.UNDEFINED);
+    fill(mStylePosition, node, POSITION_STRIDE, CSSConstants.UNDEFINED);
+    fill(mStyleDimensions, node, DIMENSION_STRIDE, CSSConstants.UNDEFINED);
+
+    fill(mLayoutDimensions, node, DIMENSION_STRIDE, CSSConstants.UNDEFINED);
+    mLastRequestedWidth[node] = CSSConstants.UNDEFINED;
+    mLastRequestedHeight[node] = CSSConstants.UNDEFINED;
+    mLastParentMaxWidth[node] = CSSConstants.UNDEFINED;
+    fill(mLastLayoutDimensions, node, DIMENSION_STRIDE, CSSConstants.UNDEFINED);
+    return node;
+  }
+
+  private static void fill(float[] array, int node, int stride, float value) {
+    Arrays.fill(array, node * stride, node * stride + stride, value);
+  }
+
+  public int getNodeCount() {
+    return mNodeCount;
+  }
+
+  public int getChildCount(int node) {
+    return mChildCount[node];
+  }
+
+  /**
+   * Walks the sibling links from whichever of the first child, the last child and the child
+   * returned by the previous call is closest, so visiting the children in order is linear.
+   */
+  public int getChildAt(int node, int index) {
+    int childCount = mChildCount[node];
+    if (index < 0 || index >= childCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", child count: " + childCount);
+    }
+
+    int child = mFirstChild[node];
+    int childIndex = 0;
+    if (childCount - 1 - index < index) {
+      child = mLastChild[node];
+      childIndex = childCount - 1;
+    }
+    int cursorChild = mCursorChild[node];
+    if (cursorChild != NO_NODE &&
+        Math.abs(mCursorIndex[node] - index) < Math.abs(childIndex - index)) {
+      child = cursorChild;
+      childIndex = mCursorIndex[node];
+    }
+
+    while (childIndex < index) {
+      child = mNextSibling[child];
+      childIndex++;
+    }
+    while (childIndex > index) {
+      child = mPreviousSibling[child];
+      childIndex--;
+    }
+
+    mCursorChild[node] = child;
+    mCursorIndex[node] = index;
+    return child;
+  }
+
+  public int getFirstChild(int node) {
+    return mFirstChild[node];
+  }
+
+  public int getNextSibling(int node) {
+    return mNextSibling[node];
+  }
+
+  public int getParent(int node) {
+    return mParent[node];
+  }
+
+  public void appendChild(int parent, int child) {
+    addChildAt(parent, child, mChildCount[parent]);
+  }
+
+  public void addChildAt(int parent, int child, int index) {
+    if (mParent[child] != NO_NODE) {
+      throw new IllegalStateException("Child already has a parent, it must be removed first.");
+    }
+    if (index < 0 || index > mChildCount[parent]) {
+      throw new IndexOutOfBoundsException(
+          "Index: " + index + ", child count: " + mChildCount[parent]);
+    }
+
+    int next = index == mChildCount[parent] ? NO_NODE : getChildAt(parent, index);
+    int previous = next == NO_NODE ? mLastChild[parent] : mPreviousSibling[next];
+    mNextSibling[child] = next;
+    mPreviousSibling[child] = previous;
+    if (previous == NO_NODE) {
+      mFirstChild[parent] = child;
+    } else {
+      mNextSibling[previous] = child;
+    }
+    if (next == NO_NODE) {
+      mLastChild[parent] = child;
+    } else {
+      mPreviousSibling[next] = child;
+    }
+
+    mParent[child] = parent;
+    mChildCount[parent]++;
+    mCursorChild[parent] = NO_NODE;
+    dirty(parent);
+  }
+
+  public void removeChildAt(int parent, int index) {
+    int child = getChildAt(parent, index);
+    int previous = mPreviousSibling[child];
+    int next = mNextSibling[child];
+    if (previous == NO_NODE) {
+      mFirstChild[parent] = next;
+    } else {
+      mNextSibling[previous] = next;
+    }
+    if (next == NO_NODE) {
+      mLastChild[parent] = previous;
+    } else {
+      mPreviousSibling[next] = previous;
+    }
+
+    mParent[child] = NO_NODE;
+    mNextSibling[child] = NO_NODE;
+    mPreviousSibling[child] = NO_NODE;
+    mChildCount[parent]--;
+    mCursorChild[parent] = NO_NODE;
+    dirty(parent);
+  }
+
+  public void setMeasureFunction(int node, @Nullable MeasureFunction measureFunction) {
+    if (mMeasureFunctions == null) {
+      if (measureFunction == null) {
+        return;
+      }
+      mMeasureFunctions = new MeasureFunction[mParent.length];
+    }
+    if (mMeasureFunctions[node] != measureFunction) {
+      mMeasureFunctions[node] = measureFunction;
+      dirty(node);
+    }
+  }
+
+  public boolean isMeasureDefined(int node) {
+    return mMeasureFunctions != null && mMeasureFunctions[node] != null;
+  }
+
+  private MeasureOutput measure(int node, float width) {
+    if (!isMeasureDefined(node)) {
+      throw new RuntimeException("Measure function isn't defined!");
+    }
+    mMeasureOutput.height = CSSConstants.UNDEFINED;
+    mMeasureOutput.width = CSSConstants.UNDEFINED;
+    mMeasureFunctions[node].measure(this, node, width, mMeasureOutput);
+    return mMeasureOutput;
+  }
+
+  /**
+   * Performs the actual layout of the tree rooted at the given node, see
+   * {@link CSSNode#calculateLayout()}.
+   */
+  public void calculateLayout(int root) {
+    resetResult(root);
+    layoutNode(root, CSSConstants.UNDEFINED);
+  }
+
+  /**
+   * See {@link CSSNode#hasNewLayout()}.
+   */
+  public boolean hasNewLayout(int node) {
+    return mLayoutState[node] == HAS_NEW_LAYOUT;
+  }
+
+  /**
+   * See {@link CSSNode#markLayoutSeen()}.
+   */
+  public void markLayoutSeen(int node) {
+    if (!hasNewLayout(node)) {
+      throw new IllegalStateException("Expected node to have a new layout to be seen!");
+    }
+    mLayoutState[node] = UP_TO_DATE;
+  }
+
+  /* package */ boolean isDirty(int node) {
+    return mLayoutState[node] == DIRTY;
+  }
+
+  /**
+   * See {@link CSSNode#dirty()}.
+   */
+  public void dirty(int node) {
+    while (node != NO_NODE) {
+      if (mLayoutState[node] == DIRTY) {
+        return;
+      } else if (mLayoutState[node] == HAS_NEW_LAYOUT) {
+        throw new IllegalStateException("Previous layout was ignored! markLayoutSeen() never called");
+      }
+      mLayoutState[node] = DIRTY;
+      node = mParent[node];
+    }
+  }
+
+  public void setFlexDirection(int node, CSSFlexDirection flexDirection) {
+    if (mFlexDirection[node] != flexDirection.ordinal()) {
+      mFlexDirection[node] = (byte) flexDirection.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setJustifyContent(int node, CSSJustify justifyContent) {
+    if (mJustifyContent[node] != justifyContent.ordinal()) {
+      mJustifyContent[node] = (byte) justifyContent.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setAlignItems(int node, CSSAlign alignItems) {
+    if (mAlignItems[node] != alignItems.ordinal()) {
+      mAlignItems[node] = (byte) alignItems.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setAlignSelf(int node, CSSAlign alignSelf) {
+    if (mAlignSelf[node] != alignSelf.ordinal()) {
+      mAlignSelf[node] = (byte) alignSelf.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setPositionType(int node, CSSPositionType positionType) {
+    if (mPositionType[node] != positionType.ordinal()) {
+      mPositionType[node] = (byte) positionType.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setWrap(int node, CSSWrap flexWrap) {
+    if (mFlexWrap[node] != flexWrap.ordinal()) {
+      mFlexWrap[node] = (byte) flexWrap.ordinal();
+      dirty(node);
+    }
+  }
+
+  public void setFlex(int node, float flex) {
+    if (!FloatUtil.floatsEqual(mFlex[node], flex)) {
+      mFlex[node] = flex;
+      dirty(node);
+    }
+  }
+
+  public void setMargin(int node, int spacingType, float margin) {
+    setSpacing(mMargin, mStyleMargin, node, spacingType, margin);
+  }
+
+  public void setPadding(int node, int spacingType, float padding) {
+    setSpacing(mPadding, mStylePadding, node, spacingType, padding);
+  }
+
+  public void setBorder(int node, int spacingType, float border) {
+    setSpacing(mBorder, mStyleBorder, node, spacingType, border);
+  }
+
+  private void setSpacing(
+      float[] spacingDef,
+      float[] spacingResult,
+      int node,
+      int spacingType,
+      float spacing) {
+    int offset = node * FULL_SPACING_STRIDE;
+    if (!FloatUtil.floatsEqual(spacingDef[offset + spacingType], spacing)) {
+      Spacing.updateSpacing(
+          spacingDef,
+          offset,
+          spacingResult,
+          node * POSITION_STRIDE,
+          spacingType,
+          spacing,
+          0);
+      dirty(node);
+    }
+  }
+
+  private void setStylePosition(int node, int position, float value) {
+    if (!FloatUtil.floatsEqual(mStylePosition[node * POSITION_STRIDE + position], value)) {
+      mStylePosition[node * POSITION_STRIDE + position] = value;
+      dirty(node);
+    }
+  }
+
+  public void setPositionTop(int node, float positionTop) {
+    setStylePosition(node, POSITION_TOP, positionTop);
+  }
+
+  public void setPositionBottom(int node, float positionBottom) {
+    setStylePosition(node, POSITION_BOTTOM, positionBottom);
+  }
+
+  public void setPositionLeft(int node, float positionLeft) {
+    setStylePosition(node, POSITION_LEFT, positionLeft);
+  }
+
+  public void setPositionRight(int node, float positionRight) {
+    setStylePosition(node, POSITION_RIGHT, positionRight);
+  }
+
+  private void setStyleDimension(int node, int dimension, float value) {
+    if (!FloatUtil.floatsEqual(mStyleDimensions[node * DIMENSION_STRIDE + dimension], value)) {
+      mStyleDimensions[node * DIMENSION_STRIDE + dimension] = value;
+      dirty(node);
+    }
+  }
+
+  public void setStyleWidth(int node, float width) {
+    setStyleDimension(node, DIMENSION_WIDTH, width);
+  }
+
+  public void setStyleHeight(int node, float height) {
+    setStyleDimension(node, DIMENSION_HEIGHT, height);
+  }
+
+  public float getLayoutX(int node) {
+    return mLayoutPosition[node * POSITION_STRIDE + POSITION_LEFT];
+  }
+
+  public float getLayoutY(int node) {
+    return mLayoutPosition[node * POSITION_STRIDE + POSITION_TOP];
+  }
+
+  public float getLayoutWidth(int node) {
+    return mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_WIDTH];
+  }
+
+  public float getLayoutHeight(int node) {
+    return mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_HEIGHT];
+  }
+
+  // The helpers below are the ones of LayoutEngine, on handles instead of CSSNodes
+
+  private boolean isDimDefined(int node, int axis) {
+    return !CSSConstants.isUndefined(mStyleDimensions[node * DIMENSION_STRIDE + dim[axis]]);
+  }
+
+  private boolean isPosDefined(int node, int position) {
+    return !CSSConstants.isUndefined(mStylePosition[node * POSITION_STRIDE + position]);
+  }
+
+  private float getPosition(int node, int position) {
+    float result = mStylePosition[node * POSITION_STRIDE + position];
+    return CSSConstants.isUndefined(result) ? 0 : result;
+  }
+
+  // Spacing.LEFT/TOP/RIGHT/BOTTOM have the same values as the POSITION_* indices
+
+  private float getMargin(int node, int position) {
+    return mStyleMargin[node * POSITION_STRIDE + position];
+  }
+
+  private float getBorder(int node, int position) {
+    return mStyleBorder[node * POSITION_STRIDE + position];
+  }
+
+  private float getPaddingAndBorder(int node, int position) {
+    return mStylePadding[node * POSITION_STRIDE + position] +
+        mStyleBorder[node * POSITION_STRIDE + position];
+  }
+
+  private float getMarginAxis(int node, int axis) {
+    return getMargin(node, leading[axis]) + getMargin(node, trailing[axis]);
+  }
+
+  private float getPaddingAndBorderAxis(int node, int axis) {
+    return getPaddingAndBorder(node, leading[axis]) + getPaddingAndBorder(node, trailing[axis]);
+  }
+
+  private void setDimensionFromStyle(int node, int axis) {
+    int index = node * DIMENSION_STRIDE + dim[axis];
+    // The parent already computed us a width or height. We just skip it
+    if (!CSSConstants.isUndefined(mLayoutDimensions[index])) {
+      return;
+    }
+    // We only run if there's a width or height defined
+    if (!isDimDefined(node, axis)) {
+      return;
+    }
+
+    // The dimensions can never be smaller than the padding and border
+    mLayoutDimensions[index] = Math.max(
+        mStyleDimensions[index],
+        getPaddingAndBorderAxis(node, axis));
+  }
+
+  private float getRelativePosition(int node, int axis) {
+    float lead = mStylePosition[node * POSITION_STRIDE + leading[axis]];
+    if (!CSSConstants.isUndefined(lead)) {
+      return lead;
+    }
+    return -getPosition(node, trailing[axis]);
+  }
+
+  private float getFlex(int node) {
+    return mFlex[node];
+  }
+
+  private int getFlexDirection(int node) {
+    return mFlexDirection[node];
+  }
+
+  private CSSPositionType getPositionType(int node) {
+    return POSITION_TYPES[mPositionType[node]];
+  }
+
+  private CSSAlign getAlignItem(int node, int child) {
+    if (mAlignSelf[child] != CSSAlign.AUTO.ordinal()) {
+      return ALIGNS[mAlignSelf[child]];
+    }
+    return ALIGNS[mAlignItems[node]];
+  }
+
+  private CSSJustify getJustifyContent(int node) {
+    return JUSTIFIES[mJustifyContent[node]];
+  }
+
+  private boolean isFlexWrap(int node) {
+    return WRAPS[mFlexWrap[node]] == CSSWrap.WRAP;
+  }
+
+  private boolean isFlex(int node) {
+    return getPositionType(node) == CSSPositionType.RELATIVE && getFlex(node) > 0;
+  }
+
+  private float getDimWithMargin(int node, int axis) {
+    return mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]] +
+        getMargin(node, leading[axis]) +
+        getMargin(node, trailing[axis]);
+  }
+
+  private void resetResult(int node) {
+    mLayoutPosition[node * POSITION_STRIDE + POSITION_LEFT] = 0;
+    mLayoutPosition[node * POSITION_STRIDE + POSITION_TOP] = 0;
+    mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_WIDTH] = CSSConstants.UNDEFINED;
+    mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_HEIGHT] = CSSConstants.UNDEFINED;
+  }
+
+  private static void copyLayout(
+      float[] fromPosition,
+      float[] fromDimensions,
+      float[] toPosition,
+      float[] toDimensions,
+      int node) {
+    int position = node * POSITION_STRIDE;
+    toPosition[position + POSITION_LEFT] = fromPosition[position + POSITION_LEFT];
+    toPosition[position + POSITION_TOP] = fromPosition[position + POSITION_TOP];
+    int dimension = node * DIMENSION_STRIDE;
+    toDimensions[dimension + DIMENSION_WIDTH] = fromDimensions[dimension + DIMENSION_WIDTH];
+    toDimensions[dimension + DIMENSION_HEIGHT] = fromDimensions[dimension + DIMENSION_HEIGHT];
+  }
+
+  private boolean needsRelayout(int node, float parentMaxWidth) {
+    return isDirty(node) ||
+        !FloatUtil.floatsEqual(mLastRequestedHeight[node], getLayoutHeight(node)) ||
+        !FloatUtil.floatsEqual(mLastRequestedWidth[node], getLayoutWidth(node)) ||
+        !FloatUtil.floatsEqual(mLastParentMaxWidth[node], parentMaxWidth);
+  }
+
+  private void layoutNode(int node, float parentMaxWidth) {
+    if (needsRelayout(node, parentMaxWidth)) {
+      mLastRequestedWidth[node] = getLayoutWidth(node);
+      mLastRequestedHeight[node] = getLayoutHeight(node);
+      mLastParentMaxWidth[node] = parentMaxWidth;
+
+      layoutNodeImpl(node, parentMaxWidth);
+      copyLayout(
+          mLayoutPosition,
+          mLayoutDimensions,
+          mLastLayoutPosition,
+          mLastLayoutDimensions,
+          node);
+    } else {
+      copyLayout(
+          mLastLayoutPosition,
+          mLastLayoutDimensions,
+          mLayoutPosition,
+          mLayoutDimensions,
+          node);
+    }
+
+    mLayoutState[node] = HAS_NEW_LAYOUT;
+  }
+
+  private void layoutNodeImpl(int node, float parentMaxWidth) {
+
+    for (int child = mFirstChild[node]; child != NO_NODE; child = mNextSibling[child]) {
+      resetResult(child);
+    }
+
+    /** START_GENERATED **/
+  
+  
+    int mainAxis = getFlexDirection(node);
+    int crossAxis = mainAxis == CSS_FLEX_DIRECTION_ROW ?
+      CSS_FLEX_DIRECTION_COLUMN :
+      CSS_FLEX_DIRECTION_ROW;
+  
+    // Handle width and height style attributes
+    setDimensionFromStyle(node, mainAxis);
+    setDimensionFromStyle(node, crossAxis);
+  
+    // The position is set by the parent, but we need to complete it with a
+    // delta composed of the margin and left/top/right/bottom
+    mLayoutPosition[node * POSITION_STRIDE + leading[mainAxis]] = mLayoutPosition[node * POSITION_STRIDE + leading[mainAxis]] + getMargin(node, leading[mainAxis]) +
+      getRelativePosition(node, mainAxis);
+    mLayoutPosition[node * POSITION_STRIDE + leading[crossAxis]] = mLayoutPosition[node * POSITION_STRIDE + leading[crossAxis]] + getMargin(node, leading[crossAxis]) +
+      getRelativePosition(node, crossAxis);
+  
+    if (isMeasureDefined(node)) {
+      float width = CSSConstants.UNDEFINED;
+      if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+        width = mStyleDimensions[node * DIMENSION_STRIDE + DIMENSION_WIDTH];
+      } else if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_ROW]])) {
+        width = mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_ROW]];
+      } else {
+        width = parentMaxWidth -
+          getMarginAxis(node, CSS_FLEX_DIRECTION_ROW);
+      }
+      width -= getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+  
+      // We only need to give a dimension for the text if we haven't got any
+      // for it computed yet. It can either be from the style attribute or because
+      // the element is flexible.
+      boolean isRowUndefined = !isDimDefined(node, CSS_FLEX_DIRECTION_ROW) &&
+        CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_ROW]]);
+      boolean isColumnUndefined = !isDimDefined(node, CSS_FLEX_DIRECTION_COLUMN) &&
+        CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_COLUMN]]);
+  
+      // Let's not measure the text if we already know both dimensions
+      if (isRowUndefined || isColumnUndefined) {
+        MeasureOutput measureDim = measure(node,
+                    width
+        );
+        if (isRowUndefined) {
+          mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_WIDTH] = measureDim.width +
+            getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+        }
+        if (isColumnUndefined) {
+          mLayoutDimensions[node * DIMENSION_STRIDE + DIMENSION_HEIGHT] = measureDim.height +
+            getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_COLUMN);
+        }
+      }
+      return;
+    }
+  
+    int i;
+    int ii;
+    int child;
+    int axis;
+  
+    // Pre-fill some dimensions straight from the parent
+    for (i = 0; i < getChildCount(node); ++i) {
+      child = getChildAt(node, i);
+      // Pre-fill cross axis dimensions when the child is using stretch before
+      // we call the recursive layout pass
+      if (getAlignItem(node, child) == CSSAlign.STRETCH &&
+          getPositionType(child) == CSSPositionType.RELATIVE &&
+          !CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]]) &&
+          !isDimDefined(child, crossAxis)) {
+        mLayoutDimensions[child * DIMENSION_STRIDE + dim[crossAxis]] = Math.max(
+          mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]] -
+            getPaddingAndBorderAxis(node, crossAxis) -
+            getMarginAxis(child, crossAxis),
+          // You never want to go smaller than padding
+          getPaddingAndBorderAxis(child, crossAxis)
+        );
+      } else if (getPositionType(child) == CSSPositionType.ABSOLUTE) {
+        // Pre-fill dimensions when using absolute position and both offsets for the axis are defined (either both
+        // left and right or top and bottom).
+        for (ii = 0; ii < 2; ii++) {
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]]) &&
+              !isDimDefined(child, axis) &&
+              isPosDefined(child, leading[axis]) &&
+              isPosDefined(child, trailing[axis])) {
+            mLayoutDimensions[child * DIMENSION_STRIDE + dim[axis]] = Math.max(
+              mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]] -
+              getPaddingAndBorderAxis(node, axis) -
+              getMarginAxis(child, axis) -
+              getPosition(child, leading[axis]) -
+              getPosition(child, trailing[axis]),
+              // You never want to go smaller than padding
+              getPaddingAndBorderAxis(child, axis)
+            );
+          }
+        }
+      }
+    }
+    
+    float definedMainDim = CSSConstants.UNDEFINED;
+    if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]])) {
+      definedMainDim = mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]] -
+          getPaddingAndBorderAxis(node, mainAxis);
+    }
+  
+    // We want to execute the next two loops one per line with flex-wrap
+    int startLine = 0;
+    int endLine = 0;
+    // int nextOffset = 0;
+    int alreadyComputedNextLayout = 0;
+    // We aggregate the total dimensions of the container in those two variables
+    float linesCrossDim = 0;
+    float linesMainDim = 0;
+    while (endLine < getChildCount(node)) {
+      // <Loop A> Layout non flexible children and count children by type
+  
+      // mainContentDim is accumulation of the dimensions and margin of all the
+      // non flexible children. This will be used in order to either set the
+      // dimensions of the node if none already exist, or to compute the
+      // remaining space left for the flexible children.
+      float mainContentDim = 0;
+  
+      // There are three kind of children, non flexible, flexible and absolute.
+      // We need to know how many there are in order to distribute the space.
+      int flexibleChildrenCount = 0;
+      float totalFlexible = 0;
+      int nonFlexibleChildrenCount = 0;
+  
+      float maxWidth;
+      for (i = startLine; i < getChildCount(node); ++i) {
+        child = getChildAt(node, i);
+        float nextContentDim = 0;
+  
+        // It only makes sense to consider a child flexible if we have a computed
+        // dimension for the node.
+        if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]]) && isFlex(child)) {
+          flexibleChildrenCount++;
+          totalFlexible = totalFlexible + getFlex(child);
+  
+          // Even if we don't know its exact size yet, we already know the padding,
+          // border and margin. We'll use this partial information to compute the
+          // remaining space.
+          nextContentDim = getPaddingAndBorderAxis(child, mainAxis) +
+            getMarginAxis(child, mainAxis);
+  
+        } else {
+          maxWidth = CSSConstants.UNDEFINED;
+          if (mainAxis != CSS_FLEX_DIRECTION_ROW) {
+            maxWidth = parentMaxWidth -
+              getMarginAxis(node, CSS_FLEX_DIRECTION_ROW) -
+              getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+  
+            if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+              maxWidth = mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_ROW]] -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+            }
+          }
+  
+          // This is the main recursive call. We layout non flexible children.
+          if (alreadyComputedNextLayout == 0) {
+            layoutNode(child, maxWidth);
+          }
+  
+          // Absolute positioned elements do not take part of the layout, so we
+          // don't use them to compute mainContentDim
+          if (getPositionType(child) == CSSPositionType.RELATIVE) {
+            nonFlexibleChildrenCount++;
+            // At this point we know the final size and margin of the element.
+            nextContentDim = getDimWithMargin(child, mainAxis);
+          }
+        }
+  
+        // The element we are about to add would make us go to the next line
+        if (isFlexWrap(node) &&
+            !CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]]) &&
+            mainContentDim + nextContentDim > definedMainDim &&
+            // If there's only one element, then it's bigger than the content
+            // and needs its own line
+            i != startLine) {
+          alreadyComputedNextLayout = 1;
+          break;
+        }
+        alreadyComputedNextLayout = 0;
+        mainContentDim = mainContentDim + nextContentDim;
+        endLine = i + 1;
+      }
+  
+      // <Loop B> Layout flexible children and allocate empty space
+  
+      // In order to position the elements in the main axis, we have two
+      // controls. The space between the beginning and the first element
+      // and the space between each two elements.
+      float leadingMainDim = 0;
+      float betweenMainDim = 0;
+  
+      // The remaining available space that needs to be allocated
+      float remainingMainDim = 0;
+      if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]])) {
+        remainingMainDim = definedMainDim - mainContentDim;
+      } else {
+        remainingMainDim = Math.max(mainContentDim, 0) - mainContentDim;
+      }
+  
+      // If there are flexible children in the mix, they are going to fill the
+      // remaining space
+      if (flexibleChildrenCount != 0) {
+        float flexibleMainDim = remainingMainDim / totalFlexible;
+  
+        // The non flexible children can overflow the container, in this case
+        // we should just assume that there is no space available.
+        if (flexibleMainDim < 0) {
+          flexibleMainDim = 0;
+        }
+        // We iterate over the full array and only apply the action on flexible
+        // children. This is faster than actually allocating a new array that
+        // contains only flexible children.
+        for (i = startLine; i < endLine; ++i) {
+          child = getChildAt(node, i);
+          if (isFlex(child)) {
+            // At this point we know the final size of the element in the main
+            // dimension
+            mLayoutDimensions[child * DIMENSION_STRIDE + dim[mainAxis]] = flexibleMainDim * getFlex(child) +
+              getPaddingAndBorderAxis(child, mainAxis);
+  
+            maxWidth = CSSConstants.UNDEFINED;
+            if (isDimDefined(node, CSS_FLEX_DIRECTION_ROW)) {
+              maxWidth = mLayoutDimensions[node * DIMENSION_STRIDE + dim[CSS_FLEX_DIRECTION_ROW]] -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+            } else if (mainAxis != CSS_FLEX_DIRECTION_ROW) {
+              maxWidth = parentMaxWidth -
+                getMarginAxis(node, CSS_FLEX_DIRECTION_ROW) -
+                getPaddingAndBorderAxis(node, CSS_FLEX_DIRECTION_ROW);
+            }
+  
+            // And we recursively call the layout algorithm for this child
+            layoutNode(child, maxWidth);
+          }
+        }
+  
+      // We use justifyContent to figure out how to allocate the remaining
+      // space available
+      } else {
+        CSSJustify justifyContent = getJustifyContent(node);
+        if (justifyContent == CSSJustify.CENTER) {
+          leadingMainDim = remainingMainDim / 2;
+        } else if (justifyContent == CSSJustify.FLEX_END) {
+          leadingMainDim = remainingMainDim;
+        } else if (justifyContent == CSSJustify.SPACE_BETWEEN) {
+          remainingMainDim = Math.max(remainingMainDim, 0);
+          if (flexibleChildrenCount + nonFlexibleChildrenCount - 1 != 0) {
+            betweenMainDim = remainingMainDim /
+              (flexibleChildrenCount + nonFlexibleChildrenCount - 1);
+          } else {
+            betweenMainDim = 0;
+          }
+        } else if (justifyContent == CSSJustify.SPACE_AROUND) {
+          // Space on the edges is half of the space between elements
+          betweenMainDim = remainingMainDim /
+            (flexibleChildrenCount + nonFlexibleChildrenCount);
+          leadingMainDim = betweenMainDim / 2;
+        }
+      }
+  
+      // <Loop C> Position elements in the main axis and compute dimensions
+  
+      // At this point, all the children have their dimensions set. We need to
+      // find their position. In order to do that, we accumulate data in
+      // variables that are also useful to compute the total dimensions of the
+      // container!
+      float crossDim = 0;
+      float mainDim = leadingMainDim +
+        getPaddingAndBorder(node, leading[mainAxis]);
+  
+      for (i = startLine; i < endLine; ++i) {
+        child = getChildAt(node, i);
+  
+        if (getPositionType(child) == CSSPositionType.ABSOLUTE &&
+            isPosDefined(child, leading[mainAxis])) {
+          // In case the child is position absolute and has left/top being
+          // defined, we override the position to whatever the user said
+          // (and margin/border).
+          mLayoutPosition[child * POSITION_STRIDE + pos[mainAxis]] = getPosition(child, leading[mainAxis]) +
+            getBorder(node, leading[mainAxis]) +
+            getMargin(child, leading[mainAxis]);
+        } else {
+          // If the child is position absolute (without top/left) or relative,
+          // we put it at the current accumulated offset.
+          mLayoutPosition[child * POSITION_STRIDE + pos[mainAxis]] = mLayoutPosition[child * POSITION_STRIDE + pos[mainAxis]] + mainDim;
+        }
+  
+        // Now that we placed the element, we need to update the variables
+        // We only need to do that for relative elements. Absolute elements
+        // do not take part in that phase.
+        if (getPositionType(child) == CSSPositionType.RELATIVE) {
+          // The main dimension is the sum of all the elements dimension plus
+          // the spacing.
+          mainDim = mainDim + betweenMainDim + getDimWithMargin(child, mainAxis);
+          // The cross dimension is the max of the elements dimension since there
+          // can only be one element in that cross dimension.
+          crossDim = Math.max(crossDim, getDimWithMargin(child, crossAxis));
+        }
+      }
+  
+      float containerMainAxis = mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]];
+      // If the user didn't specify a width or height, and it has not been set
+      // by the container, then we set it via the children.
+      if (CSSConstants.isUndefined(containerMainAxis)) {
+        containerMainAxis = Math.max(
+          // We're missing the last padding at this point to get the final
+          // dimension
+          mainDim + getPaddingAndBorder(node, trailing[mainAxis]),
+          // We can never assign a width smaller than the padding and borders
+          getPaddingAndBorderAxis(node, mainAxis)
+        );
+      }
+  
+      float containerCrossAxis = mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]];
+      if (CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]])) {
+        containerCrossAxis = Math.max(
+          // For the cross dim, we add both sides at the end because the value
+          // is aggregate via a max function. Intermediate negative values
+          // can mess this computation otherwise
+          crossDim + getPaddingAndBorderAxis(node, crossAxis),
+          getPaddingAndBorderAxis(node, crossAxis)
+        );
+      }
+  
+      // <Loop D> Position elements in the cross axis
+  
+      for (i = startLine; i < endLine; ++i) {
+        child = getChildAt(node, i);
+  
+        if (getPositionType(child) == CSSPositionType.ABSOLUTE &&
+            isPosDefined(child, leading[crossAxis])) {
+          // In case the child is absolutely positionned and has a
+          // top/left/bottom/right being set, we override all the previously
+          // computed positions to set it correctly.
+          mLayoutPosition[child * POSITION_STRIDE + pos[crossAxis]] = getPosition(child, leading[crossAxis]) +
+            getBorder(node, leading[crossAxis]) +
+            getMargin(child, leading[crossAxis]);
+  
+        } else {
+          float leadingCrossDim = getPaddingAndBorder(node, leading[crossAxis]);
+  
+          // For a relative children, we're either using alignItems (parent) or
+          // alignSelf (child) in order to determine the position in the cross axis
+          if (getPositionType(child) == CSSPositionType.RELATIVE) {
+            CSSAlign alignItem = getAlignItem(node, child);
+            if (alignItem == CSSAlign.STRETCH) {
+              // You can only stretch if the dimension has not already been set
+              // previously.
+              if (!isDimDefined(child, crossAxis)) {
+                mLayoutDimensions[child * DIMENSION_STRIDE + dim[crossAxis]] = Math.max(
+                  containerCrossAxis -
+                    getPaddingAndBorderAxis(node, crossAxis) -
+                    getMarginAxis(child, crossAxis),
+                  // You never want to go smaller than padding
+                  getPaddingAndBorderAxis(child, crossAxis)
+                );
+              }
+            } else if (alignItem != CSSAlign.FLEX_START) {
+              // The remaining space between the parent dimensions+padding and child
+              // dimensions+margin.
+              float remainingCrossDim = containerCrossAxis -
+                getPaddingAndBorderAxis(node, crossAxis) -
+                getDimWithMargin(child, crossAxis);
+  
+              if (alignItem == CSSAlign.CENTER) {
+                leadingCrossDim = leadingCrossDim + remainingCrossDim / 2;
+              } else { // CSSAlign.FLEX_END
+                leadingCrossDim = leadingCrossDim + remainingCrossDim;
+              }
+            }
+          }
+  
+          // And we apply the position
+          mLayoutPosition[child * POSITION_STRIDE + pos[crossAxis]] = mLayoutPosition[child * POSITION_STRIDE + pos[crossAxis]] + linesCrossDim + leadingCrossDim;
+        }
+      }
+  
+      linesCrossDim = linesCrossDim + crossDim;
+      linesMainDim = Math.max(linesMainDim, mainDim);
+      startLine = endLine;
+    }
+  
+    // If the user didn't specify a width or height, and it has not been set
+    // by the container, then we set it via the children.
+    if (CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]])) {
+      mLayoutDimensions[node * DIMENSION_STRIDE + dim[mainAxis]] = Math.max(
+        // We're missing the last padding at this point to get the final
+        // dimension
+        linesMainDim + getPaddingAndBorder(node, trailing[mainAxis]),
+        // We can never assign a width smaller than the padding and borders
+        getPaddingAndBorderAxis(node, mainAxis)
+      );
+    }
+  
+    if (CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]])) {
+      mLayoutDimensions[node * DIMENSION_STRIDE + dim[crossAxis]] = Math.max(
+        // For the cross dim, we add both sides at the end because the value
+        // is aggregate via a max function. Intermediate negative values
+        // can mess this computation otherwise
+        linesCrossDim + getPaddingAndBorderAxis(node, crossAxis),
+        getPaddingAndBorderAxis(node, crossAxis)
+      );
+    }
+  
+    // <Loop E> Calculate dimensions for absolutely positioned elements
+  
+    for (i = 0; i < getChildCount(node); ++i) {
+      child = getChildAt(node, i);
+      if (getPositionType(child) == CSSPositionType.ABSOLUTE) {
+        // Pre-fill dimensions when using absolute position and both offsets for the axis are defined (either both
+        // left and right or top and bottom).
+        for (ii = 0; ii < 2; ii++) {
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (!CSSConstants.isUndefined(mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]]) &&
+              !isDimDefined(child, axis) &&
+              isPosDefined(child, leading[axis]) &&
+              isPosDefined(child, trailing[axis])) {
+            mLayoutDimensions[child * DIMENSION_STRIDE + dim[axis]] = Math.max(
+              mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]] -
+              getPaddingAndBorderAxis(node, axis) -
+              getMarginAxis(child, axis) -
+              getPosition(child, leading[axis]) -
+              getPosition(child, trailing[axis]),
+              // You never want to go smaller than padding
+              getPaddingAndBorderAxis(child, axis)
+            );
+          }
+        }
+        for (ii = 0; ii < 2; ii++) {
+          axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+          if (isPosDefined(child, trailing[axis]) &&
+              !isPosDefined(child, leading[axis])) {
+            mLayoutPosition[child * POSITION_STRIDE + leading[axis]] =
+              mLayoutDimensions[node * DIMENSION_STRIDE + dim[axis]] -
+              mLayoutDimensions[child * DIMENSION_STRIDE + dim[axis]] -
+              getPosition(child, trailing[axis]);
+          }
+        }
+      }
+    }
+  }
+  /** END_GENERATED **/
+}
@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A read-only view of a laid out tree stored in a file, see {@link #write(CSSNode, File)}. Nodes
+ * are fixed size records in pre-order, like in {@link LayoutSnapshot}, and are designated by their
+ * index, the root being 0. Every getter reads its value straight from the buffer, so no object is
+ * created per node and the memory used on the heap doesn't depend on the size of the tree.
+ *
+ * A tree opened with {@link #map(File)} is mapped into memory: pages are only read from the file
+ * when they are first accessed, and processes mapping the same file share one copy of it in the
+ * page cache.
+ *
+ * Each record holds the position of the node in the tree, its style, with margin, padding and
+ * border as resolved values, and its layout. Names, measure functions, viewports and child
+ * providers are not stored. A view is immutable and can be read from several threads.
+ */
+public final class MappedLayoutTree {
+
+  private static final int MAGIC = 0x43534d54; // "CSMT"
+  private static final int VERSION = 1;
+  // Magic, version, node count and record size
+  private static final int HEADER_SIZE = 16;
+
+  // Offsets of the values of a node in its record
+  private static final int SUBTREE_END = 0;
+  private static final int PARENT = 4;
+  private static final int CHILD_COUNT = 8;
+  private static final int FLAGS = 12;
+  private static final int FLEX = 16;
+  // Indexed by CSSLayout.POSITION_*
+  private static final int STYLE_POSITION = 20;
+  // Indexed by CSSLayout.DIMENSION_*
+  private static final int STYLE_DIMENSIONS = 36;
+  // Each indexed by Spacing.LEFT, etc
+  private static final int MARGIN = 44;
+  private static final int PADDING = 60;
+  private static final int BORDER = 76;
+  private static final int LAYOUT_X = 92;
+  private static final int LAYOUT_Y = 96;
+  private static final int LAYOUT_WIDTH = 100;
+  private static final int LAYOUT_HEIGHT = 104;
+  private static final int RECORD_SIZE = 108;
+  // Offsets are ints, a ByteBuffer can't hold more than that
+  /* package */ static final int MAX_NODE_COUNT = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+  // Position of the ordinal of each enum property in the flags of a record
+  private static final int FLEX_DIRECTION_SHIFT = 0;
+  private static final int JUSTIFY_CONTENT_SHIFT = 4;
+  private static final int ALIGN_ITEMS_SHIFT = 8;
+  private static final int ALIGN_SELF_SHIFT = 12;
+  private static final int POSITION_TYPE_SHIFT = 16;
+  private static final int FLEX_WRAP_SHIFT = 20;
+  private static final int ORDINAL_MASK = 0xf;
+
+  private static final CSSFlexDirection[] FLEX_DIRECTIONS = CSSFlexDirection.values();
+  private static final CSSJustify[] JUSTIFY_CONTENTS = CSSJustify.values();
+  private static final CSSAlign[] ALIGNS = CSSAlign.values();
+  private static final CSSPositionType[] POSITION_TYPES = CSSPositionType.values();
+  private static final CSSWrap[] FLEX_WRAPS = CSSWrap.values();
+
+  private final ByteBuffer mBuffer;
+  private final int mNodeCount;
+
+  private MappedLayoutTree(ByteBuffer buffer, int nodeCount) {
+    mBuffer = buffer;
+    mNodeCount = nodeCount;
+  }
+
+  /**
+   * Writes root and its descendants to file, which is replaced if it exists. The tree must have
+   * been laid out.
+   *
+   * @throws IllegalArgumentException if a node has a {@link CSSNode.ChildProvider}, or if there are
+   *     more than {@link #MAX_NODE_COUNT} nodes.
+   */
+  public static void write(CSSNode root, File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(0);
+      write(root, randomAccessFile.getChannel());
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Same as {@link #write(CSSNode, File)}, to any channel.
+   */
+  public static void write(CSSNode root, WritableByteChannel channel) throws IOException {
+    int nodeCount = countNodes(root);
+    if (nodeCount > MAX_NODE_COUNT) {
+      throw new IllegalArgumentException(
+          "Trees of more than " + MAX_NODE_COUNT + " nodes can't be written, got " + nodeCount);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + nodeCount * RECORD_SIZE);
+    buffer.putInt(MAGIC);
+    buffer.putInt(VERSION);
+    buffer.putInt(nodeCount);
+    buffer.putInt(RECORD_SIZE);
+    writeNode(root, buffer, 0, -1);
+    buffer.rewind();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static int countNodes(CSSNode node) {
+    if (node.hasChildProvider()) {
+      throw new IllegalArgumentException("Nodes with a ChildProvider can't be written");
+    }
+    int count = 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      count += countNodes(node.getChildAt(i));
+    }
+    return count;
+  }
+
+  /**
+   * @return the index of the node following the subtree of node
+   */
+  private static int writeNode(CSSNode node, ByteBuffer buffer, int index, int parent) {
+    int next = index + 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      next = writeNode(node.getChildAt(i), buffer, next, index);
+    }
+
+    CSSStyle style = node.style;
+    int offset = HEADER_SIZE + index * RECORD_SIZE;
+    buffer.putInt(offset + SUBTREE_END, next);
+    buffer.putInt(offset + PARENT, parent);
+    buffer.putInt(offset + CHILD_COUNT, node.getChildCount());
+    buffer.putInt(
+        offset + FLAGS,
+        style.getFlexDirection().ordinal() << FLEX_DIRECTION_SHIFT |
+            style.getJustifyContent().ordinal() << JUSTIFY_CONTENT_SHIFT |
+            style.getAlignItems().ordinal() << ALIGN_ITEMS_SHIFT |
+            style.getAlignSelf().ordinal() << ALIGN_SELF_SHIFT |
+            style.getPositionType().ordinal() << POSITION_TYPE_SHIFT |
+            style.getFlexWrap().ordinal() << FLEX_WRAP_SHIFT);
+    buffer.putFloat(offset + FLEX, style.getFlex());
+    for (int i = 0; i < 4; i++) {
+      buffer.putFloat(offset + STYLE_POSITION + i * 4, style.getPosition(i));
+      buffer.putFloat(offset + MARGIN + i * 4, style.getMargin(i));
+      buffer.putFloat(offset + PADDING + i * 4, style.getPadding(i));
+      buffer.putFloat(offset + BORDER + i * 4, style.getBorder(i));
+    }
+    for (int i = 0; i < 2; i++) {
+      buffer.putFloat(offset + STYLE_DIMENSIONS + i * 4, style.getDimension(i));
+    }
+    buffer.putFloat(offset + LAYOUT_X, node.layout.position[CSSLayout.POSITION_LEFT]);
+    buffer.putFloat(offset + LAYOUT_Y, node.layout.position[CSSLayout.POSITION_TOP]);
+    buffer.putFloat(offset + LAYOUT_WIDTH, node.layout.dimensions[CSSLayout.DIMENSION_WIDTH]);
+    buffer.putFloat(offset + LAYOUT_HEIGHT, node.layout.dimensions[CSSLayout.DIMENSION_HEIGHT]);
+    return next;
+  }
+
+  /**
+   * Maps file, written by {@link #write(CSSNode, File)}, into memory. The file must not be modified
+   * while the view is in use.
+   *
+   * @throws IOException if file doesn't hold a tree, or holds more than {@link #MAX_NODE_COUNT}
+   *     nodes.
+   */
+  public static MappedLayoutTree map(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      // The mapping stays valid once the file is closed
+      FileChannel channel = randomAccessFile.getChannel();
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(
+            "Layout trees of more than " + MAX_NODE_COUNT + " nodes aren't supported");
+      }
+      return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Reads the tree starting at the position of buffer, which holds what
+   * {@link #write(CSSNode, WritableByteChannel)} wrote. The buffer is not copied and must not be
+   * modified while the view is in use.
+   *
+   * @throws IOException if buffer doesn't hold a tree, or holds more than {@link #MAX_NODE_COUNT}
+   *     nodes.
+   */
+  public static MappedLayoutTree wrap(ByteBuffer buffer) throws IOException {
+    // Absolute gets only, from a view of its own so the position of buffer doesn't matter
+    ByteBuffer view = buffer.slice();
+    if (view.remaining() < HEADER_SIZE || view.getInt(0) != MAGIC) {
+      throw new IOException("Not a layout tree");
+    }
+    if (view.getInt(4) != VERSION || view.getInt(12) != RECORD_SIZE) {
+      throw new IOException("Unsupported version " + view.getInt(4));
+    }
+    int nodeCount = view.getInt(8);
+    if (nodeCount > MAX_NODE_COUNT) {
+      throw new IOException(
+          "Layout trees of more than " + MAX_NODE_COUNT + " nodes aren't supported");
+    }
+    if (nodeCount <= 0 || (view.remaining() - HEADER_SIZE) / RECORD_SIZE < nodeCount) {
+      throw new IOException("Truncated layout tree");
+    }
+    return new MappedLayoutTree(view, nodeCount);
+  }
+
+  private int getInt(int index, int field) {
+    return mBuffer.getInt(getOffset(index) + field);
+  }
+
+  private float getFloat(int index, int field) {
+    return mBuffer.getFloat(getOffset(index) + field);
+  }
+
+  private int getOffset(int index) {
+    if (index < 0 || index >= mNodeCount) {
+      throw new IndexOutOfBoundsException("Node " + index + " of " + mNodeCount);
+    }
+    return HEADER_SIZE + index * RECORD_SIZE;
+  }
+
+  private int getOrdinal(int index, int shift) {
+    return (getInt(index, FLAGS) >> shift) & ORDINAL_MASK;
+  }
+
+  public int getNodeCount() {
+    return mNodeCount;
+  }
+
+  /**
+   * @return the index of the parent of the node at index, or -1 for the root.
+   */
+  public int getParent(int index) {
+    return getInt(index, PARENT);
+  }
+
+  public int getChildCount(int index) {
+    return getInt(index, CHILD_COUNT);
+  }
+
+  /**
+   * @return the index of the first child of the node at index, or -1 if it has no children.
+   */
+  public int getFirstChild(int index) {
+    return getChildCount(index) == 0 ? -1 : index + 1;
+  }
+
+  /**
+   * @return the index of the sibling following the node at index, or -1 if it is the last child.
+   */
+  public int getNextSibling(int index) {
+    int parent = getParent(index);
+    int next = getSubtreeEnd(index);
+    return parent == -1 || next == getSubtreeEnd(parent) ? -1 : next;
+  }
+
+  /**
+   * @return the index of the node following the descendants of the node at index, so that the
+   *     subtree of a node is every index from its own up to this one, excluded.
+   */
+  public int getSubtreeEnd(int index) {
+    return getInt(index, SUBTREE_END);
+  }
+
+  public CSSFlexDirection getFlexDirection(int index) {
+    return FLEX_DIRECTIONS[getOrdinal(index, FLEX_DIRECTION_SHIFT)];
+  }
+
+  public CSSJustify getJustifyContent(int index) {
+    return JUSTIFY_CONTENTS[getOrdinal(index, JUSTIFY_CONTENT_SHIFT)];
+  }
+
+  public CSSAlign getAlignItems(int index) {
+    return ALIGNS[getOrdinal(index, ALIGN_ITEMS_SHIFT)];
+  }
+
+  public CSSAlign getAlignSelf(int index) {
+    return ALIGNS[getOrdinal(index, ALIGN_SELF_SHIFT)];
+  }
+
+  public CSSPositionType getPositionType(int index) {
+    return POSITION_TYPES[getOrdinal(index, POSITION_TYPE_SHIFT)];
+  }
+
+  public CSSWrap getFlexWrap(int index) {
+    return FLEX_WRAPS[getOrdinal(index, FLEX_WRAP_SHIFT)];
+  }
+
+  public float getFlex(int index) {
+    return getFloat(index, FLEX);
+  }
+
+  /**
+   * @return the style position at the given {@link CSSLayout#POSITION_LEFT}, etc.
+   */
+  public float getStylePosition(int index, int position) {
+    return getFloat(index, STYLE_POSITION + checkSpacingIndex(position) * 4);
+  }
+
+  public float getStyleWidth(int index) {
+    return getFloat(index, STYLE_DIMENSIONS + CSSLayout.DIMENSION_WIDTH * 4);
+  }
+
+  public float getStyleHeight(int index) {
+    return getFloat(index, STYLE_DIMENSIONS + CSSLayout.DIMENSION_HEIGHT * 4);
+  }
+
+  /**
+   * @return the margin at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getMargin(int index, int position) {
+    return getFloat(index, MARGIN + checkSpacingIndex(position) * 4);
+  }
+
+  /**
+   * @return the padding at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getPadding(int index, int position) {
+    return getFloat(index, PADDING + checkSpacingIndex(position) * 4);
+  }
+
+  /**
+   * @return the border at the given {@link Spacing#LEFT}, {@link Spacing#TOP}, etc.
+   */
+  public float getBorder(int index, int position) {
+    return getFloat(index, BORDER + checkSpacingIndex(position) * 4);
+  }
+
+  private static int checkSpacingIndex(int position) {
+    if (position < Spacing.LEFT || position > Spacing.BOTTOM) {
+      throw new IllegalArgumentException("Invalid position " + position);
+    }
+    return position;
+  }
+
+  public float getLayoutX(int index) {
+    return getFloat(index, LAYOUT_X);
+  }
+
+  public float getLayoutY(int index) {
+    return getFloat(index, LAYOUT_Y);
+  }
+
+  public float getLayoutWidth(int index) {
+    return getFloat(index, LAYOUT_WIDTH);
+  }
+
+  public float getLayoutHeight(int index) {
+    return getFloat(index, LAYOUT_HEIGHT);
+  }
+}
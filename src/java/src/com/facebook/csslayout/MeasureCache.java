@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+/**
+ * A small LRU cache of the results of a {@link CSSNode.MeasureFunction}, keyed by the width the
+ * function was called with. Widths are matched with {@link FloatUtil#floatsEqual}, so an undefined
+ * width matches an undefined width. Entries are kept in parallel arrays ordered from the most to the
+ * least recently used, lookups are a linear scan which is faster than hashing for a handful of
+ * entries and doesn't allocate.
+ */
+/* package */ class MeasureCache {
+
+  private final float[] mWidths;
+  private final float[] mMeasuredWidths;
+  private final float[] mMeasuredHeights;
+  private int mSize;
+
+  private long mHitCount;
+  private long mMissCount;
+
+  /* package */ MeasureCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    mWidths = new float[capacity];
+    mMeasuredWidths = new float[capacity];
+    mMeasuredHeights = new float[capacity];
+  }
+
+  /* package */ int getCapacity() {
+    return mWidths.length;
+  }
+
+  /**
+   * Fills measureOutput with the cached result for the given width and makes it the most recently
+   * used entry.
+   *
+   * @return whether there was a cached result for the width.
+   */
+  /* package */ boolean get(float width, MeasureOutput measureOutput) {
+    for (int i = 0; i < mSize; i++) {
+      if (FloatUtil.floatsEqual(mWidths[i], width)) {
+        float measuredWidth = mMeasuredWidths[i];
+        float measuredHeight = mMeasuredHeights[i];
+        moveToFront(i, mWidths[i], measuredWidth, measuredHeight);
+        measureOutput.width = measuredWidth;
+        measureOutput.height = measuredHeight;
+        mHitCount++;
+        return true;
+      }
+    }
+    mMissCount++;
+    return false;
+  }
+
+  /**
+   * Stores the result of measuring with the given width as the most recently used entry, evicting
+   * the least recently used one if the cache is full.
+   */
+  /* package */ void put(float width, MeasureOutput measureOutput) {
+    int last = mSize < mWidths.length ? mSize++ : mSize - 1;
+    moveToFront(last, width, measureOutput.width, measureOutput.height);
+  }
+
+  /* package */ void clear() {
+    mSize = 0;
+  }
+
+  /* package */ long getHitCount() {
+    return mHitCount;
+  }
+
+  /* package */ long getMissCount() {
+    return mMissCount;
+  }
+
+  private void moveToFront(int index, float width, float measuredWidth, float measuredHeight) {
+    System.arraycopy(mWidths, 0, mWidths, 1, index);
+    System.arraycopy(mMeasuredWidths, 0, mMeasuredWidths, 1, index);
+    System.arraycopy(mMeasuredHeights, 0, mMeasuredHeights, 1, index);
+    mWidths[0] = width;
+    mMeasuredWidths[0] = measuredWidth;
+    mMeasuredHeights[0] = measuredHeight;
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lays out a subtree with {@link LayoutEngine#layoutNode(CSSNode, float)} inside a
+ * {@link java.util.concurrent.ForkJoinPool}. While the task runs, the layout of each node in the
+ * subtree forks new tasks for its children that have at least {@link #getMinSubtreeSize()} nodes,
+ * see {@link LayoutEngine}.
+ */
+/* package */ class ParallelLayoutTask extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  /* package */ static final int DEFAULT_MIN_SUBTREE_SIZE = 64;
+
+  // The task running on the current thread, null when laying out sequentially
+  private static final ThreadLocal<ParallelLayoutTask> sCurrentTask =
+      new ThreadLocal<ParallelLayoutTask>();
+
+  private final CSSNode mNode;
+  private final float mParentMaxWidth;
+  private final int mMinSubtreeSize;
+  private final float mRequestedWidth;
+  private final float mRequestedHeight;
+
+  /* package */ ParallelLayoutTask(CSSNode node, float parentMaxWidth, int minSubtreeSize) {
+    if (minSubtreeSize <= 0) {
+      throw new IllegalArgumentException("Subtree size must be positive, got " + minSubtreeSize);
+    }
+    mNode = node;
+    mParentMaxWidth = parentMaxWidth;
+    mMinSubtreeSize = minSubtreeSize;
+    mRequestedWidth = node.layout.dimensions[CSSLayout.DIMENSION_WIDTH];
+    mRequestedHeight = node.layout.dimensions[CSSLayout.DIMENSION_HEIGHT];
+  }
+
+  /* package */ static @Nullable ParallelLayoutTask getCurrentTask() {
+    return sCurrentTask.get();
+  }
+
+  /* package */ int getMinSubtreeSize() {
+    return mMinSubtreeSize;
+  }
+
+  /**
+   * Puts the layout of the node back to what its parent set before the task ran, so laying the node
+   * out again under the same conditions finds the result of this task in its {@link LayoutCache}.
+   */
+  /* package */ void resetToRequestedLayout() {
+    mNode.layout.resetResult();
+    mNode.layout.dimensions[CSSLayout.DIMENSION_WIDTH] = mRequestedWidth;
+    mNode.layout.dimensions[CSSLayout.DIMENSION_HEIGHT] = mRequestedHeight;
+  }
+
+  @Override
+  protected void compute() {
+    // A worker waiting for its forked tasks can run other tasks, so restore the outer one after
+    ParallelLayoutTask previousTask = sCurrentTask.get();
+    sCurrentTask.set(this);
+    try {
+      LayoutEngine.layoutNode(mNode, mParentMaxWidth);
+    } finally {
+      sCurrentTask.set(previousTask);
+    }
+  }
+}
@@ -74,30 +74,62 @@ public class Spacing {
       int spacingType,
       float value,
       float defaultValue) {
-    fullSpacing[spacingType] = value;
-    spacingResult[Spacing.TOP] =
-        !CSSConstants.isUndefined(fullSpacing[Spacing.TOP]) ? fullSpacing[Spacing.TOP]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.VERTICAL]) ?
-                fullSpacing[Spacing.VERTICAL]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.ALL]) ? fullSpacing[Spacing.ALL]
-            : defaultValue;
-    spacingResult[Spacing.BOTTOM] =
-        !CSSConstants.isUndefined(fullSpacing[Spacing.BOTTOM]) ? fullSpacing[Spacing.BOTTOM]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.VERTICAL]) ?
-                fullSpacing[Spacing.VERTICAL]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.ALL]) ? fullSpacing[Spacing.ALL]
-            : defaultValue;
-    spacingResult[Spacing.LEFT] =
-        !CSSConstants.isUndefined(fullSpacing[Spacing.LEFT]) ? fullSpacing[Spacing.LEFT]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.HORIZONTAL]) ?
-                fullSpacing[Spacing.HORIZONTAL]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.ALL]) ? fullSpacing[Spacing.ALL]
-            : defaultValue;
-    spacingResult[Spacing.RIGHT] =
-        !CSSConstants.isUndefined(fullSpacing[Spacing.RIGHT]) ? fullSpacing[Spacing.RIGHT]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.HORIZONTAL]) ?
-                fullSpacing[Spacing.HORIZONTAL]
-            : !CSSConstants.isUndefined(fullSpacing[Spacing.ALL]) ? fullSpacing[Spacing.ALL]
-            : defaultValue;
+    updateSpacing(fullSpacing, 0, spacingResult, 0, spacingType, value, defaultValue);
+  }
+
+  /**
+   * Same as {@link #updateSpacing(float[], float[], int, float, float)} for a full spacing array
+   * starting at fullOffset and a spacing result array starting at resultOffset within larger arrays.
+   */
+  public static void updateSpacing(
+      float[] fullSpacing,
+      int fullOffset,
+      float[] spacingResult,
+      int resultOffset,
+      int spacingType,
+      float value,
+      float defaultValue) {
+    fullSpacing[fullOffset + spacingType] = value;
+    spacingResult[resultOffset + Spacing.TOP] =
+        resolve(fullSpacing, fullOffset, Spacing.TOP, Spacing.VERTICAL, defaultValue);
+    spacingResult[resultOffset + Spacing.BOTTOM] =
+        resolve(fullSpacing, fullOffset, Spacing.BOTTOM, Spacing.VERTICAL, defaultValue);
+    spacingResult[resultOffset + Spacing.LEFT] =
+        resolve(fullSpacing, fullOffset, Spacing.LEFT, Spacing.HORIZONTAL, defaultValue);
+    spacingResult[resultOffset + Spacing.RIGHT] =
+        resolve(fullSpacing, fullOffset, Spacing.RIGHT, Spacing.HORIZONTAL, defaultValue);
+  }
+
+  /**
+   * @return whether the four sides of the full spacing array starting at fullOffset all resolve to
+   * defaultValue, see {@link #updateSpacing}.
+   */
+  /* package */ static boolean resolvesToDefault(
+      float[] fullSpacing,
+      int fullOffset,
+      float defaultValue) {
+    return resolve(fullSpacing, fullOffset, Spacing.TOP, Spacing.VERTICAL, defaultValue) ==
+            defaultValue &&
+        resolve(fullSpacing, fullOffset, Spacing.BOTTOM, Spacing.VERTICAL, defaultValue) ==
+            defaultValue &&
+        resolve(fullSpacing, fullOffset, Spacing.LEFT, Spacing.HORIZONTAL, defaultValue) ==
+            defaultValue &&
+        resolve(fullSpacing, fullOffset, Spacing.RIGHT, Spacing.HORIZONTAL, defaultValue) ==
+            defaultValue;
+  }
+
+  private static float resolve(
+      float[] fullSpacing,
+      int fullOffset,
+      int spacingType,
+      int axisSpacingType,
+      float defaultValue) {
+    return !CSSConstants.isUndefined(fullSpacing[fullOffset + spacingType]) ?
+            fullSpacing[fullOffset + spacingType]
+        : !CSSConstants.isUndefined(fullSpacing[fullOffset + axisSpacingType]) ?
+            fullSpacing[fullOffset + axisSpacingType]
+        : !CSSConstants.isUndefined(fullSpacing[fullOffset + Spacing.ALL]) ?
+            fullSpacing[fullOffset + Spacing.ALL]
+        : defaultValue;
   }
 }
@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.ArrayList;
+
+import javax.annotation.Nullable;
+
+import com.facebook.infer.annotation.Assertions;
+
+/**
+ * Builds a tree of {@link CSSNode}s from a stream of open and close events, as produced by a SAX
+ * style parser, and lays out each subtree as soon as nothing that comes after it in the stream can
+ * change its layout. The subtree is then handed to a {@link Listener} and removed from the tree, so
+ * it can be released while the rest of the input is read.
+ *
+ * A closed node is final when its parent is a column with a known width whose children are packed
+ * from the top, i.e. its justifyContent is flex-start and it doesn't wrap, and when the node is an
+ * in-flow child that doesn't flex and only follows final siblings, or absolutely positioned ones
+ * with a top or a bottom, since the others are placed where they would be in the flow. The
+ * width of the parent is known if it is set, or if the parent is stretched by a parent with a known
+ * width, starting from the root. The children of a row, and the children that follow a flexible
+ * one, stay in the tree until their parent is final itself, or until the root is closed.
+ *
+ * Final subtrees are replaced in their parent by a single spacer that takes their height, so the
+ * memory used by the tree is bounded by the nodes that aren't final yet. The spacers are removed
+ * before a node is handed to the listener.
+ *
+ * The style of a node must be set before its first child is opened. Nodes with a measure function
+ * can be added, but the builder doesn't support viewports or child providers.
+ *
+ * NB: a StreamingLayoutBuilder is NOT thread safe.
+ */
+public class StreamingLayoutBuilder {
+
+  public static interface Listener {
+
+    /**
+     * Called with each subtree once it is laid out, children before their parent, the root last.
+     * The subtree has been removed from its parent, along with the subtrees passed to this method
+     * before it, so laying it out again won't give the same result.
+     *
+     * @param x the position of subtree relative to the parent of the root, like
+     *     {@link CSSNode#getAbsoluteLayoutX()}.
+     * @param y same as x, vertically.
+     */
+    void onSubtreeLaidOut(CSSNode subtree, float x, float y);
+  }
+
+  /**
+   * Takes the place of the final children of a node, see {@link Frame#spacer}.
+   */
+  private static class Spacer extends CSSNode {
+  }
+
+  /**
+   * What is known about the layout of an open node. Coordinates are relative to the parent of the
+   * root, and only valid if {@link #childrenFinal} is true.
+   */
+  private static class Frame {
+
+    private @Nullable CSSNode node;
+    private boolean resolved;
+    // Whether the children of the node can be laid out as soon as they are closed
+    private boolean childrenFinal;
+    // Whether a child that isn't final yet was closed, none of the following children can be final
+    // before the node is. Absolutely positioned children only count without a top or a bottom.
+    private boolean blocked;
+    private float x;
+    private float y;
+    private float contentLeft;
+    private float contentTop;
+    private float innerWidth;
+    // Where the margin of the next child starts
+    private float nextTop;
+    // First child of the node, as high as the children that were laid out and removed
+    private @Nullable Spacer spacer;
+  }
+
+  private final Listener mListener;
+  // Indexed by depth, reused between nodes
+  private final ArrayList<Frame> mFrames = new ArrayList<Frame>();
+  private int mDepth;
+  // Parent of each final node while it is laid out
+  private final CSSNode mScratch = new CSSNode();
+
+  public StreamingLayoutBuilder(Listener listener) {
+    mListener = listener;
+  }
+
+  /**
+   * Adds node as the last child of the open node, or makes it the root if no node is open, and
+   * opens it. Its style must be set before its first child is opened.
+   *
+   * @param node a node without parent or children.
+   */
+  public void openNode(CSSNode node) {
+    if (node.getParent() != null || node.getChildCount() != 0) {
+      throw new IllegalArgumentException("Opened nodes must not have a parent or children");
+    }
+    if (mDepth > 0) {
+      Frame parent = mFrames.get(mDepth - 1);
+      resolve(parent, mDepth - 1);
+      CSSNode parentNode = Assertions.assertNotNull(parent.node);
+      parentNode.addChildAt(node, parentNode.getChildCount());
+    }
+    if (mDepth == mFrames.size()) {
+      mFrames.add(new Frame());
+    }
+    Frame frame = mFrames.get(mDepth++);
+    frame.node = node;
+    frame.resolved = false;
+    frame.childrenFinal = false;
+    frame.blocked = false;
+    frame.spacer = null;
+  }
+
+  /**
+   * Closes the node opened last. It is laid out and passed to the listener right away if it is
+   * final, see {@link StreamingLayoutBuilder}, the root always is.
+   */
+  public void closeNode() {
+    if (mDepth == 0) {
+      throw new IllegalStateException("No node is open");
+    }
+    Frame frame = mFrames.get(--mDepth);
+    CSSNode node = Assertions.assertNotNull(frame.node);
+    frame.node = null;
+    frame.spacer = null;
+
+    if (mDepth == 0) {
+      node.calculateLayout();
+      detachSpacers(node);
+      mListener.onSubtreeLaidOut(node, node.getLayoutX(), node.getLayoutY());
+      return;
+    }
+
+    Frame parent = mFrames.get(mDepth - 1);
+    if (node.style.isPositionAbsolute()) {
+      // Without a top or a bottom, node is placed where it would be in the flow, after the spacer,
+      // which can't grow with the siblings that follow it anymore
+      if (CSSConstants.isUndefined(node.style.getPosition(CSSLayout.POSITION_TOP)) &&
+          CSSConstants.isUndefined(node.style.getPosition(CSSLayout.POSITION_BOTTOM))) {
+        parent.blocked = true;
+      }
+      return;
+    }
+    if (!parent.childrenFinal || parent.blocked || node.style.getFlex() != 0) {
+      parent.blocked = true;
+      return;
+    }
+    layOut(parent, node);
+  }
+
+  /**
+   * Finds out whether the children of the node at depth can be final, once its style is set.
+   */
+  private void resolve(Frame frame, int depth) {
+    if (frame.resolved) {
+      return;
+    }
+    frame.resolved = true;
+    CSSNode node = Assertions.assertNotNull(frame.node);
+    CSSStyle style = node.style;
+    if (style.getFlexDirection() != CSSFlexDirection.COLUMN ||
+        style.getJustifyContent() != CSSJustify.FLEX_START ||
+        style.isFlexWrap()) {
+      return;
+    }
+
+    float marginLeft = style.getMargin(Spacing.LEFT);
+    float marginRight = style.getMargin(Spacing.RIGHT);
+    float width = style.getDimension(CSSLayout.DIMENSION_WIDTH);
+    if (depth == 0) {
+      if (CSSConstants.isUndefined(width)) {
+        return;
+      }
+      frame.x = marginLeft + getRelativePosition(style, CSSLayout.POSITION_LEFT);
+      frame.y = style.getMargin(Spacing.TOP) + getRelativePosition(style, CSSLayout.POSITION_TOP);
+    } else {
+      // The node is placed like its final siblings, it is final itself once closed
+      Frame parent = mFrames.get(depth - 1);
+      if (!parent.childrenFinal ||
+          parent.blocked ||
+          style.isPositionAbsolute() ||
+          style.getFlex() != 0) {
+        return;
+      }
+      CSSStyle parentStyle = Assertions.assertNotNull(parent.node).style;
+      CSSAlign align = style.isAlignSelfAuto() ? parentStyle.getAlignItems() : style.getAlignSelf();
+      if (CSSConstants.isUndefined(width)) {
+        if (align != CSSAlign.STRETCH) {
+          return;
+        }
+        width = parent.innerWidth - marginLeft - marginRight;
+      }
+      float remaining = parent.innerWidth - width - marginLeft - marginRight;
+      float offset = 0;
+      if (align == CSSAlign.CENTER) {
+        offset = remaining / 2;
+      } else if (align == CSSAlign.FLEX_END) {
+        offset = remaining;
+      }
+      frame.x = parent.contentLeft + offset + marginLeft +
+          getRelativePosition(style, CSSLayout.POSITION_LEFT);
+      frame.y = parent.nextTop + style.getMargin(Spacing.TOP) +
+          getRelativePosition(style, CSSLayout.POSITION_TOP);
+    }
+
+    frame.contentLeft = frame.x + style.getPadding(Spacing.LEFT) + style.getBorder(Spacing.LEFT);
+    frame.contentTop = frame.y + style.getPadding(Spacing.TOP) + style.getBorder(Spacing.TOP);
+    frame.innerWidth = width -
+        style.getPadding(Spacing.LEFT) - style.getBorder(Spacing.LEFT) -
+        style.getPadding(Spacing.RIGHT) - style.getBorder(Spacing.RIGHT);
+    frame.nextTop = frame.contentTop;
+    frame.childrenFinal = true;
+  }
+
+  /**
+   * Same as getRelativePosition() in the layout engine, for the given
+   * {@link CSSLayout#POSITION_LEFT} or {@link CSSLayout#POSITION_TOP}.
+   */
+  private static float getRelativePosition(CSSStyle style, int leading) {
+    // The trailing position is two after the leading one
+    float position = style.getPosition(leading);
+    if (!CSSConstants.isUndefined(position)) {
+      return position;
+    }
+    float trailing = style.getPosition(leading + 2);
+    return CSSConstants.isUndefined(trailing) ? 0 : -trailing;
+  }
+
+  /**
+   * Lays out node, the last child of the node of parent, replaces it with the spacer and passes it
+   * to the listener.
+   */
+  private void layOut(Frame parent, CSSNode node) {
+    CSSNode parentNode = Assertions.assertNotNull(parent.node);
+    parentNode.removeChildAt(parentNode.getChildCount() - 1);
+
+    // A column with the same inner width and alignment lays out node the same way
+    mScratch.setStyleWidth(parent.innerWidth);
+    mScratch.setAlignItems(parentNode.style.getAlignItems());
+    mScratch.addChildAt(node, 0);
+    mScratch.calculateLayout();
+    mScratch.markLayoutSeen();
+    mScratch.removeChildAt(0);
+
+    float x = parent.contentLeft + node.layout.position[CSSLayout.POSITION_LEFT];
+    float y = parent.nextTop + node.layout.position[CSSLayout.POSITION_TOP];
+    node.layout.position[CSSLayout.POSITION_LEFT] = x - parent.x;
+    node.layout.position[CSSLayout.POSITION_TOP] = y - parent.y;
+    parent.nextTop += node.style.getMargin(Spacing.TOP) +
+        node.layout.dimensions[CSSLayout.DIMENSION_HEIGHT] +
+        node.style.getMargin(Spacing.BOTTOM);
+
+    Spacer spacer = parent.spacer;
+    if (spacer == null) {
+      spacer = new Spacer();
+      spacer.setAlignSelf(CSSAlign.FLEX_START);
+      spacer.setStyleWidth(0);
+      parentNode.addChildAt(spacer, 0);
+      parent.spacer = spacer;
+    }
+    spacer.setStyleHeight(parent.nextTop - parent.contentTop);
+
+    detachSpacers(node);
+    mListener.onSubtreeLaidOut(node, x, y);
+  }
+
+  /**
+   * Removes the spacers from the subtree of node, once it is laid out.
+   */
+  private static void detachSpacers(CSSNode node) {
+    if (node.getChildCount() > 0 && node.getChildAt(0) instanceof Spacer) {
+      node.detachChildAt(0);
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      detachSpacers(node.getChildAt(i));
+    }
+  }
+}
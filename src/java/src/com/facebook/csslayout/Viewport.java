@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+/**
+ * The part of a node that is visible along its main axis, see
+ * {@link CSSNode#setViewport(float, float, float)}.
+ */
+/* package */ class Viewport {
+
+  // Offsets along the main axis, from the leading edge of the node
+  /* package */ float start;
+  /* package */ float end;
+  /* package */ float estimatedChildSize;
+
+  /**
+   * @return whether the given range of offsets overlaps the viewport, or is less than the length of
+   *     the viewport away from it.
+   */
+  /* package */ boolean isNear(float rangeStart, float rangeEnd) {
+    float margin = end - start;
+    return rangeEnd >= start - margin && rangeStart <= end + margin;
+  }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link LayoutEngine#layoutBatch(List, Executor, LayoutEngine.BatchCallback)}.
+ */
+public class BatchLayoutTest {
+
+  private static class TextMeasureFunction implements CSSNode.MeasureFunction {
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      float textWidth = 12 * node.getName().length();
+      measureOutput.width = CSSConstants.isUndefined(width) ? textWidth : Math.min(width, textWidth);
+      measureOutput.height = 16 * (float) Math.ceil(textWidth / measureOutput.width);
+    }
+  }
+
+  private static CSSNode createCard(int index) {
+    CSSNode.MeasureFunction measureFunction = new TextMeasureFunction();
+    CSSNode card = new CSSNode("card" + index);
+    card.setStyleWidth(80 + index % 50);
+    card.setPadding(Spacing.ALL, 4);
+
+    CSSNode thumbnail = new CSSNode("thumbnail" + index);
+    thumbnail.setStyleHeight(40);
+    card.appendChild(thumbnail);
+
+    CSSNode row = new CSSNode("row" + index);
+    row.setFlexDirection(CSSFlexDirection.ROW);
+    for (int i = 0; i <= index % 3; i++) {
+      CSSNode label = new CSSNode("label" + index + "_" + i);
+      label.setMeasureFunction(measureFunction);
+      label.setFlex(i);
+      row.appendChild(label);
+    }
+    card.appendChild(row);
+    return card;
+  }
+
+  private static List<CSSNode> createCards(int count) {
+    List<CSSNode> cards = new ArrayList<CSSNode>(count);
+    for (int i = 0; i < count; i++) {
+      cards.add(createCard(i));
+    }
+    return cards;
+  }
+
+  @Test
+  public void testSameLayoutsAsSequential() {
+    List<CSSNode> expected = createCards(500);
+    for (int i = 0; i < expected.size(); i++) {
+      expected.get(i).calculateLayout();
+    }
+
+    List<CSSNode> actual = createCards(500);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      LayoutEngine.layoutBatch(actual, executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(NodeToString.toString(expected.get(i)), NodeToString.toString(actual.get(i)));
+    }
+  }
+
+  @Test
+  public void testCallbackCalledOnceForEachRoot() {
+    List<CSSNode> roots = createCards(200);
+    final Set<CSSNode> completed =
+        Collections.newSetFromMap(new ConcurrentHashMap<CSSNode, Boolean>());
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      LayoutEngine.layoutBatch(
+          roots,
+          executor,
+          new LayoutEngine.BatchCallback() {
+            @Override
+            public void onLayoutComplete(CSSNode root) {
+              assertTrue(root.hasNewLayout());
+              assertTrue(completed.add(root));
+            }
+          });
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(roots.size(), completed.size());
+  }
+
+  @Test
+  public void testRunsOnCallingThreadWhenExecutorRejects() {
+    List<CSSNode> roots = createCards(10);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+
+    LayoutEngine.layoutBatch(roots, executor);
+
+    for (int i = 0; i < roots.size(); i++) {
+      assertTrue(roots.get(i).hasNewLayout());
+    }
+  }
+
+  @Test
+  public void testRethrowsFirstFailure() {
+    List<CSSNode> roots = createCards(50);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      LayoutEngine.layoutBatch(
+          roots,
+          executor,
+          new LayoutEngine.BatchCallback() {
+            @Override
+            public void onLayoutComplete(CSSNode root) {
+              throw new IllegalStateException("Callback failed for " + root.getName());
+            }
+          });
+      fail("Expected the callback exception to be rethrown");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().startsWith("Callback failed"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCompletesFromTaskOfBusyExecutor() throws Exception {
+    final List<CSSNode> roots = createCards(20);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // The only thread of executor runs this task, so it can't start any worker
+      Future<?> batch = executor.submit(
+          new Runnable() {
+            @Override
+            public void run() {
+              LayoutEngine.layoutBatch(roots, executor);
+            }
+          });
+      batch.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (int i = 0; i < roots.size(); i++) {
+      assertTrue(roots.get(i).hasNewLayout());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> void throwUnchecked(Throwable t) throws T {
+    throw (T) t;
+  }
+
+  @Test
+  public void testWrapsCheckedFailure() {
+    final Exception checked = new Exception("Checked failure");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      LayoutEngine.layoutBatch(
+          createCards(5),
+          executor,
+          new LayoutEngine.BatchCallback() {
+            @Override
+            public void onLayoutComplete(CSSNode root) {
+              BatchLayoutTest.<RuntimeException>throwUnchecked(checked);
+            }
+          });
+      fail("Expected the checked exception to be rethrown");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() == checked);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSNodePool}.
+ */
+public class CSSNodePoolTest {
+
+  private static final CSSNode.MeasureFunction TEXT_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+          measureOutput.width = 100;
+          measureOutput.height = 20;
+        }
+      };
+
+  private static CSSNode createTree(CSSNodePool pool) {
+    CSSNode root = pool.acquire("root");
+    root.setStyleWidth(300);
+    root.setPadding(Spacing.ALL, 5);
+    for (int i = 0; i < 3; i++) {
+      CSSNode row = pool.acquire("row" + i);
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setMargin(Spacing.BOTTOM, i);
+      root.addChildAt(row, i);
+      for (int j = 0; j < 4; j++) {
+        CSSNode cell = pool.acquire("cell" + i + "_" + j);
+        cell.setFlex(j % 2);
+        cell.setMeasureFunction(TEXT_MEASURE_FUNCTION);
+        row.addChildAt(cell, j);
+      }
+    }
+    return root;
+  }
+
+  @Test
+  public void testReleasedTreeIsReused() {
+    CSSNodePool pool = new CSSNodePool(100);
+    CSSNode root = createTree(pool);
+    assertEquals(16, pool.getMissCount());
+    root.calculateLayout();
+
+    pool.release(root);
+    assertEquals(16, pool.getFreeCount());
+
+    CSSNode rebuilt = createTree(pool);
+    assertEquals(16, pool.getHitCount());
+    assertEquals(0.5f, pool.getReuseRate(), 0.0001f);
+    rebuilt.calculateLayout();
+
+    CSSNode expected = createTree(new CSSNodePool(1));
+    expected.calculateLayout();
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(rebuilt));
+  }
+
+  @Test
+  public void testAcquiredNodeIsLikeNewNode() {
+    CSSNodePool pool = new CSSNodePool(10);
+    CSSNode parent = pool.acquire();
+    CSSNode node = pool.acquire("text");
+    node.setAlignSelf(CSSAlign.CENTER);
+    node.setPositionTop(4);
+    node.setBorder(Spacing.ALL, 1);
+    node.setMeasureFunction(TEXT_MEASURE_FUNCTION);
+    node.setMeasureCacheCapacity(4);
+    parent.addChildAt(node, 0);
+    parent.calculateLayout();
+    parent.markLayoutSeen();
+    node.markLayoutSeen();
+
+    pool.release(node);
+
+    assertEquals(0, parent.getChildCount());
+    assertNull(node.getParent());
+    assertEquals(1, pool.getFreeCount());
+
+    CSSNode reused = pool.acquire();
+    assertTrue(reused == node);
+    CSSNode fresh = new CSSNode();
+    assertNull(reused.getName());
+    assertEquals(fresh.style, reused.style);
+    assertFalse(reused.isMeasureDefined());
+    assertTrue(reused.isDirty());
+    assertEquals(0, reused.getMeasureCacheMissCount());
+    assertEquals(fresh.layout.toString(), reused.layout.toString());
+  }
+
+  @Test
+  public void testReleasingSharedStyleNodeGivesItOwnStyle() {
+    CSSStyle style = new CSSStyle.Builder().setStyleWidth(10).build();
+    CSSNodePool pool = new CSSNodePool(10);
+    CSSNode node = pool.acquire();
+    node.setStyle(style);
+
+    pool.release(node);
+
+    assertFalse(pool.acquire().style == style);
+    assertEquals(10, style.getDimension(CSSLayout.DIMENSION_WIDTH), 0);
+  }
+
+  @Test
+  public void testPoolIsBounded() {
+    CSSNodePool pool = new CSSNodePool(5);
+    CSSNode root = createTree(pool);
+
+    pool.release(root);
+
+    assertEquals(5, pool.getFreeCount());
+    assertEquals(11, pool.getDiscardCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNodeCannotBeReleasedTwice() {
+    CSSNodePool pool = new CSSNodePool(10);
+    CSSNode node = pool.acquire();
+
+    pool.release(node);
+    pool.release(node);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDiscardedNodeCannotBeReleasedTwice() {
+    CSSNodePool pool = new CSSNodePool(1);
+    CSSNode root = createTree(pool);
+    CSSNode row = root.getChildAt(0);
+
+    pool.release(root);
+    pool.release(row);
+  }
+
+  @Test
+  public void testReacquiredNodeCanBeReleasedAgain() {
+    CSSNodePool pool = new CSSNodePool(10);
+    CSSNode node = pool.acquire();
+    pool.release(node);
+
+    assertTrue(pool.acquire() == node);
+    pool.release(node);
+
+    assertEquals(1, pool.getFreeCount());
+  }
+
+  @Test
+  public void testPoolIsConfinedToItsThread() throws InterruptedException {
+    final CSSNodePool pool = new CSSNodePool(5);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          pool.acquire();
+        } catch (Throwable t) {
+          failure.set(t);
+        }
+      }
+    });
+    thread.start();
+    thread.join();
+
+    assertTrue(failure.get() instanceof IllegalStateException);
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSNodeSerializer}.
+ */
+public class CSSNodeSerializerTest {
+
+  private static CSSNode createTree() {
+    CSSNode root = new CSSNode("root");
+    root.setFlexDirection(CSSFlexDirection.ROW);
+    root.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+    root.setWrap(CSSWrap.WRAP);
+    root.setStyleWidth(300);
+    root.setPadding(Spacing.ALL, 10);
+    root.setPadding(Spacing.LEFT, 5);
+    root.setBorder(Spacing.VERTICAL, 2);
+    for (int i = 0; i < 5; i++) {
+      CSSNode child = new CSSNode();
+      child.setFlex(i);
+      child.setMargin(Spacing.HORIZONTAL, i);
+      child.setStyleHeight(20 + i);
+      child.setAlignSelf(CSSAlign.CENTER);
+      root.addChildAt(child, i);
+    }
+    CSSNode absolute = new CSSNode();
+    absolute.setPositionType(CSSPositionType.ABSOLUTE);
+    absolute.setPositionRight(10);
+    absolute.setPositionBottom(-5);
+    absolute.setStyleWidth(50);
+    root.getChildAt(2).addChildAt(absolute, 0);
+    return root;
+  }
+
+  private static byte[] write(CSSNode root, int flags) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    CSSNodeSerializer.write(root, new DataOutputStream(bytes), flags);
+    return bytes.toByteArray();
+  }
+
+  private static void assertSameStyles(CSSNode expected, CSSNode actual) {
+    assertEquals(expected.style, actual.style);
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getChildCount(), actual.getChildCount());
+    for (int i = 0; i < expected.getChildCount(); i++) {
+      assertSameStyles(expected.getChildAt(i), actual.getChildAt(i));
+    }
+  }
+
+  @Test
+  public void testStylesAreRead() throws IOException {
+    CSSNode root = createTree();
+    CSSNode read = CSSNodeSerializer.read(ByteBuffer.wrap(write(root, 0)));
+
+    assertSameStyles(root, read);
+    assertTrue(read.isDirty());
+
+    root.calculateLayout();
+    read.calculateLayout();
+    assertEquals(NodeToString.toString(root), NodeToString.toString(read));
+  }
+
+  @Test
+  public void testDefaultNodesTakeTwoBytes() throws IOException {
+    CSSNode root = new CSSNode();
+    for (int i = 0; i < 100; i++) {
+      root.addChildAt(new CSSNode(), i);
+    }
+
+    // A 5 byte header, then a mask and a child count per node
+    assertEquals(5 + 2 + 100 * 2, write(root, 0).length);
+  }
+
+  @Test
+  public void testLayoutIsRead() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    CSSNode read =
+        CSSNodeSerializer.read(ByteBuffer.wrap(write(root, CSSNodeSerializer.INCLUDE_LAYOUT)));
+
+    assertEquals(NodeToString.toString(root), NodeToString.toString(read));
+    assertTrue(read.isDirty());
+  }
+
+  @Test
+  public void testTreeWithLayoutCacheIsNotLaidOutAgain() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    CSSNode read = CSSNodeSerializer.read(
+        ByteBuffer.wrap(write(root, CSSNodeSerializer.INCLUDE_LAYOUT_CACHE)));
+
+    assertFalse(read.isDirty());
+    assertFalse(read.hasNewLayout());
+    assertFalse(read.getChildAt(2).getChildAt(0).hasNewLayout());
+
+    // The children would be given a new layout too if the root was laid out again
+    read.calculateLayout();
+    assertTrue(read.hasNewLayout());
+    assertFalse(read.getChildAt(1).hasNewLayout());
+    assertFalse(read.getChildAt(2).getChildAt(0).hasNewLayout());
+    assertEquals(NodeToString.toString(root), NodeToString.toString(read));
+  }
+
+  @Test
+  public void testTreeWithLayoutCacheCanBeChangedBeforeLayout() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    CSSNode read = CSSNodeSerializer.read(
+        ByteBuffer.wrap(write(root, CSSNodeSerializer.INCLUDE_LAYOUT_CACHE)));
+    CSSNode.MeasureFunction measureFunction = new CSSNode.MeasureFunction() {
+      @Override
+      public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+        measureOutput.width = 15;
+        measureOutput.height = 35;
+      }
+    };
+
+    read.getChildAt(1).setStyleHeight(40);
+    read.getChildAt(3).setMeasureFunction(measureFunction);
+    read.calculateLayout();
+
+    CSSNode expected = createTree();
+    expected.getChildAt(1).setStyleHeight(40);
+    expected.getChildAt(3).setMeasureFunction(measureFunction);
+    expected.calculateLayout();
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(read));
+  }
+
+  @Test
+  public void testDirtyNodesAreReadWithoutCache() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    root.markLayoutSeen();
+    root.getChildAt(2).markLayoutSeen();
+    root.getChildAt(2).getChildAt(0).markLayoutSeen();
+    root.getChildAt(2).getChildAt(0).setStyleWidth(60);
+    CSSNode read = CSSNodeSerializer.read(
+        ByteBuffer.wrap(write(root, CSSNodeSerializer.INCLUDE_LAYOUT_CACHE)));
+
+    assertTrue(read.isDirty());
+    assertTrue(read.getChildAt(2).isDirty());
+    assertFalse(read.getChildAt(1).isDirty());
+    assertFalse(read.getChildAt(1).hasNewLayout());
+
+    root.calculateLayout();
+    read.calculateLayout();
+    assertEquals(NodeToString.toString(root), NodeToString.toString(read));
+  }
+
+  @Test
+  public void testBufferIsLeftAfterTree() throws IOException {
+    byte[] tree = write(createTree(), 0);
+    ByteBuffer buffer = ByteBuffer.allocate(tree.length * 2);
+    buffer.put(tree).put(tree).flip();
+
+    CSSNodeSerializer.read(buffer);
+    assertEquals(tree.length, buffer.position());
+    CSSNodeSerializer.read(buffer);
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidInputIsRejected() throws IOException {
+    CSSNodeSerializer.read(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6}));
+  }
+}
@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for {@link CSSNode}.
@@ -47,4 +48,112 @@ public class CSSNodeTest {
     parent1.addChildAt(child, 0);
     parent2.addChildAt(child, 0);
   }
+
+  private static class CountingMeasureFunction implements CSSNode.MeasureFunction {
+
+    private int mCallCount;
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      mCallCount++;
+      measureOutput.width = CSSConstants.isUndefined(width) ? 100 : width;
+      measureOutput.height = mCallCount;
+    }
+  }
+
+  @Test
+  public void testMeasureCacheReusesResultForSameWidth() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode node = new CSSNode();
+    node.setMeasureFunction(measureFunction);
+    node.setMeasureCacheCapacity(2);
+
+    assertEquals(1, node.measure(50).height, 0);
+    assertEquals(1, node.measure(50.000001f).height, 0);
+    assertEquals(2, node.measure(CSSConstants.UNDEFINED).height, 0);
+    assertEquals(100, node.measure(CSSConstants.UNDEFINED).width, 0);
+    assertEquals(1, node.measure(50).height, 0);
+
+    assertEquals(2, measureFunction.mCallCount);
+    assertEquals(3, node.getMeasureCacheHitCount());
+    assertEquals(2, node.getMeasureCacheMissCount());
+  }
+
+  @Test
+  public void testMeasureCacheEvictsLeastRecentlyUsedWidth() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode node = new CSSNode();
+    node.setMeasureFunction(measureFunction);
+    node.setMeasureCacheCapacity(2);
+
+    node.measure(10);
+    node.measure(20);
+    node.measure(10);
+    node.measure(30);
+    assertEquals(3, measureFunction.mCallCount);
+
+    node.measure(10);
+    assertEquals(3, measureFunction.mCallCount);
+    node.measure(20);
+    assertEquals(4, measureFunction.mCallCount);
+  }
+
+  @Test
+  public void testMeasureCacheClearedWhenDirtied() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode node = new CSSNode();
+    node.setMeasureFunction(measureFunction);
+    node.setMeasureCacheCapacity(4);
+
+    node.calculateLayout();
+    node.markLayoutSeen();
+    node.calculateLayout();
+    node.markLayoutSeen();
+    assertEquals(1, measureFunction.mCallCount);
+
+    node.setPadding(Spacing.ALL, 5);
+    node.measure(CSSConstants.UNDEFINED);
+    assertEquals(2, measureFunction.mCallCount);
+
+    CountingMeasureFunction otherMeasureFunction = new CountingMeasureFunction();
+    node.setMeasureFunction(otherMeasureFunction);
+    node.measure(CSSConstants.UNDEFINED);
+    assertEquals(1, otherMeasureFunction.mCallCount);
+    assertTrue(node.getMeasureCacheMissCount() > 0);
+  }
+
+  @Test
+  public void testAbsolutePositions() {
+    CSSNode root = new CSSNode();
+    root.setPadding(Spacing.ALL, 10);
+    CSSNode parent = root;
+    for (int i = 0; i < 3; i++) {
+      CSSNode child = new CSSNode();
+      child.setMargin(Spacing.LEFT, 1);
+      child.setPadding(Spacing.TOP, 2);
+      child.setStyleHeight(100 - i * 10);
+      parent.addChildAt(child, 0);
+      parent = child;
+    }
+    root.calculateLayout();
+    root.calculateAbsolutePositions();
+
+    CSSNode node = root;
+    for (int depth = 0; depth < 4; depth++) {
+      float x = depth == 0 ? 0 : 10 + depth;
+      float y = depth == 0 ? 0 : 10 + (depth - 1) * 2;
+      assertEquals(x, node.getAbsoluteLayoutX(), 0);
+      assertEquals(y, node.getAbsoluteLayoutY(), 0);
+      if (depth < 3) {
+        node = node.getChildAt(0);
+      }
+    }
+
+    CSSNode middle = root.getChildAt(0).getChildAt(0);
+    middle.calculateAbsolutePositions();
+    assertEquals(1, middle.getAbsoluteLayoutX(), 0);
+    assertEquals(2, middle.getAbsoluteLayoutY(), 0);
+    assertEquals(2, middle.getChildAt(0).getAbsoluteLayoutX(), 0);
+    assertEquals(4, middle.getChildAt(0).getAbsoluteLayoutY(), 0);
+  }
 }
@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSStyle}.
+ */
+public class CSSStyleTest {
+
+  @Test
+  public void testDefaults() {
+    CSSStyle style = new CSSStyle();
+
+    assertEquals(CSSFlexDirection.COLUMN, style.getFlexDirection());
+    assertEquals(CSSJustify.FLEX_START, style.getJustifyContent());
+    assertEquals(CSSAlign.STRETCH, style.getAlignItems());
+    assertEquals(CSSAlign.AUTO, style.getAlignSelf());
+    assertEquals(CSSPositionType.RELATIVE, style.getPositionType());
+    assertEquals(CSSWrap.NOWRAP, style.getFlexWrap());
+    assertTrue(style.isAlignSelfAuto());
+    assertFalse(style.isPositionAbsolute());
+    assertFalse(style.isFlexWrap());
+  }
+
+  @Test
+  public void testEnumPropertiesDoNotOverlap() {
+    CSSStyle style = new CSSStyle();
+    for (CSSJustify justifyContent : CSSJustify.values()) {
+      for (CSSAlign alignItems : CSSAlign.values()) {
+        for (CSSAlign alignSelf : CSSAlign.values()) {
+          style.setFlexDirection(CSSFlexDirection.ROW);
+          style.setJustifyContent(justifyContent);
+          style.setAlignItems(alignItems);
+          style.setAlignSelf(alignSelf);
+          style.setPositionType(CSSPositionType.ABSOLUTE);
+          style.setFlexWrap(CSSWrap.WRAP);
+
+          assertEquals(CSSFlexDirection.ROW, style.getFlexDirection());
+          assertEquals(justifyContent, style.getJustifyContent());
+          assertEquals(alignItems, style.getAlignItems());
+          assertEquals(alignSelf, style.getAlignSelf());
+          assertEquals(CSSPositionType.ABSOLUTE, style.getPositionType());
+          assertEquals(CSSWrap.WRAP, style.getFlexWrap());
+          assertEquals(alignSelf == CSSAlign.AUTO, style.isAlignSelfAuto());
+        }
+      }
+    }
+
+    style.setFlexDirection(CSSFlexDirection.COLUMN);
+    style.setPositionType(CSSPositionType.RELATIVE);
+    style.setFlexWrap(CSSWrap.NOWRAP);
+    assertEquals(CSSFlexDirection.COLUMN, style.getFlexDirection());
+    assertEquals(CSSJustify.SPACE_AROUND, style.getJustifyContent());
+    assertEquals(CSSAlign.STRETCH, style.getAlignItems());
+    assertEquals(CSSAlign.STRETCH, style.getAlignSelf());
+    assertFalse(style.isPositionAbsolute());
+    assertFalse(style.isFlexWrap());
+  }
+
+  @Test
+  public void testSpacingIsResolvedIntoStyle() {
+    CSSNode node = new CSSNode();
+    node.setMargin(Spacing.HORIZONTAL, 5);
+    node.setMargin(Spacing.LEFT, 7);
+    node.setPadding(Spacing.ALL, 3);
+    node.setBorder(Spacing.BOTTOM, 1);
+
+    assertEquals(7, node.style.getMargin(Spacing.LEFT), 0);
+    assertEquals(5, node.style.getMargin(Spacing.RIGHT), 0);
+    assertEquals(0, node.style.getMargin(Spacing.TOP), 0);
+    assertEquals(3, node.style.getPadding(Spacing.TOP), 0);
+    assertEquals(3, node.style.getPadding(Spacing.RIGHT), 0);
+    assertEquals(1, node.style.getBorder(Spacing.BOTTOM), 0);
+    assertEquals(0, node.style.getBorder(Spacing.TOP), 0);
+  }
+
+  @Test
+  public void testStyleSpacingSettersResolveSpacingTypes() {
+    CSSStyle style = new CSSStyle();
+    style.setMargin(Spacing.ALL, 4);
+    style.setPadding(Spacing.VERTICAL, 2);
+    style.setPadding(Spacing.TOP, 1);
+    style.setBorder(Spacing.HORIZONTAL, 3);
+
+    assertEquals(4, style.getMargin(Spacing.BOTTOM), 0);
+    assertEquals(1, style.getPadding(Spacing.TOP), 0);
+    assertEquals(2, style.getPadding(Spacing.BOTTOM), 0);
+    assertEquals(0, style.getPadding(Spacing.LEFT), 0);
+    assertEquals(3, style.getBorder(Spacing.RIGHT), 0);
+    assertEquals(0, style.getBorder(Spacing.TOP), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStyleSpacingGetterRejectsSpacingTypes() {
+    new CSSStyle().getMargin(Spacing.ALL);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStyleSpacingSetterRejectsInvalidSpacingType() {
+    new CSSStyle().setPadding(Spacing.ALL + 1, 1);
+  }
+
+  @Test
+  public void testAxisSumsFollowSpacing() {
+    int column = CSSFlexDirection.COLUMN.ordinal();
+    int row = CSSFlexDirection.ROW.ordinal();
+    CSSNode node = new CSSNode();
+    node.setMargin(Spacing.VERTICAL, 3);
+    node.setMargin(Spacing.TOP, 1);
+    node.setPadding(Spacing.ALL, 2);
+    node.setBorder(Spacing.LEFT, 5);
+
+    assertEquals(4, node.style.spacing[CSSStyle.MARGIN_AXIS + column], 0);
+    assertEquals(0, node.style.spacing[CSSStyle.MARGIN_AXIS + row], 0);
+    assertEquals(4, node.style.spacing[CSSStyle.PADDING_AND_BORDER_AXIS + column], 0);
+    assertEquals(9, node.style.spacing[CSSStyle.PADDING_AND_BORDER_AXIS + row], 0);
+
+    node.setBorder(Spacing.LEFT, CSSConstants.UNDEFINED);
+    node.style.setMargin(Spacing.RIGHT, 6);
+    assertEquals(6, node.style.spacing[CSSStyle.MARGIN_AXIS + row], 0);
+    assertEquals(4, node.style.spacing[CSSStyle.PADDING_AND_BORDER_AXIS + row], 0);
+  }
+
+  @Test
+  public void testSpacingSharedWhileResolvedToZero() {
+    CSSNode node = new CSSNode();
+    CSSStyle other = new CSSStyle();
+    node.setMargin(Spacing.ALL, 0);
+    node.setPadding(Spacing.LEFT, 0);
+    assertTrue(node.style.spacing == other.spacing);
+
+    // All the sides resolve to zero until the horizontal border is unset
+    node.setBorder(Spacing.HORIZONTAL, 0);
+    node.setBorder(Spacing.VERTICAL, 0);
+    node.setBorder(Spacing.ALL, 5);
+    assertTrue(node.style.spacing == other.spacing);
+
+    node.setBorder(Spacing.HORIZONTAL, CSSConstants.UNDEFINED);
+    assertFalse(node.style.spacing == other.spacing);
+    assertEquals(5, node.style.getBorder(Spacing.LEFT), 0);
+    assertEquals(0, node.style.getBorder(Spacing.TOP), 0);
+  }
+
+  @Test
+  public void testSpacingSharedUntilSet() {
+    CSSStyle style = new CSSStyle();
+    CSSStyle other = new CSSStyle();
+    assertTrue(style.spacing == other.spacing);
+
+    style.setMargin(Spacing.LEFT, 0);
+    assertTrue(style.spacing == other.spacing);
+
+    style.setPadding(Spacing.TOP, 2);
+    assertFalse(style.spacing == other.spacing);
+    assertEquals(2, style.getPadding(Spacing.TOP), 0);
+    assertEquals(0, other.getPadding(Spacing.TOP), 0);
+  }
+
+  @Test
+  public void testNodeSpacingAllocatedWhenSet() {
+    CSSNode node = new CSSNode();
+    CSSNode other = new CSSNode();
+    node.setMargin(Spacing.ALL, CSSConstants.UNDEFINED);
+    assertTrue(node.style.spacing == other.style.spacing);
+
+    node.setBorder(Spacing.VERTICAL, 1);
+    assertFalse(node.style.spacing == other.style.spacing);
+    assertEquals(1, node.style.getBorder(Spacing.TOP), 0);
+    assertEquals(0, other.style.getBorder(Spacing.TOP), 0);
+  }
+
+  private static CSSStyle.Builder createCellStyleBuilder() {
+    return new CSSStyle.Builder()
+        .setFlexDirection(CSSFlexDirection.ROW)
+        .setAlignItems(CSSAlign.CENTER)
+        .setMargin(Spacing.HORIZONTAL, 5)
+        .setPadding(Spacing.ALL, 2)
+        .setStyleWidth(40)
+        .setStyleHeight(20);
+  }
+
+  @Test
+  public void testBuilderInternsEqualStyles() {
+    CSSStyle style = createCellStyleBuilder().build();
+
+    assertTrue(style == createCellStyleBuilder().build());
+    assertFalse(style == createCellStyleBuilder().setFlex(1).build());
+    assertTrue(style.isInterned());
+  }
+
+  @Test
+  public void testBuilderCanBeReused() {
+    CSSStyle.Builder builder = createCellStyleBuilder();
+    CSSStyle style = builder.build();
+    builder.setStyleWidth(60);
+
+    assertEquals(40, style.getDimension(CSSLayout.DIMENSION_WIDTH), 0);
+    assertEquals(60, builder.build().getDimension(CSSLayout.DIMENSION_WIDTH), 0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testInternedStyleCannotBeModified() {
+    createCellStyleBuilder().build().setAlignSelf(CSSAlign.FLEX_END);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testInternedStyleDimensionsCannotBeModified() {
+    createCellStyleBuilder().build().setDimension(CSSLayout.DIMENSION_WIDTH, 5);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testInternedStyleFlexCannotBeModified() {
+    createCellStyleBuilder().build().setFlex(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNodeOnlySharesInternedStyles() {
+    new CSSNode().setStyle(new CSSStyle());
+  }
+
+  @Test
+  public void testNodeCopiesSharedStyleBeforeChangingIt() {
+    CSSStyle style = createCellStyleBuilder().build();
+    CSSNode node = new CSSNode();
+    CSSNode other = new CSSNode();
+    node.setStyle(style);
+    other.setStyle(style);
+    assertTrue(node.style == other.style);
+
+    node.setMargin(Spacing.LEFT, 1);
+
+    assertFalse(node.style == other.style);
+    assertTrue(other.style == style);
+    assertEquals(1, node.style.getMargin(Spacing.LEFT), 0);
+    assertEquals(5, node.style.getMargin(Spacing.RIGHT), 0);
+    assertEquals(5, other.style.getMargin(Spacing.LEFT), 0);
+  }
+
+  @Test
+  public void testSharedStyleLaysOutLikeSetters() {
+    CSSStyle cellStyle = createCellStyleBuilder().build();
+    CSSNode shared = new CSSNode();
+    CSSNode expected = new CSSNode();
+    for (int i = 0; i < 3; i++) {
+      CSSNode cell = new CSSNode();
+      cell.setStyle(cellStyle);
+      shared.addChildAt(cell, i);
+
+      CSSNode expectedCell = new CSSNode();
+      expectedCell.setFlexDirection(CSSFlexDirection.ROW);
+      expectedCell.setAlignItems(CSSAlign.CENTER);
+      expectedCell.setMargin(Spacing.HORIZONTAL, 5);
+      expectedCell.setPadding(Spacing.ALL, 2);
+      expectedCell.setStyleWidth(40);
+      expectedCell.setStyleHeight(20);
+      expected.addChildAt(expectedCell, i);
+    }
+
+    shared.calculateLayout();
+    expected.calculateLayout();
+
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(shared));
+  }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSNode#setChildProvider(CSSNode.ChildProvider, int)}.
+ */
+public class ChildProviderTest {
+
+  private static final float CHILD_HEIGHT = 50;
+
+  private static class RowProvider implements CSSNode.ChildProvider {
+
+    private final int mChildCount;
+    private int mCreateCount;
+
+    private RowProvider(int childCount) {
+      mChildCount = childCount;
+    }
+
+    @Override
+    public int getChildCount() {
+      return mChildCount;
+    }
+
+    @Override
+    public CSSNode createChildAt(int index) {
+      mCreateCount++;
+      CSSNode child = new CSSNode();
+      child.setStyleHeight(CHILD_HEIGHT);
+      return child;
+    }
+  }
+
+  private static CSSNode createList() {
+    CSSNode list = new CSSNode();
+    list.setStyleWidth(300);
+    list.setStyleHeight(500);
+    return list;
+  }
+
+  private static void assertLaidOut(CSSNode list, int index) {
+    CSSNode child = list.getMaterializedChildAt(index);
+    assertTrue(child != null);
+    assertEquals(index * CHILD_HEIGHT, child.getLayoutY(), 0);
+    assertEquals(300, child.getLayoutWidth(), 0);
+    assertEquals(CHILD_HEIGHT, child.getLayoutHeight(), 0);
+  }
+
+  @Test
+  public void testOnlyChildrenNearViewportAreCreated() {
+    RowProvider provider = new RowProvider(1000000);
+    CSSNode list = createList();
+    list.setChildProvider(provider, 100);
+    list.setViewport(0, 500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    assertEquals(1000000, list.getChildCount());
+    // The viewport and one viewport length after it
+    assertEquals(21, provider.mCreateCount);
+    assertEquals(21, list.getMaterializedChildCount());
+    assertLaidOut(list, 0);
+    assertLaidOut(list, 20);
+    assertNull(list.getMaterializedChildAt(21));
+
+    LayoutTestUtils.markLayoutSeen(list);
+    list.setViewport(25000000, 25000500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    assertEquals(53, provider.mCreateCount);
+    assertLaidOut(list, 500000);
+    assertLaidOut(list, 500010);
+  }
+
+  @Test
+  public void testChildrenFarFromViewportAreEvicted() {
+    RowProvider provider = new RowProvider(1000);
+    CSSNode list = createList();
+    list.setChildProvider(provider, 40);
+    list.setViewport(0, 500, CHILD_HEIGHT);
+    list.calculateLayout();
+    CSSNode first = list.getMaterializedChildAt(0);
+
+    LayoutTestUtils.markLayoutSeen(list);
+    list.setViewport(25000, 25500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    // The 32 children near the new viewport are created, then the first 13 are evicted
+    assertEquals(40, list.getMaterializedChildCount());
+    assertNull(list.getMaterializedChildAt(0));
+    assertNull(list.getMaterializedChildAt(12));
+    assertTrue(list.getMaterializedChildAt(13) != null);
+    assertNull(first.getParent());
+    assertLaidOut(list, 500);
+
+    LayoutTestUtils.markLayoutSeen(list);
+    list.setViewport(0, 500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    assertEquals(66, provider.mCreateCount);
+    assertEquals(40, list.getMaterializedChildCount());
+    assertTrue(list.getMaterializedChildAt(0) != first);
+    assertLaidOut(list, 0);
+  }
+
+  @Test
+  public void testChildrenWithoutViewportAreAllCreated() {
+    RowProvider provider = new RowProvider(30);
+    CSSNode list = createList();
+    list.setChildProvider(provider, 10);
+    list.calculateLayout();
+
+    CSSNode expected = createList();
+    for (int i = 0; i < 30; i++) {
+      expected.addChildAt(provider.createChildAt(i), i);
+    }
+    expected.calculateLayout();
+
+    assertEquals(30, list.getMaterializedChildCount());
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(list));
+  }
+
+  @Test
+  public void testGetChildAtCreatesChild() {
+    RowProvider provider = new RowProvider(10);
+    CSSNode list = createList();
+    list.setChildProvider(provider, 10);
+
+    CSSNode child = list.getChildAt(3);
+
+    assertTrue(child.getParent() == list);
+    assertTrue(list.getChildAt(3) == child);
+    assertEquals(1, provider.mCreateCount);
+    assertEquals(3, list.indexOf(child));
+  }
+
+  @Test
+  public void testBackToEarlierSizeLaysOutChildrenAgain() {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(300);
+    CSSNode column = new CSSNode();
+    root.addChildAt(column, 0);
+    CSSNode list = createList();
+    list.setStyleWidth(CSSConstants.UNDEFINED);
+    list.setChildProvider(new RowProvider(20), 100);
+    column.addChildAt(list, 0);
+
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    assertEquals(200, list.getMaterializedChildAt(0).getLayoutWidth(), 0);
+
+    // column has an entry for a width of 300, the layouts of the rows aren't kept in it
+    root.setStyleWidth(300);
+    root.calculateLayout();
+
+    assertLaidOut(list, 0);
+    assertLaidOut(list, 19);
+  }
+
+  @Test
+  public void testWalkersSkipChildrenNotCreated() {
+    RowProvider provider = new RowProvider(1000);
+    CSSNode list = createList();
+    list.setChildProvider(provider, 100);
+    list.setViewport(0, 500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    LayoutSnapshot snapshot = LayoutSnapshot.create(list, false);
+    LayoutSpatialIndex index = new LayoutSpatialIndex(list);
+    index.update();
+
+    assertEquals(21, provider.mCreateCount);
+    assertEquals(22, snapshot.getNodeCount());
+    assertEquals(22, index.getNodeCount());
+    assertTrue(index.hitTest(10, 20 * CHILD_HEIGHT + 1) == list.getMaterializedChildAt(20));
+    assertNull(index.hitTest(10, 21 * CHILD_HEIGHT + 1));
+  }
+
+  @Test
+  public void testResetForgetsProvider() {
+    CSSNode list = createList();
+    list.setChildProvider(new RowProvider(10), 10);
+    list.getChildAt(3);
+
+    list.reset();
+
+    assertEquals(0, list.getChildCount());
+    assertEquals(0, list.getMaterializedChildCount());
+    list.addChildAt(new CSSNode(), 0);
+    assertEquals(1, list.getChildCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testChildrenOfProviderCannotBeAdded() {
+    CSSNode list = createList();
+    list.setChildProvider(new RowProvider(10), 10);
+    list.addChildAt(new CSSNode(), 0);
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link CSSNode#calculateLayout()} doesn't allocate once the tree has been built and
+ * laid out, so that layout on a render thread doesn't cause GC pauses.
+ */
+public class LayoutAllocationTest {
+
+  private static final int WARM_UP_ITERATIONS = 2000;
+  private static final int MEASURED_ITERATIONS = 1000;
+  // The JIT can allocate on the measured thread while it compiles or deoptimizes code, so a few
+  // windows are tried. An allocation in the layout code itself shows up in every one of them.
+  private static final int MAX_MEASURED_WINDOWS = 10;
+
+  private com.sun.management.ThreadMXBean mThreadMXBean;
+
+  private static class FixedMeasureFunction implements CSSNode.MeasureFunction {
+
+    private int mMeasureCount;
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      mMeasureCount++;
+      measureOutput.width = CSSConstants.isUndefined(width) ? 180 : Math.min(width, 180);
+      measureOutput.height = 18 * (float) Math.ceil(180 / measureOutput.width);
+    }
+  }
+
+  private static CSSNode createTree(FixedMeasureFunction measureFunction) {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(1000);
+    root.setPadding(Spacing.ALL, 10);
+    for (int i = 0; i < 8; i++) {
+      CSSNode row = new CSSNode();
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setWrap(i % 2 == 0 ? CSSWrap.WRAP : CSSWrap.NOWRAP);
+      row.setAlignItems(i % 3 == 0 ? CSSAlign.CENTER : CSSAlign.STRETCH);
+      row.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+      row.setMargin(Spacing.BOTTOM, 5);
+      for (int j = 0; j < 6; j++) {
+        CSSNode cell = new CSSNode();
+        cell.setPadding(Spacing.ALL, 4);
+        if (j % 3 == 0) {
+          cell.setFlex(1);
+        } else {
+          cell.setStyleWidth(90 + j);
+        }
+        if (j == 5) {
+          cell.setPositionType(CSSPositionType.ABSOLUTE);
+          cell.setPositionRight(0);
+          cell.setPositionTop(2);
+        }
+        CSSNode text = new CSSNode();
+        text.setMeasureFunction(measureFunction);
+        cell.addChildAt(text, 0);
+        row.addChildAt(cell, j);
+      }
+      root.addChildAt(row, i);
+    }
+    return root;
+  }
+
+  private static void relayout(CSSNode root, int iteration) {
+    // Cycle through more widths and paddings than a LayoutCache holds, so that every node is laid
+    // out again, not restored from its cache
+    root.getChildAt(iteration % root.getChildCount()).setPadding(Spacing.LEFT, iteration % 13);
+    root.setStyleWidth(900 + iteration % 100);
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+  }
+
+  private long getAllocatedBytes() {
+    return mThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private long getAllocatedBytesForCachedLayout(CSSNode root) {
+    long allocatedBytes = 0;
+    for (int window = 0; window < MAX_MEASURED_WINDOWS; window++) {
+      long before = getAllocatedBytes();
+      for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+        root.calculateLayout();
+        LayoutTestUtils.markLayoutSeen(root);
+      }
+      allocatedBytes = getAllocatedBytes() - before;
+      if (allocatedBytes == 0) {
+        break;
+      }
+    }
+    return allocatedBytes;
+  }
+
+  private long getAllocatedBytesForRelayout(CSSNode root) {
+    long allocatedBytes = 0;
+    for (int window = 0; window < MAX_MEASURED_WINDOWS; window++) {
+      long before = getAllocatedBytes();
+      for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+        relayout(root, i);
+      }
+      allocatedBytes = getAllocatedBytes() - before;
+      if (allocatedBytes == 0) {
+        break;
+      }
+    }
+    return allocatedBytes;
+  }
+
+  @Before
+  public void setUp() {
+    java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    // Allocations can only be counted on JVMs with the com.sun.management extension
+    Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    mThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+    Assume.assumeTrue(mThreadMXBean.isThreadAllocatedMemorySupported());
+    mThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void testCachedLayoutDoesNotAllocate() {
+    FixedMeasureFunction measureFunction = new FixedMeasureFunction();
+    CSSNode root = createTree(measureFunction);
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      root.calculateLayout();
+      LayoutTestUtils.markLayoutSeen(root);
+    }
+    int measureCount = measureFunction.mMeasureCount;
+
+    assertEquals(0, getAllocatedBytesForCachedLayout(root));
+    assertEquals(measureCount, measureFunction.mMeasureCount);
+  }
+
+  @Test
+  public void testRelayoutDoesNotAllocate() {
+    FixedMeasureFunction measureFunction = new FixedMeasureFunction();
+    CSSNode root = createTree(measureFunction);
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      relayout(root, i);
+    }
+    int measureCount = measureFunction.mMeasureCount;
+
+    assertEquals(0, getAllocatedBytesForRelayout(root));
+    // The texts of the two flexible cells of each row are measured again on each iteration
+    assertTrue(measureFunction.mMeasureCount - measureCount >= MEASURED_ITERATIONS * 8 * 2);
+  }
+}
@@ -229,4 +229,499 @@ public class LayoutCachingTest {
     assertTrue(c0.hasNewLayout());
     assertFalse(c0c0.hasNewLayout());
   }
+
+  private static class CountingMeasureFunction implements CSSNode.MeasureFunction {
+
+    int measureCount;
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      measureCount++;
+      measureOutput.width = width;
+      measureOutput.height = 1000 / width;
+    }
+  }
+
+  private CSSNode createAlternatingTree(float width, CSSNode.MeasureFunction measureFunction) {
+    CSSNode root = new CSSNode();
+    CSSNode c0 = new CSSNode();
+    CSSNode c0c0 = new CSSNode();
+    CSSNode c0c1 = new CSSNode();
+    root.setStyleWidth(width);
+    root.addChildAt(c0, 0);
+    c0.addChildAt(c0c0, 0);
+    c0.addChildAt(c0c1, 1);
+    c0c0.setMeasureFunction(measureFunction);
+    c0c1.setStyleHeight(10);
+    return root;
+  }
+
+  private void assertLayoutsEqual(CSSNode expected, CSSNode actual) {
+    assertEquals(expected.getLayoutX(), actual.getLayoutX(), 0.001f);
+    assertEquals(expected.getLayoutY(), actual.getLayoutY(), 0.001f);
+    assertEquals(expected.getLayoutWidth(), actual.getLayoutWidth(), 0.001f);
+    assertEquals(expected.getLayoutHeight(), actual.getLayoutHeight(), 0.001f);
+    assertEquals(expected.getChildCount(), actual.getChildCount());
+    for (int i = 0; i < expected.getChildCount(); i++) {
+      assertLayoutsEqual(expected.getChildAt(i), actual.getChildAt(i));
+    }
+  }
+
+  @Test
+  public void testReusesLayoutsWhenConstraintsAlternate() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode root = createAlternatingTree(100, measureFunction);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    assertEquals(2, measureFunction.measureCount);
+
+    root.setStyleWidth(100);
+    root.calculateLayout();
+    assertTreeHasNewLayout(true, root);
+    assertLayoutsEqual(createAlternatingTreeLayout(100), root);
+    markLayoutAppliedForTree(root);
+
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    assertTreeHasNewLayout(true, root);
+    assertLayoutsEqual(createAlternatingTreeLayout(200), root);
+
+    assertEquals(2, measureFunction.measureCount);
+  }
+
+  @Test
+  public void testInvalidatesAllCachedLayoutsWhenDirtied() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode root = createAlternatingTree(100, measureFunction);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    CSSNode c0c0 = root.getChildAt(0).getChildAt(0);
+    c0c0.setPadding(Spacing.TOP, 5);
+    root.setStyleWidth(100);
+    root.calculateLayout();
+
+    assertEquals(3, measureFunction.measureCount);
+    assertEquals(15, c0c0.getLayoutHeight(), 0.001f);
+  }
+
+  private CSSNode createMarginTree(float rootWidth, float leafPadding) {
+    CSSNode root = new CSSNode();
+    CSSNode card = new CSSNode();
+    CSSNode box = new CSSNode();
+    CSSNode leaf = new CSSNode();
+    root.setStyleWidth(rootWidth);
+    card.setMargin(Spacing.ALL, 10);
+    box.setStyleWidth(20);
+    box.setStyleHeight(20);
+    leaf.setPadding(Spacing.TOP, leafPadding);
+    root.addChildAt(card, 0);
+    card.addChildAt(box, 0);
+    box.addChildAt(leaf, 0);
+    return root;
+  }
+
+  @Test
+  public void testFailedRestoreDoesNotOffsetNodeTwice() {
+    CSSNode root = createMarginTree(100, 0);
+    CSSNode card = root.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    // The entry of card for a width of 100 isn't current and its child is dirty
+    card.getChildAt(0).getChildAt(0).setPadding(Spacing.TOP, 5);
+    assertFalse(card.isDirty());
+    root.setStyleWidth(100);
+    root.calculateLayout();
+
+    assertEquals(10, card.getLayoutX(), 0.001f);
+    assertEquals(10, card.getLayoutY(), 0.001f);
+    CSSNode expected = createMarginTree(100, 5);
+    expected.calculateLayout();
+    assertLayoutsEqual(expected, root);
+  }
+
+  private static class FlexItemProvider implements CSSNode.ChildProvider {
+
+    private final int mChildCount;
+
+    private FlexItemProvider(int childCount) {
+      mChildCount = childCount;
+    }
+
+    @Override
+    public int getChildCount() {
+      return mChildCount;
+    }
+
+    @Override
+    public CSSNode createChildAt(int index) {
+      CSSNode child = new CSSNode();
+      child.setFlex(1);
+      child.setStyleHeight(10);
+      return child;
+    }
+  }
+
+  private CSSNode createProviderTree(float rootWidth) {
+    CSSNode root = new CSSNode();
+    CSSNode c0 = new CSSNode();
+    CSSNode list = new CSSNode();
+    root.setStyleWidth(rootWidth);
+    list.setFlexDirection(CSSFlexDirection.ROW);
+    list.setChildProvider(new FlexItemProvider(2), 10);
+    root.addChildAt(c0, 0);
+    c0.addChildAt(list, 0);
+    return root;
+  }
+
+  @Test
+  public void testFailedNestedRestoreKeepsCurrentEntries() {
+    CSSNode root = createProviderTree(100);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    root.setStyleWidth(200);
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    // c0 has an entry for a width of 100, but the layouts of the children of list aren't kept
+    root.setStyleWidth(100);
+    root.calculateLayout();
+
+    CSSNode list = root.getChildAt(0).getChildAt(0);
+    assertEquals(50, list.getChildAt(0).getLayoutWidth(), 0.001f);
+    assertEquals(50, list.getChildAt(1).getLayoutX(), 0.001f);
+    CSSNode expected = createProviderTree(100);
+    expected.calculateLayout();
+    assertLayoutsEqual(expected, root);
+  }
+
+  private CSSNode createAlternatingTreeLayout(float width) {
+    CSSNode root = createAlternatingTree(width, new CountingMeasureFunction());
+    root.calculateLayout();
+    return root;
+  }
+
+  private CSSNode createPositionedTree(
+      float absoluteTop,
+      float relativeLeft,
+      CSSNode.MeasureFunction measureFunction) {
+    CSSNode root = new CSSNode();
+    CSSNode c0 = new CSSNode();
+    CSSNode c1 = new CSSNode();
+    CSSNode c0c0 = new CSSNode();
+    CSSNode c0c1 = new CSSNode();
+    CSSNode c0c2 = new CSSNode();
+    CSSNode c0c0c0 = new CSSNode();
+    root.setStyleWidth(300);
+    root.addChildAt(c0, 0);
+    root.addChildAt(c1, 1);
+    c0.setPadding(Spacing.ALL, 5);
+    c0.addChildAt(c0c0, 0);
+    c0.addChildAt(c0c1, 1);
+    c0.addChildAt(c0c2, 2);
+    c0c0.setPositionType(CSSPositionType.ABSOLUTE);
+    c0c0.setPositionTop(absoluteTop);
+    c0c0.setPositionRight(10);
+    c0c0.setStyleWidth(50);
+    c0c0.addChildAt(c0c0c0, 0);
+    c0c0c0.setStyleHeight(20);
+    c0c1.setPositionLeft(relativeLeft);
+    c0c1.setStyleHeight(40);
+    c0c2.setMeasureFunction(measureFunction);
+    c1.setMeasureFunction(measureFunction);
+    return root;
+  }
+
+  @Test
+  public void testPositionChangeOnlyLaysOutParent() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode root = createPositionedTree(10, 0, measureFunction);
+    CSSNode c0 = root.getChildAt(0);
+    CSSNode c0c0 = c0.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    int measureCount = measureFunction.measureCount;
+
+    c0c0.setPositionTop(30);
+    c0.getChildAt(1).setPositionLeft(15);
+    root.calculateLayout();
+
+    assertTrue(root.hasNewLayout());
+    assertTrue(c0.hasNewLayout());
+    assertTrue(c0c0.hasNewLayout());
+    assertTrue(c0.getChildAt(1).hasNewLayout());
+    assertFalse(root.getChildAt(1).hasNewLayout());
+    assertEquals(measureCount, measureFunction.measureCount);
+    assertLayoutsEqual(createPositionedTreeLayout(30, 15), root);
+  }
+
+  @Test
+  public void testPositionChangeOnNestedNodeKeepsAncestorsLayout() {
+    CSSNode root = createPositionedTree(10, 0, new CountingMeasureFunction());
+    CSSNode c0c0 = root.getChildAt(0).getChildAt(0);
+    CSSNode c0c0c0 = c0c0.getChildAt(0);
+    CSSNode c0c0c0c0 = new CSSNode();
+    c0c0c0c0.setPositionType(CSSPositionType.ABSOLUTE);
+    c0c0c0.addChildAt(c0c0c0c0, 0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    c0c0c0c0.setPositionLeft(7);
+    root.calculateLayout();
+
+    assertTrue(c0c0c0c0.hasNewLayout());
+    assertEquals(7, c0c0c0c0.getLayoutX(), 0.001f);
+    assertEquals(240, c0c0.getLayoutX(), 0.001f);
+    assertEquals(10, c0c0.getLayoutY(), 0.001f);
+  }
+
+  @Test
+  public void testSizeChangeAfterPositionChangeInvalidatesAncestors() {
+    CSSNode root = createPositionedTree(10, 0, new CountingMeasureFunction());
+    CSSNode c0c1 = root.getChildAt(0).getChildAt(1);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    c0c1.setPositionLeft(15);
+    c0c1.setStyleHeight(80);
+    root.calculateLayout();
+
+    CSSNode expected = createPositionedTree(10, 15, new CountingMeasureFunction());
+    expected.getChildAt(0).getChildAt(1).setStyleHeight(80);
+    expected.calculateLayout();
+    assertLayoutsEqual(expected, root);
+  }
+
+  private CSSNode createPositionedTreeLayout(float absoluteTop, float relativeLeft) {
+    CSSNode root = createPositionedTree(absoluteTop, relativeLeft, new CountingMeasureFunction());
+    root.calculateLayout();
+    return root;
+  }
+
+  private CSSNode createBoundaryTree(float cardWidth, CSSNode.MeasureFunction measureFunction) {
+    CSSNode root = new CSSNode();
+    CSSNode card = new CSSNode();
+    CSSNode text = new CSSNode();
+    CSSNode sibling = new CSSNode();
+    root.setStyleWidth(200);
+    card.setStyleWidth(cardWidth);
+    card.setStyleHeight(100);
+    text.setMeasureFunction(measureFunction);
+    sibling.setMeasureFunction(measureFunction);
+    root.addChildAt(card, 0);
+    root.addChildAt(sibling, 1);
+    card.addChildAt(text, 0);
+    return root;
+  }
+
+  @Test
+  public void testChangeInsideRelayoutBoundaryOnlyLaysOutBoundary() {
+    CountingMeasureFunction measureFunction = new CountingMeasureFunction();
+    CSSNode root = createBoundaryTree(100, measureFunction);
+    CSSNode card = root.getChildAt(0);
+    CSSNode text = card.getChildAt(0);
+    CSSNode sibling = root.getChildAt(1);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+    int measureCount = measureFunction.measureCount;
+
+    text.setPadding(Spacing.TOP, 5);
+    assertTrue(card.isRelayoutBoundary());
+    assertFalse(root.isDirty());
+    assertTrue(root.hasDirtyDescendant());
+    root.calculateLayout();
+
+    assertTrue(card.hasNewLayout());
+    assertTrue(text.hasNewLayout());
+    assertFalse(sibling.hasNewLayout());
+    assertEquals(measureCount + 1, measureFunction.measureCount);
+
+    CSSNode expected = createBoundaryTree(100, new CountingMeasureFunction());
+    expected.getChildAt(0).getChildAt(0).setPadding(Spacing.TOP, 5);
+    expected.calculateLayout();
+    assertLayoutsEqual(expected, root);
+  }
+
+  @Test
+  public void testAddingChildToRelayoutBoundaryOnlyLaysOutBoundary() {
+    CSSNode root = createBoundaryTree(100, new CountingMeasureFunction());
+    CSSNode card = root.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    CSSNode added = new CSSNode();
+    added.setStyleHeight(20);
+    card.addChildAt(added, 0);
+    assertFalse(root.isDirty());
+    root.calculateLayout();
+
+    assertTrue(card.hasNewLayout());
+    assertFalse(root.getChildAt(1).hasNewLayout());
+    assertEquals(20, card.getChildAt(1).getLayoutY(), 0.001f);
+  }
+
+  @Test
+  public void testSizeChangeOfRelayoutBoundaryInvalidatesAncestors() {
+    CSSNode root = createBoundaryTree(100, new CountingMeasureFunction());
+    CSSNode card = root.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    card.getChildAt(0).setPadding(Spacing.TOP, 5);
+    card.setStyleWidth(150);
+    assertTrue(root.isDirty());
+    root.calculateLayout();
+
+    CSSNode expected = createBoundaryTree(150, new CountingMeasureFunction());
+    expected.getChildAt(0).getChildAt(0).setPadding(Spacing.TOP, 5);
+    expected.calculateLayout();
+    assertLayoutsEqual(expected, root);
+  }
+
+  @Test
+  public void testFlexibleNodeIsNotRelayoutBoundary() {
+    CSSNode root = createBoundaryTree(100, new CountingMeasureFunction());
+    CSSNode card = root.getChildAt(0);
+    card.setFlex(1);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    card.getChildAt(0).setPadding(Spacing.TOP, 5);
+    assertFalse(card.isRelayoutBoundary());
+    assertTrue(root.isDirty());
+  }
+
+  /**
+   * A 100 wide column with a 10 high child, then a child of 30x30 that contains a 10 high child.
+   */
+  private CSSNode createOnlyMarkChangedTree() {
+    CSSNode root = new CSSNode();
+    CSSNode c0 = new CSSNode();
+    CSSNode c1 = new CSSNode();
+    CSSNode c1c0 = new CSSNode();
+    root.setStyleWidth(100);
+    c0.setStyleHeight(10);
+    c1.setStyleWidth(30);
+    c1.setStyleHeight(30);
+    c1c0.setStyleHeight(10);
+    root.addChildAt(c0, 0);
+    root.addChildAt(c1, 1);
+    c1.addChildAt(c1c0, 0);
+    root.setOnlyMarkChangedLayouts(true);
+    return root;
+  }
+
+  @Test
+  public void testOnlyMarkChangedLayoutsOnCacheHit() {
+    CSSNode root = createOnlyMarkChangedTree();
+
+    root.calculateLayout();
+    assertTreeHasNewLayout(true, root);
+    markLayoutAppliedForTree(root);
+
+    root.calculateLayout();
+    assertTreeHasNewLayout(false, root);
+  }
+
+  @Test
+  public void testOnlyMarkChangedLayoutsWhenRelaidOutIdentically() {
+    CSSNode root = createOnlyMarkChangedTree();
+    CSSNode c0 = root.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    // Same width as the one c0 is stretched to
+    c0.setStyleWidth(100);
+    assertTrue(root.isDirty());
+    root.calculateLayout();
+    assertTreeHasNewLayout(false, root);
+  }
+
+  @Test
+  public void testOnlyMarkChangedLayoutsMarksMovedNodes() {
+    CSSNode root = createOnlyMarkChangedTree();
+    CSSNode c0 = root.getChildAt(0);
+    CSSNode c1 = root.getChildAt(1);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    c0.setStyleHeight(20);
+    root.calculateLayout();
+
+    assertTrue(root.hasNewLayout());
+    assertTrue(c0.hasNewLayout());
+    assertTrue(c1.hasNewLayout());
+    assertEquals(20, c1.getLayoutY(), 0.001f);
+    assertFalse(c1.getChildAt(0).hasNewLayout());
+  }
+
+  @Test
+  public void testOnlyMarkChangedLayoutsMarksAncestorsOfChangedNodes() {
+    CSSNode root = createOnlyMarkChangedTree();
+    CSSNode c1 = root.getChildAt(1);
+    CSSNode c1c0 = c1.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    c1c0.setStyleHeight(20);
+    root.calculateLayout();
+
+    // c1 and root keep their size, but c1c0 can only be found through them
+    assertTrue(root.hasNewLayout());
+    assertTrue(c1.hasNewLayout());
+    assertTrue(c1c0.hasNewLayout());
+    assertFalse(root.getChildAt(0).hasNewLayout());
+    LayoutTestUtils.markLayoutSeen(root);
+
+    root.calculateLayout();
+    assertTreeHasNewLayout(false, root);
+  }
+
+  @Test
+  public void testOnlyMarkChangedLayoutsComparesWithLastSeenLayout() {
+    CSSNode root = createOnlyMarkChangedTree();
+    CSSNode c0 = root.getChildAt(0);
+
+    root.calculateLayout();
+    markLayoutAppliedForTree(root);
+
+    c0.setStyleHeight(20);
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+
+    // Back to the layout of the first layout, which isn't the one last seen anymore
+    c0.setStyleHeight(10);
+    root.calculateLayout();
+    assertTrue(c0.hasNewLayout());
+    assertTrue(root.getChildAt(1).hasNewLayout());
+    LayoutTestUtils.markLayoutSeen(root);
+
+    root.setOnlyMarkChangedLayouts(false);
+    root.calculateLayout();
+    assertTrue(root.hasNewLayout());
+  }
 }
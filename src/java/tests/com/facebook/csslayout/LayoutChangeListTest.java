@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSNode#calculateLayout(LayoutChangeList)}.
+ */
+public class LayoutChangeListTest {
+
+  /**
+   * A 100 wide column of 5 rows of 20 high, each with 2 cells of 30 side by side.
+   */
+  private static CSSNode createTree() {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(100);
+    for (int i = 0; i < 5; i++) {
+      CSSNode row = new CSSNode();
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setStyleHeight(20);
+      root.addChildAt(row, i);
+      for (int j = 0; j < 2; j++) {
+        CSSNode cell = new CSSNode();
+        cell.setStyleWidth(30);
+        row.addChildAt(cell, j);
+      }
+    }
+    return root;
+  }
+
+  private static void assertNoNewLayout(CSSNode node) {
+    assertFalse(node.hasNewLayout());
+    for (int i = 0; i < node.getChildCount(); i++) {
+      assertNoNewLayout(node.getChildAt(i));
+    }
+  }
+
+  private static int indexOf(LayoutChangeList changes, CSSNode node) {
+    for (int i = 0; i < changes.size(); i++) {
+      if (changes.getNode(i) == node) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Test
+  public void testFirstLayoutListsEveryNode() {
+    CSSNode root = createTree();
+    LayoutChangeList changes = new LayoutChangeList();
+    root.calculateLayout(changes);
+
+    assertEquals(16, changes.size());
+    assertNoNewLayout(root);
+    int index = indexOf(changes, root.getChildAt(3).getChildAt(1));
+    assertEquals(0, changes.getOldX(index), 0);
+    assertTrue(CSSConstants.isUndefined(changes.getOldWidth(index)));
+    assertEquals(30, changes.getNewX(index), 0);
+    assertEquals(0, changes.getNewY(index), 0);
+    assertEquals(30, changes.getNewWidth(index), 0);
+    assertEquals(20, changes.getNewHeight(index), 0);
+    assertTrue(changes.getNode(0) == root);
+  }
+
+  @Test
+  public void testUnchangedLayoutListsNothing() {
+    CSSNode root = createTree();
+    LayoutChangeList changes = new LayoutChangeList();
+    root.calculateLayout(changes);
+    root.calculateLayout(changes);
+
+    assertEquals(0, changes.size());
+    assertNoNewLayout(root);
+  }
+
+  @Test
+  public void testOnlyChangedNodesAreListed() {
+    CSSNode root = createTree();
+    LayoutChangeList changes = new LayoutChangeList();
+    root.calculateLayout(changes);
+    root.getChildAt(2).setStyleHeight(50);
+    root.calculateLayout(changes);
+
+    // The row that grew and its stretched cells, the rows below it that moved and the root
+    assertEquals(6, changes.size());
+    assertNoNewLayout(root);
+    int index = indexOf(changes, root.getChildAt(2));
+    assertEquals(20, changes.getOldHeight(index), 0);
+    assertEquals(50, changes.getNewHeight(index), 0);
+    index = indexOf(changes, root.getChildAt(4));
+    assertEquals(80, changes.getOldY(index), 0);
+    assertEquals(110, changes.getNewY(index), 0);
+    assertEquals(50, changes.getNewHeight(indexOf(changes, root.getChildAt(2).getChildAt(0))), 0);
+    assertEquals(-1, indexOf(changes, root.getChildAt(3).getChildAt(0)));
+    assertEquals(-1, indexOf(changes, root.getChildAt(1)));
+    assertEquals(130, changes.getNewHeight(indexOf(changes, root)), 0);
+  }
+
+  @Test
+  public void testChangesAreRelativeToLastSeenLayout() {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    root.markLayoutSeen();
+    for (int i = 0; i < root.getChildCount(); i++) {
+      root.getChildAt(i).markLayoutSeen();
+      root.getChildAt(i).getChildAt(0).markLayoutSeen();
+      root.getChildAt(i).getChildAt(1).markLayoutSeen();
+    }
+    root.getChildAt(0).getChildAt(0).setStyleWidth(40);
+    LayoutChangeList changes = new LayoutChangeList();
+    root.calculateLayout(changes);
+
+    // The cell that grew and the cell next to it that moved
+    assertEquals(2, changes.size());
+    assertEquals(30, changes.getOldX(indexOf(changes, root.getChildAt(0).getChildAt(1))), 0);
+    assertEquals(40, changes.getNewX(indexOf(changes, root.getChildAt(0).getChildAt(1))), 0);
+  }
+}
@@ -11,6 +11,13 @@ package com.facebook.csslayout;
 import org.junit.Assert;
 import org.junit.Test;
 
+import static com.facebook.csslayout.CSSLayout.DIMENSION_HEIGHT;
+import static com.facebook.csslayout.CSSLayout.DIMENSION_WIDTH;
+import static com.facebook.csslayout.CSSLayout.POSITION_BOTTOM;
+import static com.facebook.csslayout.CSSLayout.POSITION_LEFT;
+import static com.facebook.csslayout.CSSLayout.POSITION_RIGHT;
+import static com.facebook.csslayout.CSSLayout.POSITION_TOP;
+
 /**
  * Tests for {@link LayoutEngine}
  */
@@ -68,10 +75,10 @@ public class LayoutEngineTest {
 
   private static boolean areLayoutsEqual(CSSNode a, CSSNode b) {
     boolean doNodesHaveSameLayout =
-        areFloatsEqual(a.layout.x, b.layout.x) &&
-        areFloatsEqual(a.layout.y, b.layout.y) &&
-        areFloatsEqual(a.layout.width, b.layout.width) &&
-        areFloatsEqual(a.layout.height, b.layout.height);
+        areFloatsEqual(a.layout.position[POSITION_LEFT], b.layout.position[POSITION_LEFT]) &&
+        areFloatsEqual(a.layout.position[POSITION_TOP], b.layout.position[POSITION_TOP]) &&
+        areFloatsEqual(a.layout.dimensions[DIMENSION_WIDTH], b.layout.dimensions[DIMENSION_WIDTH]) &&
+        areFloatsEqual(a.layout.dimensions[DIMENSION_HEIGHT], b.layout.dimensions[DIMENSION_HEIGHT]);
     if (!doNodesHaveSameLayout) {
       return false;
     }
@@ -94,17 +101,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 100;
-      node_0.style.height = 200;
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 200);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 200;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 200;
     }
 
     test("should layout a single node with width and height", root_node, root_layout);
@@ -116,48 +123,48 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 500;
-        node_1.style.height = 500;
+        node_1.style.setDimension(DIMENSION_WIDTH, 500);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 500);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 250;
-        node_1.style.height = 250;
+        node_1.style.setDimension(DIMENSION_WIDTH, 250);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 250);
         node_1 = node_0.getChildAt(2);
-        node_1.style.width = 125;
-        node_1.style.height = 125;
+        node_1.style.setDimension(DIMENSION_WIDTH, 125);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 125);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 500;
-        node_1.layout.height = 500;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 500;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 500;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 500;
-        node_1.layout.x = 0;
-        node_1.layout.width = 250;
-        node_1.layout.height = 250;
+        node_1.layout.position[POSITION_TOP] = 500;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 250;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 250;
         node_1 = node_0.getChildAt(2);
-        node_1.layout.y = 750;
-        node_1.layout.x = 0;
-        node_1.layout.width = 125;
-        node_1.layout.height = 125;
+        node_1.layout.position[POSITION_TOP] = 750;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 125;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 125;
       }
     }
 
@@ -170,26 +177,26 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 500;
-        node_1.style.height = 500;
+        node_1.style.setDimension(DIMENSION_WIDTH, 500);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 500);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 500;
-        node_1.style.height = 500;
+        node_1.style.setDimension(DIMENSION_WIDTH, 500);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 500);
         addChildren(node_1, 2);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.width = 250;
-          node_2.style.height = 250;
+          node_2.style.setDimension(DIMENSION_WIDTH, 250);
+          node_2.style.setDimension(DIMENSION_HEIGHT, 250);
           node_2 = node_1.getChildAt(1);
-          node_2.style.width = 250;
-          node_2.style.height = 250;
+          node_2.style.setDimension(DIMENSION_WIDTH, 250);
+          node_2.style.setDimension(DIMENSION_HEIGHT, 250);
         }
       }
     }
@@ -197,36 +204,36 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 500;
-        node_1.layout.height = 500;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 500;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 500;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 500;
-        node_1.layout.x = 0;
-        node_1.layout.width = 500;
-        node_1.layout.height = 500;
+        node_1.layout.position[POSITION_TOP] = 500;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 500;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 500;
         addChildren(node_1, 2);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 250;
-          node_2.layout.height = 250;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 250;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 250;
           node_2 = node_1.getChildAt(1);
-          node_2.layout.y = 250;
-          node_2.layout.x = 0;
-          node_2.layout.width = 250;
-          node_2.layout.height = 250;
+          node_2.layout.position[POSITION_TOP] = 250;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 250;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 250;
         }
       }
     }
@@ -240,21 +247,21 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 100;
-      node_0.style.height = 200;
-      node_0.style.margin[Spacing.LEFT] = 10;
-      node_0.style.margin[Spacing.TOP] = 10;
-      node_0.style.margin[Spacing.RIGHT] = 10;
-      node_0.style.margin[Spacing.BOTTOM] = 10;
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 200);
+      node_0.style.setMargin(Spacing.LEFT, 10);
+      node_0.style.setMargin(Spacing.TOP, 10);
+      node_0.style.setMargin(Spacing.RIGHT, 10);
+      node_0.style.setMargin(Spacing.BOTTOM, 10);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 10;
-      node_0.layout.x = 10;
-      node_0.layout.width = 100;
-      node_0.layout.height = 200;
+      node_0.layout.position[POSITION_TOP] = 10;
+      node_0.layout.position[POSITION_LEFT] = 10;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 200;
     }
 
     test("should layout node with margin", root_node, root_layout);
@@ -266,64 +273,64 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
-      node_0.style.margin[Spacing.LEFT] = 10;
-      node_0.style.margin[Spacing.TOP] = 10;
-      node_0.style.margin[Spacing.RIGHT] = 10;
-      node_0.style.margin[Spacing.BOTTOM] = 10;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
+      node_0.style.setMargin(Spacing.LEFT, 10);
+      node_0.style.setMargin(Spacing.TOP, 10);
+      node_0.style.setMargin(Spacing.RIGHT, 10);
+      node_0.style.setMargin(Spacing.BOTTOM, 10);
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
-        node_1.style.margin[Spacing.LEFT] = 50;
-        node_1.style.margin[Spacing.TOP] = 50;
-        node_1.style.margin[Spacing.RIGHT] = 50;
-        node_1.style.margin[Spacing.BOTTOM] = 50;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
+        node_1.style.setMargin(Spacing.LEFT, 50);
+        node_1.style.setMargin(Spacing.TOP, 50);
+        node_1.style.setMargin(Spacing.RIGHT, 50);
+        node_1.style.setMargin(Spacing.BOTTOM, 50);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
-        node_1.style.margin[Spacing.LEFT] = 25;
-        node_1.style.margin[Spacing.TOP] = 25;
-        node_1.style.margin[Spacing.RIGHT] = 25;
-        node_1.style.margin[Spacing.BOTTOM] = 25;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
+        node_1.style.setMargin(Spacing.LEFT, 25);
+        node_1.style.setMargin(Spacing.TOP, 25);
+        node_1.style.setMargin(Spacing.RIGHT, 25);
+        node_1.style.setMargin(Spacing.BOTTOM, 25);
         node_1 = node_0.getChildAt(2);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
-        node_1.style.margin[Spacing.LEFT] = 10;
-        node_1.style.margin[Spacing.TOP] = 10;
-        node_1.style.margin[Spacing.RIGHT] = 10;
-        node_1.style.margin[Spacing.BOTTOM] = 10;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
+        node_1.style.setMargin(Spacing.LEFT, 10);
+        node_1.style.setMargin(Spacing.TOP, 10);
+        node_1.style.setMargin(Spacing.RIGHT, 10);
+        node_1.style.setMargin(Spacing.BOTTOM, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 10;
-      node_0.layout.x = 10;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 10;
+      node_0.layout.position[POSITION_LEFT] = 10;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 50;
-        node_1.layout.x = 50;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 50;
+        node_1.layout.position[POSITION_LEFT] = 50;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 225;
-        node_1.layout.x = 25;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 225;
+        node_1.layout.position[POSITION_LEFT] = 25;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(2);
-        node_1.layout.y = 360;
-        node_1.layout.x = 10;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 360;
+        node_1.layout.position[POSITION_LEFT] = 10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -336,41 +343,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 200;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 200);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 300;
-        node_1.style.height = 150;
+        node_1.style.setDimension(DIMENSION_WIDTH, 300);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 150);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 100;
-        node_1.layout.width = 300;
-        node_1.layout.height = 150;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 100;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 300;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 150;
       }
     }
 
@@ -383,39 +390,39 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 300;
+      node_0.style.setDimension(DIMENSION_WIDTH, 300);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 200;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 200);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 300;
-        node_1.style.height = 150;
+        node_1.style.setDimension(DIMENSION_WIDTH, 300);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 150);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 300;
-      node_0.layout.height = 350;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 300;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 350;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 200;
-        node_1.layout.x = 0;
-        node_1.layout.width = 300;
-        node_1.layout.height = 150;
+        node_1.layout.position[POSITION_TOP] = 200;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 300;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 150;
       }
     }
 
@@ -428,40 +435,40 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 200;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 200);
         node_1 = node_0.getChildAt(1);
-        node_1.style.flex = 1;
-        node_1.style.width = 100;
+        node_1.style.setFlex(1);
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 200;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 800;
+        node_1.layout.position[POSITION_TOP] = 200;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 800;
       }
     }
 
@@ -474,26 +481,26 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
-        node_1.style.width = 1000;
+        node_1.style.setFlex(1);
+        node_1.style.setDimension(DIMENSION_WIDTH, 1000);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.flex = 1;
-          node_2.style.width = 1000;
+          node_2.style.setFlex(1);
+          node_2.style.setDimension(DIMENSION_WIDTH, 1000);
           addChildren(node_2, 1);
           {
             TestCSSNode node_3;
             node_3 = node_2.getChildAt(0);
-            node_3.style.flex = 1;
-            node_3.style.width = 1000;
+            node_3.style.setFlex(1);
+            node_3.style.setDimension(DIMENSION_WIDTH, 1000);
           }
         }
       }
@@ -502,34 +509,34 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 1000;
-        node_1.layout.height = 1000;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 1000;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 1000;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 1000;
-          node_2.layout.height = 1000;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 1000;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 1000;
           addChildren(node_2, 1);
           {
             TestCSSNode node_3;
             node_3 = node_2.getChildAt(0);
-            node_3.layout.y = 0;
-            node_3.layout.x = 0;
-            node_3.layout.width = 1000;
-            node_3.layout.height = 1000;
+            node_3.layout.position[POSITION_TOP] = 0;
+            node_3.layout.position[POSITION_LEFT] = 0;
+            node_3.layout.dimensions[DIMENSION_WIDTH] = 1000;
+            node_3.layout.dimensions[DIMENSION_HEIGHT] = 1000;
           }
         }
       }
@@ -544,46 +551,46 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
-      node_0.style.margin[Spacing.LEFT] = 5;
-      node_0.style.margin[Spacing.TOP] = 10;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
+      node_0.style.setMargin(Spacing.LEFT, 5);
+      node_0.style.setMargin(Spacing.TOP, 10);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
-        node_1.style.margin[Spacing.LEFT] = 15;
-        node_1.style.margin[Spacing.TOP] = 50;
-        node_1.style.margin[Spacing.BOTTOM] = 20;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
+        node_1.style.setMargin(Spacing.LEFT, 15);
+        node_1.style.setMargin(Spacing.TOP, 50);
+        node_1.style.setMargin(Spacing.BOTTOM, 20);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
-        node_1.style.margin[Spacing.LEFT] = 30;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
+        node_1.style.setMargin(Spacing.LEFT, 30);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 10;
-      node_0.layout.x = 5;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 10;
+      node_0.layout.position[POSITION_LEFT] = 5;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 50;
-        node_1.layout.x = 15;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 50;
+        node_1.layout.position[POSITION_LEFT] = 15;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 170;
-        node_1.layout.x = 30;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 170;
+        node_1.layout.position[POSITION_LEFT] = 30;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -596,41 +603,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.FLEX_START;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setJustifyContent(CSSJustify.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -643,41 +650,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.FLEX_END;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setJustifyContent(CSSJustify.FLEX_END);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 800;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 800;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 900;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 900;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -690,41 +697,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_BETWEEN;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 900;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 900;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -737,41 +744,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_AROUND;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_AROUND);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 200;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 200;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 700;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 700;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -784,41 +791,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.CENTER;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setJustifyContent(CSSJustify.CENTER);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 400;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 400;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 500;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 500;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -831,33 +838,33 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setFlex(1);
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 1000;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       }
     }
 
@@ -870,41 +877,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.FLEX_START;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setAlignItems(CSSAlign.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 200;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -917,41 +924,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.CENTER;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setAlignItems(CSSAlign.CENTER);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 200;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 400;
-        node_1.layout.width = 200;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 400;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 450;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 450;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -964,41 +971,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.FLEX_END;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setAlignItems(CSSAlign.FLEX_END);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 200;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 800;
-        node_1.layout.width = 200;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 800;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 900;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 900;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -1011,42 +1018,42 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.FLEX_END;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setAlignItems(CSSAlign.FLEX_END);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 200;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.alignSelf = CSSAlign.CENTER;
-        node_1.style.width = 100;
-        node_1.style.height = 100;
+        node_1.style.setAlignSelf(CSSAlign.CENTER);
+        node_1.style.setDimension(DIMENSION_WIDTH, 100);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 800;
-        node_1.layout.width = 200;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 800;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 450;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 450;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -1059,32 +1066,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.STRETCH;
-      node_0.style.width = 1000;
-      node_0.style.height = 1000;
+      node_0.style.setAlignItems(CSSAlign.STRETCH);
+      node_0.style.setDimension(DIMENSION_WIDTH, 1000);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 1000);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1000;
-      node_0.layout.height = 1000;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1000;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1000;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 1000;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 1000;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -1107,18 +1114,18 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1135,28 +1142,28 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.LEFT] = 5;
-        node_1.style.margin[Spacing.TOP] = 5;
-        node_1.style.margin[Spacing.RIGHT] = 5;
-        node_1.style.margin[Spacing.BOTTOM] = 5;
+        node_1.style.setMargin(Spacing.LEFT, 5);
+        node_1.style.setMargin(Spacing.TOP, 5);
+        node_1.style.setMargin(Spacing.RIGHT, 5);
+        node_1.style.setMargin(Spacing.BOTTOM, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 5;
-        node_1.layout.x = 5;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 5;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1169,37 +1176,37 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 100;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.height = 200;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 200);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
       }
     }
 
@@ -1212,16 +1219,16 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.CENTER;
+      node_0.style.setJustifyContent(CSSJustify.CENTER);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
     }
 
     test("should layout for center", root_node, root_layout);
@@ -1233,31 +1240,31 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.FLEX_END;
-      node_0.style.height = 100;
+      node_0.style.setJustifyContent(CSSJustify.FLEX_END);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.TOP] = 10;
+        node_1.style.setMargin(Spacing.TOP, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1274,17 +1281,17 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignItems = CSSAlign.FLEX_END;
+        node_1.style.setAlignItems(CSSAlign.FLEX_END);
         addChildren(node_1, 2);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.margin[Spacing.LEFT] = 10;
-          node_2.style.margin[Spacing.TOP] = 10;
-          node_2.style.margin[Spacing.RIGHT] = 10;
-          node_2.style.margin[Spacing.BOTTOM] = 10;
+          node_2.style.setMargin(Spacing.LEFT, 10);
+          node_2.style.setMargin(Spacing.TOP, 10);
+          node_2.style.setMargin(Spacing.RIGHT, 10);
+          node_2.style.setMargin(Spacing.BOTTOM, 10);
           node_2 = node_1.getChildAt(1);
-          node_2.style.height = 100;
+          node_2.style.setDimension(DIMENSION_HEIGHT, 100);
         }
       }
     }
@@ -1292,31 +1299,31 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 20;
-      node_0.layout.height = 120;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 20;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 120;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 20;
-        node_1.layout.height = 120;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 20;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 120;
         addChildren(node_1, 2);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 10;
-          node_2.layout.x = 10;
-          node_2.layout.width = 0;
-          node_2.layout.height = 0;
+          node_2.layout.position[POSITION_TOP] = 10;
+          node_2.layout.position[POSITION_LEFT] = 10;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 0;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 0;
           node_2 = node_1.getChildAt(1);
-          node_2.layout.y = 20;
-          node_2.layout.x = 20;
-          node_2.layout.width = 0;
-          node_2.layout.height = 100;
+          node_2.layout.position[POSITION_TOP] = 20;
+          node_2.layout.position[POSITION_LEFT] = 20;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 0;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 100;
         }
       }
     }
@@ -1334,25 +1341,25 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1365,30 +1372,30 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignItems = CSSAlign.STRETCH;
+      node_0.style.setAlignItems(CSSAlign.STRETCH);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.LEFT] = 10;
+        node_1.style.setMargin(Spacing.LEFT, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 10;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1401,19 +1408,19 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 5;
-      node_0.style.padding[Spacing.TOP] = 5;
-      node_0.style.padding[Spacing.RIGHT] = 5;
-      node_0.style.padding[Spacing.BOTTOM] = 5;
+      node_0.style.setPadding(Spacing.LEFT, 5);
+      node_0.style.setPadding(Spacing.TOP, 5);
+      node_0.style.setPadding(Spacing.RIGHT, 5);
+      node_0.style.setPadding(Spacing.BOTTOM, 5);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
     }
 
     test("should layout node with padding", root_node, root_layout);
@@ -1425,10 +1432,10 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 5;
-      node_0.style.padding[Spacing.TOP] = 5;
-      node_0.style.padding[Spacing.RIGHT] = 5;
-      node_0.style.padding[Spacing.BOTTOM] = 5;
+      node_0.style.setPadding(Spacing.LEFT, 5);
+      node_0.style.setPadding(Spacing.TOP, 5);
+      node_0.style.setPadding(Spacing.RIGHT, 5);
+      node_0.style.setPadding(Spacing.BOTTOM, 5);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
@@ -1439,18 +1446,18 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 5;
-        node_1.layout.x = 5;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 5;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1463,36 +1470,36 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 5;
-      node_0.style.padding[Spacing.TOP] = 5;
-      node_0.style.padding[Spacing.RIGHT] = 5;
-      node_0.style.padding[Spacing.BOTTOM] = 5;
+      node_0.style.setPadding(Spacing.LEFT, 5);
+      node_0.style.setPadding(Spacing.TOP, 5);
+      node_0.style.setPadding(Spacing.RIGHT, 5);
+      node_0.style.setPadding(Spacing.BOTTOM, 5);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.LEFT] = 5;
-        node_1.style.margin[Spacing.TOP] = 5;
-        node_1.style.margin[Spacing.RIGHT] = 5;
-        node_1.style.margin[Spacing.BOTTOM] = 5;
+        node_1.style.setMargin(Spacing.LEFT, 5);
+        node_1.style.setMargin(Spacing.TOP, 5);
+        node_1.style.setMargin(Spacing.RIGHT, 5);
+        node_1.style.setMargin(Spacing.BOTTOM, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 20;
-      node_0.layout.height = 20;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 20;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 20;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 10;
-        node_1.layout.x = 10;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 10;
+        node_1.layout.position[POSITION_LEFT] = 10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1509,29 +1516,29 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
-        node_1.style.padding[Spacing.LEFT] = 10;
-        node_1.style.padding[Spacing.TOP] = 10;
-        node_1.style.padding[Spacing.RIGHT] = 10;
-        node_1.style.padding[Spacing.BOTTOM] = 10;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
+        node_1.style.setPadding(Spacing.LEFT, 10);
+        node_1.style.setPadding(Spacing.TOP, 10);
+        node_1.style.setPadding(Spacing.RIGHT, 10);
+        node_1.style.setPadding(Spacing.BOTTOM, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 20;
-      node_0.layout.height = 20;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 20;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 20;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 20;
-        node_1.layout.height = 20;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 20;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 20;
       }
     }
 
@@ -1544,37 +1551,37 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 50;
-      node_0.style.padding[Spacing.TOP] = 50;
-      node_0.style.padding[Spacing.RIGHT] = 50;
-      node_0.style.padding[Spacing.BOTTOM] = 50;
+      node_0.style.setPadding(Spacing.LEFT, 50);
+      node_0.style.setPadding(Spacing.TOP, 50);
+      node_0.style.setPadding(Spacing.RIGHT, 50);
+      node_0.style.setPadding(Spacing.BOTTOM, 50);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
-        node_1.style.padding[Spacing.LEFT] = 10;
-        node_1.style.padding[Spacing.TOP] = 10;
-        node_1.style.padding[Spacing.RIGHT] = 10;
-        node_1.style.padding[Spacing.BOTTOM] = 10;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
+        node_1.style.setPadding(Spacing.LEFT, 10);
+        node_1.style.setPadding(Spacing.TOP, 10);
+        node_1.style.setPadding(Spacing.RIGHT, 10);
+        node_1.style.setPadding(Spacing.BOTTOM, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 120;
-      node_0.layout.height = 120;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 120;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 120;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 50;
-        node_1.layout.x = 50;
-        node_1.layout.width = 20;
-        node_1.layout.height = 20;
+        node_1.layout.position[POSITION_TOP] = 50;
+        node_1.layout.position[POSITION_LEFT] = 50;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 20;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 20;
       }
     }
 
@@ -1591,15 +1598,15 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.margin[Spacing.LEFT] = 16;
-          node_2.style.margin[Spacing.TOP] = 16;
-          node_2.style.margin[Spacing.RIGHT] = 16;
-          node_2.style.margin[Spacing.BOTTOM] = 16;
+          node_2.style.setMargin(Spacing.LEFT, 16);
+          node_2.style.setMargin(Spacing.TOP, 16);
+          node_2.style.setMargin(Spacing.RIGHT, 16);
+          node_2.style.setMargin(Spacing.BOTTOM, 16);
         }
       }
     }
@@ -1607,26 +1614,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 32;
-      node_0.layout.height = 32;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 32;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 32;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 32;
-        node_1.layout.height = 32;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 32;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 32;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 16;
-          node_2.layout.x = 16;
-          node_2.layout.width = 0;
-          node_2.layout.height = 0;
+          node_2.layout.position[POSITION_TOP] = 16;
+          node_2.layout.position[POSITION_LEFT] = 16;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 0;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 0;
         }
       }
     }
@@ -1640,17 +1647,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.positionLeft = 5;
-      node_0.style.positionTop = 5;
+      node_0.style.setPosition(POSITION_LEFT, 5);
+      node_0.style.setPosition(POSITION_TOP, 5);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 5;
-      node_0.layout.x = 5;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 5;
+      node_0.layout.position[POSITION_LEFT] = 5;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
     }
 
     test("should layout node with top and left", root_node, root_layout);
@@ -1662,9 +1669,9 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_AROUND;
-      node_0.style.height = 10;
-      node_0.style.padding[Spacing.TOP] = 5;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_AROUND);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 10);
+      node_0.style.setPadding(Spacing.TOP, 5);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
@@ -1675,18 +1682,18 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 7.5f;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 7.5f;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1699,16 +1706,16 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.positionBottom = 5;
+      node_0.style.setPosition(POSITION_BOTTOM, 5);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = -5;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = -5;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
     }
 
     test("should layout node with bottom", root_node, root_layout);
@@ -1720,17 +1727,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.positionTop = 10;
-      node_0.style.positionBottom = 5;
+      node_0.style.setPosition(POSITION_TOP, 10);
+      node_0.style.setPosition(POSITION_BOTTOM, 5);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 10;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 10;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
     }
 
     test("should layout node with both top and bottom", root_node, root_layout);
@@ -1742,46 +1749,46 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 500;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 500);
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
         node_1 = node_0.getChildAt(1);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.width = 50;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setDimension(DIMENSION_WIDTH, 50);
         node_1 = node_0.getChildAt(2);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 500;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 500;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 250;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 250;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 250;
-        node_1.layout.width = 50;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 250;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 50;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(2);
-        node_1.layout.y = 0;
-        node_1.layout.x = 250;
-        node_1.layout.width = 250;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 250;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 250;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1798,26 +1805,26 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.margin[Spacing.RIGHT] = 15;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setMargin(Spacing.RIGHT, 15);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1834,27 +1841,27 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.CENTER;
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.padding[Spacing.RIGHT] = 12;
+        node_1.style.setAlignSelf(CSSAlign.CENTER);
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPadding(Spacing.RIGHT, 12);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 12;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 12;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1867,17 +1874,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 5;
-      node_0.style.padding[Spacing.BOTTOM] = 20;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 5);
+      node_0.style.setPadding(Spacing.BOTTOM, 20);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 20;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 20;
     }
 
     test("should work with height smaller than paddingBottom", root_node, root_layout);
@@ -1889,17 +1896,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 5;
-      node_0.style.padding[Spacing.LEFT] = 20;
+      node_0.style.setDimension(DIMENSION_WIDTH, 5);
+      node_0.style.setPadding(Spacing.LEFT, 20);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 20;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 20;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
     }
 
     test("should work with width smaller than paddingLeft", root_node, root_layout);
@@ -1919,43 +1926,43 @@ public class LayoutEngineTest {
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.width = 400;
+          node_2.style.setDimension(DIMENSION_WIDTH, 400);
         }
         node_1 = node_0.getChildAt(1);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
-        node_1.style.width = 200;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 400;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 400;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 400;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 400;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 400;
-          node_2.layout.height = 0;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 400;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 0;
         }
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -1968,33 +1975,33 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 5;
-      node_0.style.padding[Spacing.TOP] = 5;
-      node_0.style.padding[Spacing.RIGHT] = 5;
-      node_0.style.padding[Spacing.BOTTOM] = 5;
+      node_0.style.setPadding(Spacing.LEFT, 5);
+      node_0.style.setPadding(Spacing.TOP, 5);
+      node_0.style.setPadding(Spacing.RIGHT, 5);
+      node_0.style.setPadding(Spacing.BOTTOM, 5);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 5;
-        node_1.layout.x = 5;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 5;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2011,34 +2018,34 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 10;
-        node_1.style.positionTop = 10;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 10);
+        node_1.style.setPosition(POSITION_TOP, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 10;
-        node_1.layout.x = 10;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 10;
+        node_1.layout.position[POSITION_LEFT] = 10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2051,34 +2058,34 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.padding[Spacing.LEFT] = 20;
-      node_0.style.padding[Spacing.TOP] = 20;
-      node_0.style.padding[Spacing.RIGHT] = 20;
-      node_0.style.padding[Spacing.BOTTOM] = 20;
+      node_0.style.setPadding(Spacing.LEFT, 20);
+      node_0.style.setPadding(Spacing.TOP, 20);
+      node_0.style.setPadding(Spacing.RIGHT, 20);
+      node_0.style.setPadding(Spacing.BOTTOM, 20);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 5;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 40;
-      node_0.layout.height = 40;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 40;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 40;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 20;
-        node_1.layout.x = 5;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 20;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2095,27 +2102,27 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.margin[Spacing.TOP] = 5;
-        node_1.style.positionTop = 5;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setMargin(Spacing.TOP, 5);
+        node_1.style.setPosition(POSITION_TOP, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 10;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 10;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2132,27 +2139,27 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.margin[Spacing.LEFT] = 5;
-        node_1.style.positionLeft = 5;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setMargin(Spacing.LEFT, 5);
+        node_1.style.setPosition(POSITION_LEFT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 10;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2165,13 +2172,13 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_AROUND;
-      node_0.style.height = 200;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_AROUND);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 200);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
         node_1 = node_0.getChildAt(1);
       }
     }
@@ -2179,23 +2186,23 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 200;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 200;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2208,32 +2215,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 700;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 700);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
-        node_1.style.margin[Spacing.LEFT] = 5;
+        node_1.style.setFlex(1);
+        node_1.style.setMargin(Spacing.LEFT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 700;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 700;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 5;
-        node_1.layout.width = 695;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 695;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2246,39 +2253,39 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 700;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 700);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
         node_1 = node_0.getChildAt(1);
-        node_1.style.flex = 1;
-        node_1.style.padding[Spacing.RIGHT] = 5;
+        node_1.style.setFlex(1);
+        node_1.style.setPadding(Spacing.RIGHT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 700;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 700;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 347.5f;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 347.5f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 347.5f;
-        node_1.layout.width = 352.5f;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 347.5f;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 352.5f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2291,39 +2298,39 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 700;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 700);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
         node_1 = node_0.getChildAt(1);
-        node_1.style.flex = 1;
-        node_1.style.margin[Spacing.LEFT] = 5;
+        node_1.style.setFlex(1);
+        node_1.style.setMargin(Spacing.LEFT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 700;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 700;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 347.5f;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 347.5f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 352.5f;
-        node_1.layout.width = 347.5f;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 352.5f;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 347.5f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2336,37 +2343,37 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 300;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 300);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 600;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 600);
         node_1 = node_0.getChildAt(1);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 300;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 300;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 600;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 600;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 600;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 600;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2379,32 +2386,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.width = 600;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setDimension(DIMENSION_WIDTH, 600);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.flex = 1;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setFlex(1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 600;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 600;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2417,38 +2424,38 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 500;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 500);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flex = 1;
+        node_1.style.setFlex(1);
         node_1 = node_0.getChildAt(1);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.flex = 1;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setFlex(1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 500;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 500;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 500;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 500;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 500;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 500;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2461,19 +2468,19 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.border[Spacing.LEFT] = 5;
-      node_0.style.border[Spacing.TOP] = 5;
-      node_0.style.border[Spacing.RIGHT] = 5;
-      node_0.style.border[Spacing.BOTTOM] = 5;
+      node_0.style.setBorder(Spacing.LEFT, 5);
+      node_0.style.setBorder(Spacing.TOP, 5);
+      node_0.style.setBorder(Spacing.RIGHT, 5);
+      node_0.style.setBorder(Spacing.BOTTOM, 5);
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 10;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 10;
     }
 
     test("should layout node with borderWidth", root_node, root_layout);
@@ -2485,31 +2492,31 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.border[Spacing.TOP] = 1;
+      node_0.style.setBorder(Spacing.TOP, 1);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionTop = -1;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_TOP, -1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 1;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2522,34 +2529,34 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.border[Spacing.LEFT] = 1;
-      node_0.style.border[Spacing.TOP] = 1;
-      node_0.style.border[Spacing.RIGHT] = 1;
-      node_0.style.border[Spacing.BOTTOM] = 1;
+      node_0.style.setBorder(Spacing.LEFT, 1);
+      node_0.style.setBorder(Spacing.TOP, 1);
+      node_0.style.setBorder(Spacing.RIGHT, 1);
+      node_0.style.setBorder(Spacing.BOTTOM, 1);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 5;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 2;
-      node_0.layout.height = 2;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 2;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 2;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 1;
-        node_1.layout.x = 6;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 1;
+        node_1.layout.position[POSITION_LEFT] = 6;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2562,35 +2569,35 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 50;
+      node_0.style.setDimension(DIMENSION_WIDTH, 50);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
-        node_1.style.margin[Spacing.LEFT] = 20;
-        node_1.style.padding[Spacing.LEFT] = 20;
-        node_1.style.padding[Spacing.TOP] = 20;
-        node_1.style.padding[Spacing.RIGHT] = 20;
-        node_1.style.padding[Spacing.BOTTOM] = 20;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
+        node_1.style.setMargin(Spacing.LEFT, 20);
+        node_1.style.setPadding(Spacing.LEFT, 20);
+        node_1.style.setPadding(Spacing.TOP, 20);
+        node_1.style.setPadding(Spacing.RIGHT, 20);
+        node_1.style.setPadding(Spacing.BOTTOM, 20);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 50;
-      node_0.layout.height = 40;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 50;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 40;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 20;
-        node_1.layout.width = 40;
-        node_1.layout.height = 40;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 20;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 40;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 40;
       }
     }
 
@@ -2607,25 +2614,25 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.border[Spacing.RIGHT] = 5;
+        node_1.style.setBorder(Spacing.RIGHT, 5);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 5;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 5;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 5;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 5;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2638,31 +2645,31 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.border[Spacing.RIGHT] = 1;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setBorder(Spacing.RIGHT, 1);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.RIGHT] = -8;
+        node_1.style.setMargin(Spacing.RIGHT, -8);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 1;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 1;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -2682,10 +2689,10 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 34.671875f;
-      node_0.layout.height = 16;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 34.671875f;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 16;
     }
 
     test("should layout node with just text", root_node, root_layout);
@@ -2697,7 +2704,7 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 10;
+      node_0.style.setDimension(DIMENSION_WIDTH, 10);
       node_0.setMeasureFunction(sTestMeasureFunction);
       node_0.context = "small";
     }
@@ -2705,10 +2712,10 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 10;
-      node_0.layout.height = 16;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 10;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 16;
     }
 
     test("should layout node with text and width", root_node, root_layout);
@@ -2727,10 +2734,10 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 172.421875f;
-      node_0.layout.height = 16;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 172.421875f;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 16;
     }
 
     test("should layout node with text, padding and margin", root_node, root_layout);
@@ -2742,17 +2749,17 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 300;
+      node_0.style.setDimension(DIMENSION_WIDTH, 300);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.STRETCH;
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.alignSelf = CSSAlign.STRETCH;
+          node_2.style.setAlignSelf(CSSAlign.STRETCH);
         }
       }
     }
@@ -2760,26 +2767,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 300;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 300;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 300;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 300;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 300;
-          node_2.layout.height = 0;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 300;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 0;
         }
       }
     }
@@ -2797,13 +2804,13 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flexDirection = CSSFlexDirection.ROW;
-        node_1.style.width = 500;
+        node_1.style.setFlexDirection(CSSFlexDirection.ROW);
+        node_1.style.setDimension(DIMENSION_WIDTH, 500);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.flex = 1;
+          node_2.style.setFlex(1);
           node_2.setMeasureFunction(sTestMeasureFunction);
           node_2.context = "loooooooooong with space";
         }
@@ -2813,26 +2820,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 500;
-      node_0.layout.height = 16;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 500;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 16;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 500;
-        node_1.layout.height = 16;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 500;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 16;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 500;
-          node_2.layout.height = 16;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 500;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 16;
         }
       }
     }
@@ -2846,13 +2853,13 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 130;
+      node_0.style.setDimension(DIMENSION_WIDTH, 130);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignItems = CSSAlign.STRETCH;
-        node_1.style.alignSelf = CSSAlign.STRETCH;
+        node_1.style.setAlignItems(CSSAlign.STRETCH);
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
@@ -2866,26 +2873,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 130;
-      node_0.layout.height = 32;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 130;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 32;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 130;
-        node_1.layout.height = 32;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 130;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 32;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 130;
-          node_2.layout.height = 32;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 130;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 32;
         }
       }
     }
@@ -2899,18 +2906,18 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 200;
+      node_0.style.setDimension(DIMENSION_WIDTH, 200);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignItems = CSSAlign.STRETCH;
-        node_1.style.alignSelf = CSSAlign.STRETCH;
+        node_1.style.setAlignItems(CSSAlign.STRETCH);
+        node_1.style.setAlignSelf(CSSAlign.STRETCH);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.width = 130;
+          node_2.style.setDimension(DIMENSION_WIDTH, 130);
           node_2.setMeasureFunction(sTestMeasureFunction);
           node_2.context = "loooooooooong with space";
         }
@@ -2920,26 +2927,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 200;
-      node_0.layout.height = 32;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 200;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 32;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 32;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 32;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 130;
-          node_2.layout.height = 32;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 130;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 32;
         }
       }
     }
@@ -2953,13 +2960,13 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignSelf = CSSAlign.FLEX_START;
-      node_0.style.width = 100;
+      node_0.style.setAlignSelf(CSSAlign.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
         node_1.setMeasureFunction(sTestMeasureFunction);
         node_1.context = "loooooooooong with space";
       }
@@ -2968,18 +2975,18 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 32;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 32;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100.453125f;
-        node_1.layout.height = 32;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100.453125f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 32;
       }
     }
 
@@ -2992,21 +2999,21 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignSelf = CSSAlign.FLEX_START;
-      node_0.style.width = 100;
-      node_0.style.padding[Spacing.LEFT] = 10;
-      node_0.style.padding[Spacing.TOP] = 10;
-      node_0.style.padding[Spacing.RIGHT] = 10;
-      node_0.style.padding[Spacing.BOTTOM] = 10;
+      node_0.style.setAlignSelf(CSSAlign.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setPadding(Spacing.LEFT, 10);
+      node_0.style.setPadding(Spacing.TOP, 10);
+      node_0.style.setPadding(Spacing.RIGHT, 10);
+      node_0.style.setPadding(Spacing.BOTTOM, 10);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
-        node_1.style.margin[Spacing.LEFT] = 10;
-        node_1.style.margin[Spacing.TOP] = 10;
-        node_1.style.margin[Spacing.RIGHT] = 10;
-        node_1.style.margin[Spacing.BOTTOM] = 10;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
+        node_1.style.setMargin(Spacing.LEFT, 10);
+        node_1.style.setMargin(Spacing.TOP, 10);
+        node_1.style.setMargin(Spacing.RIGHT, 10);
+        node_1.style.setMargin(Spacing.BOTTOM, 10);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
@@ -3020,26 +3027,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 72;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 72;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 20;
-        node_1.layout.x = 20;
-        node_1.layout.width = 100.453125f;
-        node_1.layout.height = 32;
+        node_1.layout.position[POSITION_TOP] = 20;
+        node_1.layout.position[POSITION_LEFT] = 20;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100.453125f;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 32;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 100.453125f;
-          node_2.layout.height = 32;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 100.453125f;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 32;
         }
       }
     }
@@ -3053,13 +3060,13 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_BETWEEN;
-      node_0.style.height = 100;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 900;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 900);
         node_1 = node_0.getChildAt(1);
       }
     }
@@ -3067,23 +3074,23 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 900;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 900;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 900;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 900;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3096,32 +3103,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.justifyContent = CSSJustify.FLEX_END;
-      node_0.style.width = 200;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setJustifyContent(CSSJustify.FLEX_END);
+      node_0.style.setDimension(DIMENSION_WIDTH, 200);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 900;
+        node_1.style.setDimension(DIMENSION_WIDTH, 900);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 200;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 200;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = -700;
-        node_1.layout.width = 900;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = -700;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 900;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3138,16 +3145,16 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.flexDirection = CSSFlexDirection.ROW;
-        node_1.style.width = 200;
+        node_1.style.setFlexDirection(CSSFlexDirection.ROW);
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.margin[Spacing.LEFT] = 20;
-          node_2.style.margin[Spacing.TOP] = 20;
-          node_2.style.margin[Spacing.RIGHT] = 20;
-          node_2.style.margin[Spacing.BOTTOM] = 20;
+          node_2.style.setMargin(Spacing.LEFT, 20);
+          node_2.style.setMargin(Spacing.TOP, 20);
+          node_2.style.setMargin(Spacing.RIGHT, 20);
+          node_2.style.setMargin(Spacing.BOTTOM, 20);
           node_2.setMeasureFunction(sTestMeasureFunction);
           node_2.context = "loooooooooong with space";
         }
@@ -3157,26 +3164,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 200;
-      node_0.layout.height = 56;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 200;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 56;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 56;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 56;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 20;
-          node_2.layout.x = 20;
-          node_2.layout.width = 172.421875f;
-          node_2.layout.height = 16;
+          node_2.layout.position[POSITION_TOP] = 20;
+          node_2.layout.position[POSITION_LEFT] = 20;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 172.421875f;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 16;
         }
       }
     }
@@ -3194,15 +3201,15 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 200;
+        node_1.style.setDimension(DIMENSION_WIDTH, 200);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.margin[Spacing.LEFT] = 20;
-          node_2.style.margin[Spacing.TOP] = 20;
-          node_2.style.margin[Spacing.RIGHT] = 20;
-          node_2.style.margin[Spacing.BOTTOM] = 20;
+          node_2.style.setMargin(Spacing.LEFT, 20);
+          node_2.style.setMargin(Spacing.TOP, 20);
+          node_2.style.setMargin(Spacing.RIGHT, 20);
+          node_2.style.setMargin(Spacing.BOTTOM, 20);
           node_2.setMeasureFunction(sTestMeasureFunction);
           node_2.context = "loooooooooong with space";
         }
@@ -3212,26 +3219,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 200;
-      node_0.layout.height = 72;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 200;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 72;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 72;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 72;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 20;
-          node_2.layout.x = 20;
-          node_2.layout.width = 160;
-          node_2.layout.height = 32;
+          node_2.layout.position[POSITION_TOP] = 20;
+          node_2.layout.position[POSITION_LEFT] = 20;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 160;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 32;
         }
       }
     }
@@ -3245,35 +3252,35 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 100;
-      node_0.style.height = 100;
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 0;
-        node_1.style.positionTop = 0;
-        node_1.style.positionRight = 0;
-        node_1.style.positionBottom = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 0);
+        node_1.style.setPosition(POSITION_TOP, 0);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
+        node_1.style.setPosition(POSITION_BOTTOM, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 100;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 100;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
       }
     }
 
@@ -3286,41 +3293,41 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignSelf = CSSAlign.FLEX_START;
-      node_0.style.width = 100;
-      node_0.style.height = 100;
+      node_0.style.setAlignSelf(CSSAlign.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
-        node_1.style.flex = 2.5f;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
+        node_1.style.setFlex(2.5f);
         node_1 = node_0.getChildAt(1);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
-        node_1.style.flex = 7.5f;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
+        node_1.style.setFlex(7.5f);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 25;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 25;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 25;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 75;
+        node_1.layout.position[POSITION_TOP] = 25;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 75;
       }
     }
 
@@ -3333,40 +3340,40 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.alignSelf = CSSAlign.FLEX_START;
-      node_0.style.width = 100;
-      node_0.style.height = 100;
+      node_0.style.setAlignSelf(CSSAlign.FLEX_START);
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
         node_1 = node_0.getChildAt(1);
-        node_1.style.alignSelf = CSSAlign.FLEX_START;
-        node_1.style.flex = 0;
+        node_1.style.setAlignSelf(CSSAlign.FLEX_START);
+        node_1.style.setFlex(0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3383,35 +3390,35 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 50;
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_WIDTH, 50);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 0;
-        node_1.style.positionRight = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 0);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 50;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 50;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 50;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 50;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 50;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 50;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3424,32 +3431,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 100;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionTop = 0;
-        node_1.style.positionBottom = 20;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_TOP, 0);
+        node_1.style.setPosition(POSITION_BOTTOM, 20);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 80;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 80;
       }
     }
 
@@ -3462,24 +3469,24 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 200;
-      node_0.style.height = 200;
+      node_0.style.setDimension(DIMENSION_WIDTH, 200);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 200);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.justifyContent = CSSJustify.CENTER;
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionLeft = 0;
-        node_1.style.positionTop = 0;
-        node_1.style.positionRight = 0;
-        node_1.style.positionBottom = 0;
+        node_1.style.setJustifyContent(CSSJustify.CENTER);
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_LEFT, 0);
+        node_1.style.setPosition(POSITION_TOP, 0);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
+        node_1.style.setPosition(POSITION_BOTTOM, 0);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.style.width = 100;
-          node_2.style.height = 100;
+          node_2.style.setDimension(DIMENSION_WIDTH, 100);
+          node_2.style.setDimension(DIMENSION_HEIGHT, 100);
         }
       }
     }
@@ -3487,26 +3494,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 200;
-      node_0.layout.height = 200;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 200;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 200;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 200;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 200;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 50;
-          node_2.layout.x = 0;
-          node_2.layout.width = 100;
-          node_2.layout.height = 100;
+          node_2.layout.position[POSITION_TOP] = 50;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 100;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 100;
         }
       }
     }
@@ -3520,31 +3527,31 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 100;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionBottom = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_BOTTOM, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 100;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 100;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3557,31 +3564,31 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 100;
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.positionRight = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 100;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 100;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3594,32 +3601,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.height = 100;
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.height = 10;
-        node_1.style.positionBottom = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 10);
+        node_1.style.setPosition(POSITION_BOTTOM, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 90;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 10;
+        node_1.layout.position[POSITION_TOP] = 90;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 10;
       }
     }
 
@@ -3632,32 +3639,32 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 100;
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.width = 10;
-        node_1.style.positionRight = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setDimension(DIMENSION_WIDTH, 10);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 90;
-        node_1.layout.width = 10;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 90;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 10;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3674,27 +3681,27 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.height = 10;
-        node_1.style.positionBottom = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 10);
+        node_1.style.setPosition(POSITION_BOTTOM, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = -10;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 10;
+        node_1.layout.position[POSITION_TOP] = -10;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 10;
       }
     }
 
@@ -3711,27 +3718,27 @@ public class LayoutEngineTest {
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionType = CSSPositionType.ABSOLUTE;
-        node_1.style.width = 10;
-        node_1.style.positionRight = 0;
+        node_1.style.setPositionType(CSSPositionType.ABSOLUTE);
+        node_1.style.setDimension(DIMENSION_WIDTH, 10);
+        node_1.style.setPosition(POSITION_RIGHT, 0);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = -10;
-        node_1.layout.width = 10;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = -10;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 10;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3744,30 +3751,30 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.SPACE_BETWEEN;
+      node_0.style.setJustifyContent(CSSJustify.SPACE_BETWEEN);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.border[Spacing.BOTTOM] = 1;
+        node_1.style.setBorder(Spacing.BOTTOM, 1);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 1;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 1;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 1;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 1;
       }
     }
 
@@ -3780,30 +3787,30 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.CENTER;
+      node_0.style.setJustifyContent(CSSJustify.CENTER);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.TOP] = -6;
+        node_1.style.setMargin(Spacing.TOP, -6);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = -3;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = -3;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3816,30 +3823,30 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.CENTER;
+      node_0.style.setJustifyContent(CSSJustify.CENTER);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.margin[Spacing.TOP] = 20;
+        node_1.style.setMargin(Spacing.TOP, 20);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 20;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 20;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 20;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 20;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3852,8 +3859,8 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.justifyContent = CSSJustify.FLEX_END;
-      node_0.style.border[Spacing.BOTTOM] = 5;
+      node_0.style.setJustifyContent(CSSJustify.FLEX_END);
+      node_0.style.setBorder(Spacing.BOTTOM, 5);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
@@ -3864,18 +3871,18 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 5;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 5;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
       }
     }
 
@@ -3888,12 +3895,12 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.width = 800;
+      node_0.style.setDimension(DIMENSION_WIDTH, 800);
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.positionLeft = 5;
+        node_1.style.setPosition(POSITION_LEFT, 5);
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
@@ -3905,26 +3912,26 @@ public class LayoutEngineTest {
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 800;
-      node_0.layout.height = 0;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 800;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 0;
       addChildren(node_0, 1);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 5;
-        node_1.layout.width = 800;
-        node_1.layout.height = 0;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 5;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 800;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 0;
         addChildren(node_1, 1);
         {
           TestCSSNode node_2;
           node_2 = node_1.getChildAt(0);
-          node_2.layout.y = 0;
-          node_2.layout.x = 0;
-          node_2.layout.width = 800;
-          node_2.layout.height = 0;
+          node_2.layout.position[POSITION_TOP] = 0;
+          node_2.layout.position[POSITION_LEFT] = 0;
+          node_2.layout.dimensions[DIMENSION_WIDTH] = 800;
+          node_2.layout.dimensions[DIMENSION_HEIGHT] = 0;
         }
       }
     }
@@ -3938,49 +3945,49 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexDirection = CSSFlexDirection.ROW;
-      node_0.style.flexWrap = CSSWrap.WRAP;
-      node_0.style.width = 100;
+      node_0.style.setFlexDirection(CSSFlexDirection.ROW);
+      node_0.style.setFlexWrap(CSSWrap.WRAP);
+      node_0.style.setDimension(DIMENSION_WIDTH, 100);
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.width = 40;
-        node_1.style.height = 10;
+        node_1.style.setDimension(DIMENSION_WIDTH, 40);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 10);
         node_1 = node_0.getChildAt(1);
-        node_1.style.width = 40;
-        node_1.style.height = 10;
+        node_1.style.setDimension(DIMENSION_WIDTH, 40);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 10);
         node_1 = node_0.getChildAt(2);
-        node_1.style.width = 40;
-        node_1.style.height = 10;
+        node_1.style.setDimension(DIMENSION_WIDTH, 40);
+        node_1.style.setDimension(DIMENSION_HEIGHT, 10);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 100;
-      node_0.layout.height = 20;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 100;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 20;
       addChildren(node_0, 3);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 40;
-        node_1.layout.height = 10;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 40;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 10;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 40;
-        node_1.layout.width = 40;
-        node_1.layout.height = 10;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 40;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 40;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 10;
         node_1 = node_0.getChildAt(2);
-        node_1.layout.y = 10;
-        node_1.layout.x = 0;
-        node_1.layout.width = 40;
-        node_1.layout.height = 10;
+        node_1.layout.position[POSITION_TOP] = 10;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 40;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 10;
       }
     }
 
@@ -3993,38 +4000,38 @@ public class LayoutEngineTest {
     TestCSSNode root_node = new TestCSSNode();
     {
       TestCSSNode node_0 = root_node;
-      node_0.style.flexWrap = CSSWrap.WRAP;
-      node_0.style.height = 100;
+      node_0.style.setFlexWrap(CSSWrap.WRAP);
+      node_0.style.setDimension(DIMENSION_HEIGHT, 100);
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.style.height = 100;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 100);
         node_1 = node_0.getChildAt(1);
-        node_1.style.height = 200;
+        node_1.style.setDimension(DIMENSION_HEIGHT, 200);
       }
     }
 
     TestCSSNode root_layout = new TestCSSNode();
     {
       TestCSSNode node_0 = root_layout;
-      node_0.layout.y = 0;
-      node_0.layout.x = 0;
-      node_0.layout.width = 0;
-      node_0.layout.height = 100;
+      node_0.layout.position[POSITION_TOP] = 0;
+      node_0.layout.position[POSITION_LEFT] = 0;
+      node_0.layout.dimensions[DIMENSION_WIDTH] = 0;
+      node_0.layout.dimensions[DIMENSION_HEIGHT] = 100;
       addChildren(node_0, 2);
       {
         TestCSSNode node_1;
         node_1 = node_0.getChildAt(0);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 100;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 100;
         node_1 = node_0.getChildAt(1);
-        node_1.layout.y = 0;
-        node_1.layout.x = 0;
-        node_1.layout.width = 0;
-        node_1.layout.height = 200;
+        node_1.layout.position[POSITION_TOP] = 0;
+        node_1.layout.position[POSITION_LEFT] = 0;
+        node_1.layout.dimensions[DIMENSION_WIDTH] = 0;
+        node_1.layout.dimensions[DIMENSION_HEIGHT] = 200;
       }
     }
 
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LayoutSnapshot}.
+ */
+public class LayoutSnapshotTest {
+
+  /**
+   * root (100x100)
+   *   a (at 10,10, 50x50)
+   *     a0 (at 5,5, 20x20)
+   *     a1 (at 5,25, 20x20)
+   *   b (at 10,60, 30x30)
+   */
+  private static CSSNode createTree() {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(100);
+    root.setStyleHeight(100);
+    root.setPadding(Spacing.ALL, 10);
+
+    CSSNode a = new CSSNode();
+    a.setStyleWidth(50);
+    a.setStyleHeight(50);
+    a.setPadding(Spacing.ALL, 5);
+    root.addChildAt(a, 0);
+    for (int i = 0; i < 2; i++) {
+      CSSNode child = new CSSNode();
+      child.setStyleWidth(20);
+      child.setStyleHeight(20);
+      a.addChildAt(child, i);
+    }
+
+    CSSNode b = new CSSNode();
+    b.setStyleWidth(30);
+    b.setStyleHeight(30);
+    root.addChildAt(b, 1);
+    return root;
+  }
+
+  private static void assertLayout(
+      LayoutSnapshot snapshot,
+      int index,
+      float x,
+      float y,
+      float width,
+      float height) {
+    assertEquals(x, snapshot.getX(index), 0);
+    assertEquals(y, snapshot.getY(index), 0);
+    assertEquals(width, snapshot.getWidth(index), 0);
+    assertEquals(height, snapshot.getHeight(index), 0);
+  }
+
+  @Test
+  public void testRelativeSnapshotIsPreOrder() {
+    CSSNode root = createTree();
+    root.calculateLayout();
+
+    LayoutSnapshot snapshot = LayoutSnapshot.create(root, false);
+
+    assertFalse(snapshot.isAbsolute());
+    assertEquals(5, snapshot.getNodeCount());
+    assertLayout(snapshot, 0, 0, 0, 100, 100);
+    assertLayout(snapshot, 1, 10, 10, 50, 50);
+    assertLayout(snapshot, 2, 5, 5, 20, 20);
+    assertLayout(snapshot, 3, 5, 25, 20, 20);
+    assertLayout(snapshot, 4, 10, 60, 30, 30);
+  }
+
+  @Test
+  public void testAbsoluteSnapshotIsRelativeToRoot() {
+    CSSNode parent = new CSSNode();
+    parent.setPadding(Spacing.ALL, 7);
+    CSSNode root = createTree();
+    parent.addChildAt(root, 0);
+    parent.calculateLayout();
+
+    LayoutSnapshot snapshot = LayoutSnapshot.create(root, true);
+
+    assertTrue(snapshot.isAbsolute());
+    assertLayout(snapshot, 0, 7, 7, 100, 100);
+    assertLayout(snapshot, 1, 10, 10, 50, 50);
+    assertLayout(snapshot, 2, 15, 15, 20, 20);
+    assertLayout(snapshot, 3, 15, 35, 20, 20);
+    assertLayout(snapshot, 4, 10, 60, 30, 30);
+  }
+
+  @Test
+  public void testSnapshotIsNotChangedByRelayout() {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    LayoutSnapshot snapshot = LayoutSnapshot.create(root, false);
+    LayoutTestUtils.markLayoutSeen(root);
+
+    root.getChildAt(0).setStyleWidth(80);
+    root.calculateLayout();
+
+    assertEquals(80, root.getChildAt(0).getLayoutWidth(), 0);
+    assertLayout(snapshot, 1, 10, 10, 50, 50);
+  }
+}
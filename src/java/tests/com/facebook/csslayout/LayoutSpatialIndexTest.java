@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LayoutSpatialIndex}.
+ */
+public class LayoutSpatialIndexTest {
+
+  /**
+   * A 400 wide column of 10 rows of 40 high, each with 4 cells of 100x40 side by side.
+   */
+  private static CSSNode createGrid() {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(400);
+    for (int i = 0; i < 10; i++) {
+      CSSNode row = new CSSNode();
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      root.addChildAt(row, i);
+      for (int j = 0; j < 4; j++) {
+        CSSNode cell = new CSSNode();
+        cell.setStyleWidth(100);
+        cell.setStyleHeight(40);
+        row.addChildAt(cell, j);
+      }
+    }
+    return root;
+  }
+
+  @Test
+  public void testHitTestReturnsTopmostNode() {
+    CSSNode root = createGrid();
+    root.calculateLayout();
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    assertEquals(51, index.getNodeCount());
+    assertTrue(index.hitTest(250, 130) == root.getChildAt(3).getChildAt(2));
+    assertTrue(index.hitTest(0, 0) == root.getChildAt(0).getChildAt(0));
+    assertNull(index.hitTest(400, 10));
+    assertNull(index.hitTest(10, 400));
+  }
+
+  @Test
+  public void testHitTestFindsOverflowingChildren() {
+    CSSNode root = createGrid();
+    CSSNode overflowing = new CSSNode();
+    overflowing.setPositionType(CSSPositionType.ABSOLUTE);
+    overflowing.setPositionLeft(350);
+    overflowing.setPositionTop(10);
+    overflowing.setStyleWidth(100);
+    overflowing.setStyleHeight(10);
+    root.getChildAt(0).getChildAt(0).addChildAt(overflowing, 0);
+    root.calculateLayout();
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    assertTrue(index.hitTest(420, 15) == overflowing);
+    // The last cell of the row is drawn over the part of the child overflowing into it
+    assertTrue(index.hitTest(360, 15) == root.getChildAt(0).getChildAt(3));
+  }
+
+  @Test
+  public void testQueryReturnsIntersectingNodes() {
+    CSSNode root = createGrid();
+    root.calculateLayout();
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    List<CSSNode> result = new ArrayList<CSSNode>();
+    index.query(150, 90, 250, 130, result);
+
+    assertEquals(7, result.size());
+    assertTrue(result.get(0) == root);
+    assertTrue(result.get(1) == root.getChildAt(2));
+    assertTrue(result.get(2) == root.getChildAt(2).getChildAt(1));
+    assertTrue(result.get(3) == root.getChildAt(2).getChildAt(2));
+    assertTrue(result.get(4) == root.getChildAt(3));
+    assertTrue(result.get(5) == root.getChildAt(3).getChildAt(1));
+    assertTrue(result.get(6) == root.getChildAt(3).getChildAt(2));
+  }
+
+  @Test
+  public void testUpdateFollowsNewLayout() {
+    CSSNode root = createGrid();
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    root.getChildAt(0).getChildAt(0).setStyleHeight(100);
+    root.calculateLayout();
+    index.update();
+
+    // Every row below the first one moved down by 60
+    assertTrue(index.hitTest(10, 90) == root.getChildAt(0).getChildAt(0));
+    assertTrue(index.hitTest(150, 90) == root.getChildAt(0));
+    assertTrue(index.hitTest(250, 130) == root.getChildAt(1).getChildAt(2));
+    assertTrue(index.hitTest(10, 450) == root.getChildAt(9).getChildAt(0));
+  }
+
+  @Test
+  public void testUpdateFollowsOnlyChangedLayouts() {
+    CSSNode root = createGrid();
+    root.setOnlyMarkChangedLayouts(true);
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    root.getChildAt(5).getChildAt(2).setStyleWidth(50);
+    root.getChildAt(7).getChildAt(0).setStyleHeight(60);
+    root.calculateLayout();
+    assertFalse(root.getChildAt(0).hasNewLayout());
+    index.update();
+
+    assertTrue(index.hitTest(260, 210) == root.getChildAt(5).getChildAt(3));
+    assertTrue(index.hitTest(10, 335) == root.getChildAt(7).getChildAt(0));
+    assertTrue(index.hitTest(150, 335) == root.getChildAt(7));
+    assertTrue(index.hitTest(150, 345) == root.getChildAt(8).getChildAt(1));
+    assertTrue(index.hitTest(10, 10) == root.getChildAt(0).getChildAt(0));
+  }
+
+  @Test
+  public void testUpdateSkipsSubtreesWithoutNewLayout() {
+    CSSNode root = createGrid();
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    root.getChildAt(0).getChildAt(0).setStyleHeight(100);
+    root.calculateLayout();
+    // Too early, update() doesn't find the new layout anymore
+    LayoutTestUtils.markLayoutSeen(root);
+    index.update();
+
+    assertTrue(index.hitTest(10, 50) == root.getChildAt(1).getChildAt(0));
+  }
+
+  @Test
+  public void testUpdateFollowsNewChildren() {
+    CSSNode root = createGrid();
+    root.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(root);
+    LayoutSpatialIndex index = new LayoutSpatialIndex(root);
+
+    CSSNode child = new CSSNode();
+    child.setStyleWidth(10);
+    child.setStyleHeight(10);
+    root.getChildAt(5).getChildAt(3).addChildAt(child, 0);
+    root.removeChildAt(0);
+    root.calculateLayout();
+    index.update();
+
+    assertEquals(47, index.getNodeCount());
+    assertTrue(index.hitTest(305, 165) == child);
+    assertNull(index.hitTest(10, 370));
+  }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+/**
+ * Helpers shared by the layout tests.
+ */
+public class LayoutTestUtils {
+
+  /**
+   * Marks the new layout of every node in the tree of root as seen, the way a view system applying
+   * the layout would. Children a {@link CSSNode.ChildProvider} hasn't created are not created.
+   */
+  public static void markLayoutSeen(CSSNode root) {
+    if (root.hasNewLayout()) {
+      root.markLayoutSeen();
+    }
+    for (int i = 0; i < root.getChildCount(); i++) {
+      CSSNode child = root.getMaterializedChildAt(i);
+      if (child != null) {
+        markLayoutSeen(child);
+      }
+    }
+  }
+}
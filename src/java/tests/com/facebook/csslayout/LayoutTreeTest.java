@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LayoutTree}, the layouts are compared with the ones of the same trees built with
+ * {@link CSSNode}s.
+ */
+public class LayoutTreeTest {
+
+  private static final CSSNode.MeasureFunction sNodeMeasureFunction =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+          measureText(width, measureOutput);
+        }
+      };
+
+  private static final LayoutTree.MeasureFunction sTreeMeasureFunction =
+      new LayoutTree.MeasureFunction() {
+        @Override
+        public void measure(LayoutTree tree, int node, float width, MeasureOutput measureOutput) {
+          measureText(width, measureOutput);
+        }
+      };
+
+  private static void measureText(float width, MeasureOutput measureOutput) {
+    measureOutput.width = CSSConstants.isUndefined(width) ? 120 : Math.min(width, 120);
+    measureOutput.height = 18 * (float) Math.ceil(120 / Math.max(measureOutput.width, 1));
+  }
+
+  private static float randomLength(Random random) {
+    return random.nextInt(4) == 0 ? CSSConstants.UNDEFINED : random.nextInt(200);
+  }
+
+  /**
+   * Builds the same random subtree below node and below handle.
+   */
+  private static void buildRandomTree(
+      Random random,
+      CSSNode node,
+      LayoutTree tree,
+      int handle,
+      int depth) {
+    if (random.nextBoolean()) {
+      CSSFlexDirection flexDirection = CSSFlexDirection.values()[random.nextInt(2)];
+      node.setFlexDirection(flexDirection);
+      tree.setFlexDirection(handle, flexDirection);
+    }
+    if (random.nextBoolean()) {
+      CSSJustify justify = CSSJustify.values()[random.nextInt(CSSJustify.values().length)];
+      node.setJustifyContent(justify);
+      tree.setJustifyContent(handle, justify);
+    }
+    if (random.nextBoolean()) {
+      CSSAlign align = CSSAlign.values()[1 + random.nextInt(CSSAlign.values().length - 1)];
+      node.setAlignItems(align);
+      tree.setAlignItems(handle, align);
+    }
+    if (random.nextInt(4) == 0) {
+      CSSAlign align = CSSAlign.values()[random.nextInt(CSSAlign.values().length)];
+      node.setAlignSelf(align);
+      tree.setAlignSelf(handle, align);
+    }
+    if (random.nextInt(6) == 0) {
+      node.setPositionType(CSSPositionType.ABSOLUTE);
+      tree.setPositionType(handle, CSSPositionType.ABSOLUTE);
+      float left = randomLength(random);
+      float right = randomLength(random);
+      float top = randomLength(random);
+      float bottom = randomLength(random);
+      node.setPositionLeft(left).setPositionRight(right).setPositionTop(top);
+      node.setPositionBottom(bottom);
+      tree.setPositionLeft(handle, left);
+      tree.setPositionRight(handle, right);
+      tree.setPositionTop(handle, top);
+      tree.setPositionBottom(handle, bottom);
+    }
+    if (random.nextInt(4) == 0) {
+      node.setWrap(CSSWrap.WRAP);
+      tree.setWrap(handle, CSSWrap.WRAP);
+    }
+    if (random.nextInt(3) == 0) {
+      float flex = random.nextInt(3);
+      node.setFlex(flex);
+      tree.setFlex(handle, flex);
+    }
+    float width = randomLength(random);
+    float height = randomLength(random);
+    node.setStyleWidth(width).setStyleHeight(height);
+    tree.setStyleWidth(handle, width);
+    tree.setStyleHeight(handle, height);
+    for (int i = 0; i < 3; i++) {
+      int spacingType = random.nextInt(Spacing.ALL + 1);
+      float margin = random.nextInt(10);
+      float padding = random.nextInt(10);
+      float border = random.nextInt(3);
+      int paddingType = random.nextInt(Spacing.ALL + 1);
+      node.setMargin(spacingType, margin);
+      node.setPadding(paddingType, padding);
+      node.setBorder(spacingType, border);
+      tree.setMargin(handle, spacingType, margin);
+      tree.setPadding(handle, paddingType, padding);
+      tree.setBorder(handle, spacingType, border);
+    }
+
+    if (depth == 0 || random.nextInt(5) == 0) {
+      if (random.nextBoolean()) {
+        node.setMeasureFunction(sNodeMeasureFunction);
+        tree.setMeasureFunction(handle, sTreeMeasureFunction);
+      }
+      return;
+    }
+    int childCount = random.nextInt(5);
+    for (int i = 0; i < childCount; i++) {
+      CSSNode child = new CSSNode();
+      int childHandle = tree.createNode();
+      node.appendChild(child);
+      tree.appendChild(handle, childHandle);
+      buildRandomTree(random, child, tree, childHandle, depth - 1);
+    }
+  }
+
+  private static void assertSameLayout(CSSNode expected, LayoutTree tree, int handle) {
+    assertEquals(expected.getLayoutX(), tree.getLayoutX(handle), 0.001f);
+    assertEquals(expected.getLayoutY(), tree.getLayoutY(handle), 0.001f);
+    assertEquals(expected.getLayoutWidth(), tree.getLayoutWidth(handle), 0.001f);
+    assertEquals(expected.getLayoutHeight(), tree.getLayoutHeight(handle), 0.001f);
+    assertEquals(expected.hasNewLayout(), tree.hasNewLayout(handle));
+    assertEquals(expected.getChildCount(), tree.getChildCount(handle));
+    for (int i = 0; i < expected.getChildCount(); i++) {
+      assertSameLayout(expected.getChildAt(i), tree, tree.getChildAt(handle, i));
+    }
+  }
+
+  private static void markLayoutSeen(CSSNode node, LayoutTree tree, int handle) {
+    if (node.hasNewLayout()) {
+      node.markLayoutSeen();
+      tree.markLayoutSeen(handle);
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeen(node.getChildAt(i), tree, tree.getChildAt(handle, i));
+    }
+  }
+
+  @Test
+  public void testRandomTreesHaveSameLayoutAsCSSNode() {
+    Random random = new Random(42);
+    for (int i = 0; i < 300; i++) {
+      CSSNode root = new CSSNode();
+      LayoutTree tree = new LayoutTree(1);
+      int rootHandle = tree.createNode();
+      buildRandomTree(random, root, tree, rootHandle, 4);
+
+      root.calculateLayout();
+      tree.calculateLayout(rootHandle);
+      assertSameLayout(root, tree, rootHandle);
+    }
+  }
+
+  @Test
+  public void testRelayoutHasSameLayoutAsCSSNode() {
+    Random random = new Random(7);
+    for (int i = 0; i < 100; i++) {
+      CSSNode root = new CSSNode();
+      LayoutTree tree = new LayoutTree();
+      int rootHandle = tree.createNode();
+      buildRandomTree(random, root, tree, rootHandle, 4);
+      root.calculateLayout();
+      tree.calculateLayout(rootHandle);
+      markLayoutSeen(root, tree, rootHandle);
+
+      if (root.getChildCount() > 0) {
+        float width = random.nextInt(300);
+        root.getChildAt(0).setStyleWidth(width);
+        tree.setStyleWidth(tree.getChildAt(rootHandle, 0), width);
+      }
+      root.calculateLayout();
+      tree.calculateLayout(rootHandle);
+      assertSameLayout(root, tree, rootHandle);
+    }
+  }
+
+  @Test
+  public void testAddAndRemoveChildren() {
+    LayoutTree tree = new LayoutTree();
+    int root = tree.createNode();
+    int c0 = tree.createNode();
+    int c1 = tree.createNode();
+    int c2 = tree.createNode();
+
+    tree.appendChild(root, c0);
+    tree.appendChild(root, c2);
+    tree.addChildAt(root, c1, 1);
+
+    assertEquals(3, tree.getChildCount(root));
+    assertEquals(c0, tree.getFirstChild(root));
+    assertEquals(c2, tree.getChildAt(root, 2));
+    assertEquals(c0, tree.getChildAt(root, 0));
+    assertEquals(c1, tree.getChildAt(root, 1));
+    assertEquals(c2, tree.getNextSibling(c1));
+    assertEquals(root, tree.getParent(c1));
+
+    tree.removeChildAt(root, 1);
+
+    assertEquals(2, tree.getChildCount(root));
+    assertEquals(c2, tree.getChildAt(root, 1));
+    assertEquals(c2, tree.getNextSibling(c0));
+    assertEquals(LayoutTree.NO_NODE, tree.getParent(c1));
+    assertEquals(LayoutTree.NO_NODE, tree.getNextSibling(c2));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCannotAddChildToMultipleParents() {
+    LayoutTree tree = new LayoutTree();
+    int parent1 = tree.createNode();
+    int parent2 = tree.createNode();
+    int child = tree.createNode();
+
+    tree.appendChild(parent1, child);
+    tree.appendChild(parent2, child);
+  }
+
+  @Test
+  public void testCachesLayoutOfCleanSubtrees() {
+    LayoutTree tree = new LayoutTree();
+    int root = tree.createNode();
+    int c0 = tree.createNode();
+    int c1 = tree.createNode();
+    int c1c0 = tree.createNode();
+    tree.appendChild(root, c0);
+    tree.appendChild(root, c1);
+    tree.appendChild(c1, c1c0);
+
+    tree.calculateLayout(root);
+    tree.markLayoutSeen(root);
+    tree.markLayoutSeen(c0);
+    tree.markLayoutSeen(c1);
+    tree.markLayoutSeen(c1c0);
+
+    tree.setStyleHeight(c0, 100);
+    tree.calculateLayout(root);
+
+    assertTrue(tree.hasNewLayout(root));
+    assertTrue(tree.hasNewLayout(c0));
+    assertTrue(tree.hasNewLayout(c1));
+    assertFalse(tree.hasNewLayout(c1c0));
+    assertEquals(100, tree.getLayoutY(c1), 0.001f);
+  }
+}
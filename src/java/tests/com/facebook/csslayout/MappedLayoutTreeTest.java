@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MappedLayoutTree}.
+ */
+public class MappedLayoutTreeTest {
+
+  private File mFile;
+
+  @Before
+  public void setUp() throws IOException {
+    mFile = File.createTempFile("layout", ".tree");
+  }
+
+  @After
+  public void tearDown() {
+    mFile.delete();
+  }
+
+  private static CSSNode createTree() {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(200);
+    root.setPadding(Spacing.ALL, 10);
+    for (int i = 0; i < 3; i++) {
+      CSSNode row = new CSSNode();
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setJustifyContent(CSSJustify.SPACE_AROUND);
+      row.setMargin(Spacing.VERTICAL, 5);
+      root.addChildAt(row, i);
+      for (int j = 0; j < i; j++) {
+        CSSNode cell = new CSSNode();
+        cell.setStyleWidth(30);
+        cell.setStyleHeight(20 + j);
+        cell.setAlignSelf(CSSAlign.FLEX_END);
+        cell.setBorder(Spacing.LEFT, 1);
+        row.addChildAt(cell, j);
+      }
+    }
+    return root;
+  }
+
+  /**
+   * @return the index of the node following the subtree of node
+   */
+  private static int assertSameTree(CSSNode node, MappedLayoutTree tree, int index, int parent) {
+    assertEquals(parent, tree.getParent(index));
+    assertEquals(node.getChildCount(), tree.getChildCount(index));
+    assertEquals(node.style.getFlexDirection(), tree.getFlexDirection(index));
+    assertEquals(node.style.getJustifyContent(), tree.getJustifyContent(index));
+    assertEquals(node.style.getAlignSelf(), tree.getAlignSelf(index));
+    assertEquals(node.style.getDimension(CSSLayout.DIMENSION_WIDTH), tree.getStyleWidth(index), 0);
+    assertEquals(node.style.getDimension(CSSLayout.DIMENSION_HEIGHT), tree.getStyleHeight(index), 0);
+    for (int i = Spacing.LEFT; i <= Spacing.BOTTOM; i++) {
+      assertEquals(node.style.getMargin(i), tree.getMargin(index, i), 0);
+      assertEquals(node.style.getPadding(i), tree.getPadding(index, i), 0);
+      assertEquals(node.style.getBorder(i), tree.getBorder(index, i), 0);
+    }
+    assertEquals(node.getLayoutX(), tree.getLayoutX(index), 0);
+    assertEquals(node.getLayoutY(), tree.getLayoutY(index), 0);
+    assertEquals(node.getLayoutWidth(), tree.getLayoutWidth(index), 0);
+    assertEquals(node.getLayoutHeight(), tree.getLayoutHeight(index), 0);
+
+    int child = tree.getFirstChild(index);
+    int next = index + 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      assertEquals(next, child);
+      next = assertSameTree(node.getChildAt(i), tree, next, index);
+      child = tree.getNextSibling(child);
+    }
+    assertEquals(-1, child);
+    assertEquals(next, tree.getSubtreeEnd(index));
+    return next;
+  }
+
+  @Test
+  public void testMappedTreeMatchesLayout() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    MappedLayoutTree.write(root, mFile);
+    MappedLayoutTree tree = MappedLayoutTree.map(mFile);
+
+    assertEquals(7, tree.getNodeCount());
+    assertEquals(7, assertSameTree(root, tree, 0, -1));
+    assertEquals(-1, tree.getNextSibling(0));
+  }
+
+  @Test
+  public void testFileIsReplaced() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    MappedLayoutTree.write(root, mFile);
+    CSSNode leaf = new CSSNode();
+    leaf.setStyleWidth(10);
+    leaf.calculateLayout();
+    MappedLayoutTree.write(leaf, mFile);
+    MappedLayoutTree tree = MappedLayoutTree.map(mFile);
+
+    assertEquals(1, tree.getNodeCount());
+    assertEquals(-1, tree.getFirstChild(0));
+    assertEquals(10, tree.getLayoutWidth(0), 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testIndexIsChecked() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    MappedLayoutTree.write(root, mFile);
+    MappedLayoutTree.map(mFile).getLayoutX(7);
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedTreeIsRejected() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MappedLayoutTree.write(root, Channels.newChannel(bytes));
+    MappedLayoutTree.wrap(ByteBuffer.wrap(bytes.toByteArray(), 0, bytes.size() - 1));
+  }
+
+  @Test
+  public void testTooManyNodesAreRejected() throws IOException {
+    CSSNode root = createTree();
+    root.calculateLayout();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MappedLayoutTree.write(root, Channels.newChannel(bytes));
+    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    // The node count in the header, records beyond it would be at offsets that don't fit an int
+    buffer.putInt(8, MappedLayoutTree.MAX_NODE_COUNT + 1);
+
+    try {
+      MappedLayoutTree.wrap(buffer);
+      fail();
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("aren't supported"));
+    }
+  }
+}
@@ -32,40 +32,21 @@ public class NodeToString {
         return "{" +
                 "x: " + layoutX(node) + ", " +
                 "y: " + layoutY(node) + ", " +
-                "width: " + node.layout.width + ", " +
-                "height: " + node.layout.height +
+                "width: " + node.getLayoutWidth() + ", " +
+                "height: " + node.getLayoutHeight() +
                 "}";
     }
 
     static float layoutX(CSSNode node) {
-        float result = node.layout.x;
-        return addParentX(result, node);
+        return node.getAbsoluteLayoutX();
     }
 
     static float layoutY(CSSNode node) {
-        float result = node.layout.y;
-        return addParentY(result, node);
-    }
-
-    static float addParentX(float x, CSSNode node) {
-        CSSNode parent = node.getParent();
-        if (parent != null) {
-            return addParentX(x + parent.layout.x, parent);
-        } else {
-            return x;
-        }
-    }
-
-    static float addParentY(float y, CSSNode node) {
-        CSSNode parent = node.getParent();
-        if (parent != null) {
-            return addParentX(y + parent.layout.y, parent);
-        } else {
-            return y;
-        }
+        return node.getAbsoluteLayoutY();
     }
 
     public static String toString(CSSNode node) {
+        node.calculateAbsolutePositions();
         final StringBuilder sb = new StringBuilder();
         toStringWithIndentation(node, sb, 0);
         return sb.toString();
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link CSSNode#calculateLayout(ForkJoinPool)}.
+ */
+public class ParallelLayoutTest {
+
+  private static class TextMeasureFunction implements CSSNode.MeasureFunction {
+
+    private final AtomicInteger mCallCount = new AtomicInteger();
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      mCallCount.incrementAndGet();
+      float textWidth = 20 * node.getChildCount() + 150;
+      measureOutput.width = CSSConstants.isUndefined(width) ? textWidth : Math.min(width, textWidth);
+      measureOutput.height = 18 * (float) Math.ceil(textWidth / measureOutput.width);
+    }
+  }
+
+  private static CSSNode createColumn(int index, CSSNode.MeasureFunction measureFunction) {
+    CSSNode column = new CSSNode("col" + index);
+    column.setPadding(Spacing.ALL, 4);
+    if (index % 3 == 0) {
+      column.setStyleWidth(120 + index);
+    } else {
+      column.setFlex(index % 3);
+    }
+
+    CSSNode title = new CSSNode("title" + index);
+    title.setMeasureFunction(measureFunction);
+    column.appendChild(title);
+
+    CSSNode row = new CSSNode("row" + index);
+    row.setFlexDirection(CSSFlexDirection.ROW);
+    row.setWrap(CSSWrap.WRAP);
+    row.setMargin(Spacing.VERTICAL, 6);
+    for (int i = 0; i < 8; i++) {
+      CSSNode item = new CSSNode("item" + index + "_" + i);
+      item.setStyleWidth(30 + (i * index) % 40);
+      item.setStyleHeight(10 + i % 4);
+      row.appendChild(item);
+    }
+    column.appendChild(row);
+
+    CSSNode body = new CSSNode("body" + index);
+    body.setFlex(1);
+    body.setAlignItems(index % 2 == 0 ? CSSAlign.CENTER : CSSAlign.STRETCH);
+    for (int i = 0; i < 3; i++) {
+      CSSNode text = new CSSNode("text" + index + "_" + i);
+      text.setMeasureFunction(measureFunction);
+      text.setMargin(Spacing.TOP, i);
+      body.appendChild(text);
+    }
+    column.appendChild(body);
+
+    CSSNode badge = new CSSNode("badge" + index);
+    badge.setPositionType(CSSPositionType.ABSOLUTE);
+    badge.setPositionRight(2);
+    badge.setPositionBottom(2);
+    badge.setStyleWidth(16);
+    badge.setStyleHeight(16);
+    column.appendChild(badge);
+    return column;
+  }
+
+  private static CSSNode createDeck(CSSNode.MeasureFunction measureFunction) {
+    CSSNode root = new CSSNode("deck");
+    root.setStyleWidth(1000);
+    root.setStyleHeight(750);
+
+    CSSNode columns = new CSSNode("columns");
+    columns.setFlexDirection(CSSFlexDirection.ROW);
+    columns.setFlex(1);
+    for (int i = 0; i < 12; i++) {
+      columns.appendChild(createColumn(i, measureFunction));
+    }
+    root.appendChild(columns);
+
+    CSSNode footer = new CSSNode("footer");
+    for (int i = 12; i < 16; i++) {
+      footer.appendChild(createColumn(i, measureFunction));
+    }
+    root.appendChild(footer);
+    return root;
+  }
+
+  @Test
+  public void testSameLayoutAsSequential() {
+    CSSNode expected = createDeck(new TextMeasureFunction());
+    expected.calculateLayout();
+
+    TextMeasureFunction measureFunction = new TextMeasureFunction();
+    CSSNode actual = createDeck(measureFunction);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      actual.calculateLayout(pool, 1);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(actual));
+  }
+
+  @Test
+  public void testSameRelayoutAsSequential() {
+    CSSNode expected = createDeck(new TextMeasureFunction());
+    CSSNode actual = createDeck(new TextMeasureFunction());
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      expected.calculateLayout();
+      actual.calculateLayout(pool, 1);
+      LayoutTestUtils.markLayoutSeen(expected);
+      LayoutTestUtils.markLayoutSeen(actual);
+
+      expected.getChildAt(0).getChildAt(4).setStyleWidth(300);
+      actual.getChildAt(0).getChildAt(4).setStyleWidth(300);
+      expected.calculateLayout();
+      actual.calculateLayout(pool, 1);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(NodeToString.toString(expected), NodeToString.toString(actual));
+  }
+
+  @Test
+  public void testLaysOutEachNodeOnce() {
+    TextMeasureFunction sequentialMeasureFunction = new TextMeasureFunction();
+    createDeck(sequentialMeasureFunction).calculateLayout();
+
+    TextMeasureFunction parallelMeasureFunction = new TextMeasureFunction();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      createDeck(parallelMeasureFunction).calculateLayout(pool, 1);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(sequentialMeasureFunction.mCallCount.get(), parallelMeasureFunction.mCallCount.get());
+  }
+}
@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link StreamingLayoutBuilder}.
+ */
+public class StreamingLayoutBuilderTest {
+
+  private static final int SECTION_COUNT = 200;
+
+  private static final CSSNode.MeasureFunction TEXT_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+          measureOutput.width = CSSConstants.isUndefined(width) ? 300 : width;
+          measureOutput.height = 14 * (float) Math.ceil(300 / measureOutput.width);
+        }
+      };
+
+  private static interface Events {
+
+    void open(CSSNode node);
+
+    void close();
+  }
+
+  /**
+   * Builds the tree the events describe, like a caller that only lays it out once complete.
+   */
+  private static class TreeEvents implements Events {
+
+    private final List<CSSNode> mOpenNodes = new ArrayList<CSSNode>();
+    private CSSNode mRoot;
+
+    @Override
+    public void open(CSSNode node) {
+      if (mOpenNodes.isEmpty()) {
+        mRoot = node;
+      } else {
+        CSSNode parent = mOpenNodes.get(mOpenNodes.size() - 1);
+        parent.addChildAt(node, parent.getChildCount());
+      }
+      mOpenNodes.add(node);
+    }
+
+    @Override
+    public void close() {
+      mOpenNodes.remove(mOpenNodes.size() - 1);
+    }
+  }
+
+  private static class Emitted {
+
+    private final CSSNode mNode;
+    private final float mX;
+    private final float mY;
+
+    private Emitted(CSSNode node, float x, float y) {
+      mNode = node;
+      mX = x;
+      mY = y;
+    }
+  }
+
+  private static void leaf(Events events, CSSNode node) {
+    events.open(node);
+    events.close();
+  }
+
+  private static CSSNode text(String name) {
+    CSSNode text = new CSSNode(name);
+    text.setMeasureFunction(TEXT_MEASURE_FUNCTION);
+    return text;
+  }
+
+  /**
+   * A document of sections, each with a heading, a row, paragraphs of text, and sometimes an
+   * absolutely positioned marker in the flow, a centered block, an absolutely positioned badge and a
+   * flexible footer.
+   */
+  private static void describeDocument(Events events) {
+    CSSNode root = new CSSNode("root");
+    root.setStyleWidth(400);
+    root.setPadding(Spacing.ALL, 10);
+    events.open(root);
+    for (int i = 0; i < SECTION_COUNT; i++) {
+      String name = "section" + i;
+      CSSNode section = new CSSNode(name);
+      section.setMargin(Spacing.TOP, 5);
+      section.setPadding(Spacing.HORIZONTAL, 4);
+      section.setBorder(Spacing.ALL, 1);
+      events.open(section);
+
+      CSSNode heading = new CSSNode(name + "/heading");
+      heading.setStyleHeight(20 + i % 3);
+      leaf(events, heading);
+      if (i % 6 == 0) {
+        // Placed where it would be in the flow, the siblings that follow can't be final
+        CSSNode marker = new CSSNode(name + "/marker");
+        marker.setPositionType(CSSPositionType.ABSOLUTE);
+        marker.setMargin(Spacing.TOP, 3);
+        marker.setMargin(Spacing.LEFT, 2);
+        marker.setStyleWidth(4);
+        marker.setStyleHeight(4);
+        leaf(events, marker);
+      }
+
+      CSSNode row = new CSSNode(name + "/row");
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      events.open(row);
+      for (int j = 0; j < 3; j++) {
+        CSSNode cell = new CSSNode(name + "/cell" + j);
+        cell.setStyleWidth(50);
+        cell.setStyleHeight(10 + j);
+        leaf(events, cell);
+      }
+      events.close();
+
+      for (int j = 0; j < i % 4; j++) {
+        leaf(events, text(name + "/text" + j));
+      }
+      if (i % 5 == 0) {
+        CSSNode block = new CSSNode(name + "/block");
+        block.setStyleWidth(200);
+        block.setAlignSelf(CSSAlign.CENTER);
+        block.setMargin(Spacing.LEFT, 6);
+        events.open(block);
+        leaf(events, text(name + "/block/text"));
+        events.close();
+      }
+      if (i % 7 == 0) {
+        CSSNode badge = new CSSNode(name + "/badge");
+        badge.setPositionType(CSSPositionType.ABSOLUTE);
+        badge.setPositionRight(0);
+        badge.setPositionBottom(0);
+        badge.setStyleWidth(10);
+        badge.setStyleHeight(10);
+        leaf(events, badge);
+      }
+      if (i % 11 == 0) {
+        CSSNode footer = new CSSNode(name + "/footer");
+        footer.setFlex(1);
+        footer.setStyleHeight(8);
+        leaf(events, footer);
+        leaf(events, text(name + "/after"));
+      }
+      events.close();
+    }
+    events.close();
+  }
+
+  private static void index(CSSNode node, Map<String, CSSNode> nodes) {
+    nodes.put(node.getName(), node);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      index(node.getChildAt(i), nodes);
+    }
+  }
+
+  /**
+   * @return the number of nodes in the subtree of node
+   */
+  private static int assertSameLayout(CSSNode node, Map<String, CSSNode> expectedNodes) {
+    CSSNode expected = expectedNodes.get(node.getName());
+    assertEquals(node.getName(), expected.getLayoutX(), node.getLayoutX(), 0.001f);
+    assertEquals(node.getName(), expected.getLayoutY(), node.getLayoutY(), 0.001f);
+    assertEquals(node.getName(), expected.getLayoutWidth(), node.getLayoutWidth(), 0.001f);
+    assertEquals(node.getName(), expected.getLayoutHeight(), node.getLayoutHeight(), 0.001f);
+    int count = 1;
+    for (int i = 0; i < node.getChildCount(); i++) {
+      count += assertSameLayout(node.getChildAt(i), expectedNodes);
+    }
+    return count;
+  }
+
+  @Test
+  public void testStreamedLayoutMatchesFullLayout() {
+    TreeEvents treeEvents = new TreeEvents();
+    describeDocument(treeEvents);
+    CSSNode expectedRoot = treeEvents.mRoot;
+    expectedRoot.calculateLayout();
+    expectedRoot.calculateAbsolutePositions();
+    Map<String, CSSNode> expectedNodes = new HashMap<String, CSSNode>();
+    index(expectedRoot, expectedNodes);
+
+    final List<Emitted> emitted = new ArrayList<Emitted>();
+    final StreamingLayoutBuilder builder = new StreamingLayoutBuilder(
+        new StreamingLayoutBuilder.Listener() {
+          @Override
+          public void onSubtreeLaidOut(CSSNode subtree, float x, float y) {
+            emitted.add(new Emitted(subtree, x, y));
+          }
+        });
+    describeDocument(
+        new Events() {
+          @Override
+          public void open(CSSNode node) {
+            builder.openNode(node);
+          }
+
+          @Override
+          public void close() {
+            builder.closeNode();
+          }
+        });
+
+    int nodeCount = 0;
+    for (Emitted subtree : emitted) {
+      CSSNode expected = expectedNodes.get(subtree.mNode.getName());
+      assertEquals(expected.getName(), expected.getAbsoluteLayoutX(), subtree.mX, 0.001f);
+      assertEquals(expected.getName(), expected.getAbsoluteLayoutY(), subtree.mY, 0.001f);
+      nodeCount += assertSameLayout(subtree.mNode, expectedNodes);
+    }
+    assertEquals(expectedNodes.size(), nodeCount);
+    assertTrue(emitted.get(emitted.size() - 1).mNode.getName().equals("root"));
+  }
+
+  @Test
+  public void testFinalSubtreesAreRemoved() {
+    final int[] maxChildCount = new int[1];
+    final CSSNode[] root = new CSSNode[1];
+    final StreamingLayoutBuilder builder = new StreamingLayoutBuilder(
+        new StreamingLayoutBuilder.Listener() {
+          @Override
+          public void onSubtreeLaidOut(CSSNode subtree, float x, float y) {
+            assertTrue(subtree.getParent() == null);
+            maxChildCount[0] = Math.max(maxChildCount[0], root[0].getChildCount());
+          }
+        });
+    describeDocument(
+        new Events() {
+          @Override
+          public void open(CSSNode node) {
+            if (root[0] == null) {
+              root[0] = node;
+            }
+            builder.openNode(node);
+          }
+
+          @Override
+          public void close() {
+            builder.closeNode();
+          }
+        });
+
+    // The spacer, and the section being built when one of its children is laid out
+    assertEquals(2, maxChildCount[0]);
+    assertEquals(0, root[0].getChildCount());
+  }
+
+  @Test
+  public void testRowChildrenWaitForTheirParent() {
+    final List<String> names = new ArrayList<String>();
+    StreamingLayoutBuilder builder = new StreamingLayoutBuilder(
+        new StreamingLayoutBuilder.Listener() {
+          @Override
+          public void onSubtreeLaidOut(CSSNode subtree, float x, float y) {
+            names.add(subtree.getName());
+          }
+        });
+    CSSNode root = new CSSNode("root");
+    root.setStyleWidth(100);
+    builder.openNode(root);
+    CSSNode row = new CSSNode("row");
+    row.setFlexDirection(CSSFlexDirection.ROW);
+    builder.openNode(row);
+    builder.openNode(new CSSNode("cell"));
+    builder.closeNode();
+
+    assertTrue(names.isEmpty());
+    builder.closeNode();
+    assertEquals(1, names.size());
+    assertEquals("row", names.get(0));
+    assertEquals(1, row.getChildCount());
+    builder.closeNode();
+    assertEquals("root", names.get(1));
+  }
+}
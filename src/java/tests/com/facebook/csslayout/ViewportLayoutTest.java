@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2014, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+package com.facebook.csslayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSSNode#setViewport(float, float, float)}.
+ */
+public class ViewportLayoutTest {
+
+  private static final int CHILD_COUNT = 10000;
+  private static final float CHILD_HEIGHT = 50;
+
+  private static class CountingMeasureFunction implements CSSNode.MeasureFunction {
+
+    private int mCallCount;
+
+    @Override
+    public void measure(CSSNode node, float width, MeasureOutput measureOutput) {
+      mCallCount++;
+      measureOutput.width = width;
+      measureOutput.height = CHILD_HEIGHT;
+    }
+  }
+
+  private final CountingMeasureFunction mMeasureFunction = new CountingMeasureFunction();
+
+  private CSSNode createList() {
+    CSSNode list = new CSSNode();
+    list.setStyleWidth(300);
+    list.setStyleHeight(500);
+    list.setPadding(Spacing.TOP, 10);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      CSSNode child = new CSSNode();
+      child.setMeasureFunction(mMeasureFunction);
+      list.addChildAt(child, i);
+    }
+    return list;
+  }
+
+  private static void assertLaidOut(CSSNode list, int index) {
+    CSSNode child = list.getChildAt(index);
+    assertEquals(10 + index * CHILD_HEIGHT, child.getLayoutY(), 0);
+    assertEquals(300, child.getLayoutWidth(), 0);
+    assertEquals(CHILD_HEIGHT, child.getLayoutHeight(), 0);
+  }
+
+  @Test
+  public void testOnlyChildrenNearViewportAreLaidOut() {
+    CSSNode list = createList();
+    list.setViewport(0, 500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    // The viewport and one viewport length after it
+    assertEquals(20, mMeasureFunction.mCallCount);
+    for (int i = 0; i < 20; i++) {
+      assertLaidOut(list, i);
+    }
+    assertEquals(10 + (CHILD_COUNT - 1) * CHILD_HEIGHT, list.getChildAt(CHILD_COUNT - 1).getLayoutY(), 0);
+
+    LayoutTestUtils.markLayoutSeen(list);
+    mMeasureFunction.mCallCount = 0;
+    list.setViewport(250000, 250500, CHILD_HEIGHT);
+    list.calculateLayout();
+
+    assertEquals(31, mMeasureFunction.mCallCount);
+    for (int i = 4989; i < 5020; i++) {
+      assertLaidOut(list, i);
+    }
+  }
+
+  @Test
+  public void testChildrenOutsideViewportKeepTheirSize() {
+    CSSNode list = createList();
+    list.setViewport(0, 500, 20);
+    list.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(list);
+    list.setViewport(100000, 100500, 20);
+    list.calculateLayout();
+
+    // Children laid out before keep their size, the others are estimated
+    assertLaidOut(list, 0);
+    assertEquals(20, list.getChildAt(1000).getLayoutHeight(), 0);
+    assertEquals(300, list.getChildAt(1000).getLayoutWidth(), 0);
+
+    // The first 20 children take 50 and the next ones 20, the first child reaching the viewport
+    // minus its length is at 10 + 20 * 50 + 4924 * 20
+    CSSNode first = list.getChildAt(4944);
+    assertTrue(first.hasNewLayout());
+    assertEquals(99490, first.getLayoutY(), 0);
+    assertEquals(CHILD_HEIGHT, first.getLayoutHeight(), 0);
+    assertEquals(20, list.getChildAt(4943).getLayoutHeight(), 0);
+  }
+
+  @Test
+  public void testFixedSizeChildrenAreNotEstimated() {
+    CSSNode list = createList();
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      list.getChildAt(i).setMeasureFunction(null);
+      list.getChildAt(i).setStyleHeight(CHILD_HEIGHT);
+    }
+    list.setViewport(250000, 250500, 1);
+    list.calculateLayout();
+
+    assertTrue(list.getChildAt(5000).hasNewLayout());
+    assertFalse(list.getChildAt(0).hasNewLayout());
+    assertLaidOut(list, 0);
+    assertLaidOut(list, 5000);
+    assertLaidOut(list, CHILD_COUNT - 1);
+  }
+
+  @Test
+  public void testClearViewportLaysOutAllChildren() {
+    CSSNode list = createList();
+    list.setViewport(0, 500, 20);
+    list.calculateLayout();
+    LayoutTestUtils.markLayoutSeen(list);
+
+    list.clearViewport();
+    list.calculateLayout();
+
+    assertEquals(CHILD_COUNT, mMeasureFunction.mCallCount);
+    assertLaidOut(list, 1000);
+    assertLaidOut(list, CHILD_COUNT - 1);
+  }
+}
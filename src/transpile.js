@@ -237,6 +237,8 @@ function transpileAnnotatedJStoC(jsCode) {
     .replace(/ === /g, ' == ')
     .replace(/ !== /g, ' != ')
     .replace(/\n {2}/g, '\n')
+    .replace(/\n *\/\*\(java\)![^*]+\*\/\n/g, '') // remove Java only statements
+    .replace(/\/\*\(java\)![^*]+\*\//g, '') // and Java only expressions
     .replace(/\/\*\(c\)!([^*]+)\*\//g, '$1')
     .replace(/\/[*]!([^*]+)[*]\//g, '$1')
     .split('\n').slice(1, -1).join('\n');
@@ -271,5 +273,6 @@ generateFile(__dirname + '/__tests__/Layout-test.c', allTestsInC.join('\n\n'));
 generateFile(__dirname + '/Layout-test-utils.c', makeConstDefs());
 generateFile(__dirname + '/Layout.c', transpileAnnotatedJStoC(computeLayout.toString()));
 generateFile(__dirname + '/java/src/com/facebook/csslayout/LayoutEngine.java', JavaTranspiler.transpileLayoutEngine(computeLayout.toString()));
+generateFile(__dirname + '/java/src/com/facebook/csslayout/LayoutTree.java', JavaTranspiler.transpileLayoutTree(computeLayout.toString()));
 generateFile(__dirname + '/java/tests/com/facebook/csslayout/TestConstants.java', JavaTranspiler.transpileCConstDefs(makeConstDefs()));
 generateFile(__dirname + '/java/tests/com/facebook/csslayout/LayoutEngineTest.java', JavaTranspiler.transpileCTestsArray(allTestsInC));